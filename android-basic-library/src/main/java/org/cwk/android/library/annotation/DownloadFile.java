@@ -0,0 +1,21 @@
+package org.cwk.android.library.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注网络请求为可续传的文件下载{@link org.cwk.android.library.network.factory.NetworkType#DOWNLOAD_FILE
+ * }，用于标记{@link org.cwk.android.library.work.WorkModel#onTaskUri()}
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ **/
+@Target(ElementType.METHOD)
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DownloadFile {
+}
@@ -0,0 +1,75 @@
+package org.cwk.android.library.data;
+
+import android.support.annotation.NonNull;
+import android.util.JsonReader;
+
+import org.cwk.android.library.global.ApplicationAttribute;
+
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * 通过流式Json方式处理响应数据模型基类<br>
+ * 与{@link JsonDataModel}不同，响应数据不会被读取为完整字符串和{@link org.json.JSONObject}，
+ * 而是由{@link JsonReader}从响应流中逐个读取，适合数据量较大的响应<br>
+ * 需要配合{@link org.cwk.android.library.network.factory.CommunicationBuilder#streamResponse(boolean)}使用<br>
+ * 请求参数为纯文本内容
+ *
+ * @param <Parameters> 任务传入参数类型
+ * @param <Result>     任务返回结果类型
+ * @param <Handle>     从响应流中读取出的结果数据类型
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public abstract class JsonStreamDataModel<Parameters, Result, Handle> extends
+        StandardDataModel<String, Reader, Handle, Parameters, Result> {
+
+    /**
+     * 构造函数
+     *
+     * @param tag 标签，用于跟踪日志
+     */
+    public JsonStreamDataModel(String tag) {
+        super(tag);
+    }
+
+    @Override
+    protected boolean onCheckResponse(Reader response) {
+        return response != null;
+    }
+
+    @NonNull
+    @Override
+    protected final Handle onCreateHandle(Reader response) throws Exception {
+        try (JsonReader reader = new JsonReader(response)) {
+            return onReadHandle(reader);
+        }
+    }
+
+    /**
+     * 从响应流中读取结果数据，
+     * 读取结束后响应流会被关闭，因此必须在此方法中提取所有需要的数据
+     *
+     * @param reader 响应流
+     *
+     * @return 结果数据
+     *
+     * @throws Exception 读取过程中可能出现的异常
+     */
+    @NonNull
+    protected abstract Handle onReadHandle(@NonNull JsonReader reader) throws Exception;
+
+    /**
+     * 对参数进行签名，
+     * 需要在应用启动时对环境变量赋值，
+     * {@link ApplicationAttribute#create()}}
+     *
+     * @param dataMap 要发送的数据
+     */
+    @Override
+    protected void onRequestParametersSign(Map<String, String> dataMap) {
+        RequestSign.signForText(logTag , dataMap);
+    }
+}
@@ -0,0 +1,74 @@
+package org.cwk.android.library.data;
+
+import android.support.annotation.NonNull;
+
+import org.cwk.android.library.work.SimpleFileDownloadWorkModel;
+
+import java.io.File;
+
+/**
+ * 用于可续传文件下载任务的简单数据模型基类<br>
+ * 请求参数为纯文本，响应数据为下载完成的文件，
+ * 任务结果即为下载完成的文件
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ **/
+public abstract class SimpleFileDownloadDataModel<Parameters> extends StandardDataModel<String,
+        File, File, Parameters, File> {
+
+    /**
+     * 构造函数
+     *
+     * @param tag 标签，用于跟踪日志
+     */
+    public SimpleFileDownloadDataModel(String tag) {
+        super(tag);
+    }
+
+    /**
+     * 处理下载完成的文件<br>
+     * 仅文件完整下载并移动到目标位置后才会被调用，
+     * 如果该数据模型依赖的任务模型{@link SimpleFileDownloadWorkModel}通过异步启动，
+     * 则该方法运行在网络线程中，
+     * 如果任务通过同步启动，
+     * 则该方法会在用户建立的任务执行线程中运行。
+     *
+     * @param handleResult 下载完成的文件
+     *
+     * @return 任务结果，默认即为下载完成的文件
+     *
+     * @throws Exception 处理过程抛出的异常
+     */
+    @Override
+    protected File onRequestSuccess(@NonNull File handleResult) throws Exception {
+        return handleResult;
+    }
+
+    @Override
+    protected final boolean onCheckResponse(File file) {
+        return file != null && file.exists();
+    }
+
+    @NonNull
+    @Override
+    protected final File onCreateHandle(File file) throws Exception {
+        return file;
+    }
+
+    @Override
+    protected final boolean onRequestResult(@NonNull File handleResult) throws Exception {
+        return true;
+    }
+
+    @Override
+    protected final File onRequestFailed(@NonNull File handleResult) throws Exception {
+        return super.onRequestFailed(handleResult);
+    }
+
+    @Override
+    protected String onRequestFailedMessage(@NonNull File handleResult) throws Exception {
+        return null;
+    }
+}
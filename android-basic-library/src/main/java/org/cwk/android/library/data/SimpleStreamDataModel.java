@@ -0,0 +1,235 @@
+package org.cwk.android.library.data;
+
+import android.support.annotation.CallSuper;
+import android.support.annotation.NonNull;
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+/**
+ * 根据现有网络协议简化的流式任务数据模型基类，
+ * 协议与{@link SimpleDataModel}相同，
+ * 从响应流中依次读取"state"，"message"，"errorCode"和{@link #RESULT}字段，
+ * {@link #RESULT}字段直接交由{@link #onExtractData(JsonReader)}读取，不会构建完整的json对象
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public abstract class SimpleStreamDataModel<Parameters, Result> extends
+        JsonStreamDataModel<Parameters, Result, SimpleStreamDataModel.Envelope<Result>> {
+    /**
+     * 服务响应的业务数据的参数默认取值标签
+     */
+    protected static final String RESULT = "result";
+
+    /**
+     * 服务响应的errorCode，0为默认值，大于0为错误代码
+     */
+    private int errorCode = 0;
+
+    /**
+     * 构造函数
+     *
+     * @param tag 标签，用于跟踪日志
+     */
+    public SimpleStreamDataModel(String tag) {
+        super(tag);
+    }
+
+    @NonNull
+    @Override
+    protected final Envelope<Result> onReadHandle(@NonNull JsonReader reader) throws Exception {
+        Envelope<Result> envelope = new Envelope<>();
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+
+            switch (name) {
+                case "state":
+                    envelope.state = reader.nextBoolean();
+                    break;
+                case "message":
+                    envelope.message = reader.nextString();
+                    break;
+                case "errorCode":
+                    envelope.errorCode = reader.nextInt();
+                    break;
+                case RESULT:
+                    envelope.result = onExtractData(reader);
+                    envelope.hasResult = true;
+                    break;
+                default:
+                    onReadField(name , reader);
+            }
+        }
+
+        reader.endObject();
+
+        return envelope;
+    }
+
+    @Override
+    protected boolean onRequestResult(@NonNull Envelope<Result> handleResult) throws Exception {
+        // 得到执行结果
+        return handleResult.state;
+    }
+
+    @Override
+    protected final Result onRequestSuccess(@NonNull Envelope<Result> handleResult) throws
+            Exception {
+        return handleResult.hasResult ? handleResult.result : onDefaultData();
+    }
+
+    @Override
+    @CallSuper
+    protected Result onRequestFailed(@NonNull Envelope<Result> handleResult) throws Exception {
+        errorCode = handleResult.errorCode;
+
+        return super.onRequestFailed(handleResult);
+    }
+
+    /**
+     * 从响应流中读取{@link #RESULT}字段的值，
+     * 必须完整读取该字段的值且不能读取其他字段，
+     * 该字段为null时不会被调用，
+     * 如果服务器在"state"之前输出{@link #RESULT}，请求失败时也可能被调用
+     *
+     * @param reader 响应流，位于{@link #RESULT}字段的值之前
+     *
+     * @return 处理后的任务传出结果
+     *
+     * @throws Exception 处理过程抛出的异常
+     */
+    protected abstract Result onExtractData(@NonNull JsonReader reader) throws Exception;
+
+    /**
+     * 读取协议之外的字段，默认跳过
+     *
+     * @param name   字段名
+     * @param reader 响应流，位于该字段的值之前，必须完整读取或跳过该值
+     *
+     * @throws Exception 处理过程抛出的异常
+     */
+    protected void onReadField(@NonNull String name , @NonNull JsonReader reader) throws
+            Exception {
+        reader.skipValue();
+    }
+
+    /**
+     * 当请求成功且返回结果不存在{@link #RESULT}标签的数据时被调用，
+     * 即{@link #RESULT}为null时此方法用于装配默认结果数据，默认实现为null
+     *
+     * @return 处理后的任务传出结果
+     *
+     * @throws Exception 处理过程抛出的异常
+     */
+    protected Result onDefaultData() throws Exception {
+        return null;
+    }
+
+    @Override
+    protected String onRequestFailedMessage(@NonNull Envelope<Result> handleResult) throws
+            Exception {
+        return handleResult.message;
+    }
+
+    @Override
+    protected String onRequestSuccessMessage(@NonNull Envelope<Result> handleResult) throws
+            Exception {
+        return handleResult.message;
+    }
+
+    /**
+     * 获取服务响应的errorCode，0为默认值，大于0为错误代码
+     *
+     * @return 成功时为0，错误时大于0
+     */
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * 从响应流中读取出的协议字段
+     *
+     * @param <Result> 任务返回结果类型
+     */
+    public static final class Envelope<Result> {
+
+        /**
+         * 服务执行结果
+         */
+        private boolean state = false;
+
+        /**
+         * 服务返回的消息
+         */
+        private String message = "";
+
+        /**
+         * 服务响应的errorCode
+         */
+        private int errorCode = 0;
+
+        /**
+         * 由{@link #RESULT}字段提取的结果
+         */
+        private Result result = null;
+
+        /**
+         * 是否存在非null的{@link #RESULT}字段
+         */
+        private boolean hasResult = false;
+
+        /**
+         * 获取服务执行结果
+         *
+         * @return true表示成功
+         */
+        public boolean getState() {
+            return state;
+        }
+
+        /**
+         * 获取服务返回的消息
+         *
+         * @return 消息，不存在时为空字符串
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * 获取服务响应的errorCode
+         *
+         * @return 错误代码，不存在时为0
+         */
+        public int getErrorCode() {
+            return errorCode;
+        }
+
+        /**
+         * 获取由{@link #RESULT}字段提取的结果
+         *
+         * @return 结果，不存在时为null
+         */
+        public Result getResult() {
+            return result;
+        }
+
+        /**
+         * 判断是否存在非null的{@link #RESULT}字段
+         *
+         * @return true表示存在
+         */
+        public boolean hasResult() {
+            return hasResult;
+        }
+    }
+}
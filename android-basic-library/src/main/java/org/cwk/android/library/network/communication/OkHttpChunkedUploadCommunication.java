@@ -0,0 +1,857 @@
+package org.cwk.android.library.network.communication;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.DurabilityPolicy;
+import org.cwk.android.library.network.util.AtomicFileWriter;
+import org.cwk.android.library.network.util.FileChannelRequestBody;
+import org.cwk.android.library.network.util.NetworkCallback;
+import org.cwk.android.library.network.util.NetworkRefreshProgressHandler;
+import org.cwk.android.library.network.util.OnNetworkProgressListener;
+import org.cwk.android.library.network.util.RequestBodyBuilder;
+import org.cwk.android.library.network.util.RequestScheduler;
+import org.cwk.android.library.network.util.RetryPolicy;
+import org.cwk.android.library.struct.FileInfo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+
+/**
+ * 基于OkHttp实现的可续传分块文件上传请求通讯组件类，
+ * 请求参数中的{@link FileInfo}和{@link File}被拆分为固定大小的分块，
+ * 以多个并发请求上传，失败的分块单独重试，
+ * 分块请求经过{@link RequestScheduler}按任务优先级调度，受并发数和并发限制器约束，
+ * 完成请求在传输线程中同步执行，不经过调度器，
+ * 上传状态保存在状态目录中，进程重启后再次执行任务时只上传未完成的分块，
+ * 所有分块完成后发送一次完成请求，其响应作为任务的响应数据，空文件没有分块，只发送完成请求。<br>
+ * 默认协议如下，可以通过重写{@link #onCreateChunkRequest}和{@link #onCreateCompleteRequest}适配其它服务：<br>
+ * 分块请求，post原始字节到任务地址，携带请求头
+ * "Upload-Id"，"Upload-Offset"，"Upload-Length"，"Upload-File-Name"和
+ * "Content-Range: bytes start-end/total"，服务器以2xx表示接收成功，
+ * 以404或410表示上传已失效，此时清除状态在下次执行时重新上传；<br>
+ * 完成请求，以application/x-www-form-urlencoded表单post到任务地址，
+ * 携带请求头"Upload-Complete: true"，表单包含其它文本参数，文件参数的值为对应的"Upload-Id"
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class OkHttpChunkedUploadCommunication extends OkHttpCommunication<Map<String, Object>,
+        String> implements NetworkRefreshProgressHandler {
+
+    /**
+     * 上传状态文件后缀
+     */
+    public static final String STATE_SUFFIX = ".upload";
+
+    /**
+     * 最小分块字节数
+     */
+    private static final long MIN_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * 分块字节数
+     */
+    private final long chunkSize;
+
+    /**
+     * 并发上传的分块数
+     */
+    private final int parallelism;
+
+    /**
+     * 上传状态保存目录
+     */
+    private final File stateDirectory;
+
+    /**
+     * 上传进度监听器
+     */
+    private OnNetworkProgressListener onNetworkProgressListener = null;
+
+    /**
+     * 单个分块失败后的重试策略
+     */
+    private RetryPolicy chunkRetryPolicy = null;
+
+    /**
+     * 本次上传的文本参数
+     */
+    private final Map<String, String> params = new LinkedHashMap<>();
+
+    /**
+     * 本次上传的文件参数
+     */
+    private final Map<String, FileInfo> files = new LinkedHashMap<>();
+
+    /**
+     * 正在执行的分块请求
+     */
+    private final List<Call> chunkCalls = new ArrayList<>();
+
+    /**
+     * 完成请求的响应数据
+     */
+    private String result = null;
+
+    /**
+     * 取消标记
+     */
+    private volatile boolean canceled = false;
+
+    /**
+     * 构造函数
+     *
+     * @param tag            标签，用于跟踪日志
+     * @param chunkSize      分块字节数
+     * @param parallelism    并发上传的分块数
+     * @param stateDirectory 上传状态保存目录
+     */
+    public OkHttpChunkedUploadCommunication(String tag , long chunkSize , int parallelism ,
+                                            @NonNull File stateDirectory) {
+        super(tag);
+        this.chunkSize = Math.max(MIN_CHUNK_SIZE , chunkSize);
+        this.parallelism = Math.max(1 , parallelism);
+        this.stateDirectory = stateDirectory;
+    }
+
+    @Override
+    public void setNetworkProgressListener(OnNetworkProgressListener onNetworkProgressListener) {
+        this.onNetworkProgressListener = onNetworkProgressListener;
+    }
+
+    @Override
+    public void setRetryTimes(int times) {
+        // 不使用重试拦截器，仅重试失败的分块
+        setRetryPolicy(times > 0 ? new RetryPolicy.Builder().maxRetries(times).build() : null);
+    }
+
+    @Override
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        // 由本类按策略退避后重试失败的分块
+        this.chunkRetryPolicy = retryPolicy;
+        Log.v(logTag , "chunk retryPolicy maxRetries:" + (retryPolicy == null ? 0 : retryPolicy
+                .getMaxRetries()));
+    }
+
+    @Override
+    protected void onCreateRequest(Request.Builder builder , Map<String, Object> sendData) {
+        params.clear();
+        files.clear();
+
+        if (sendData != null) {
+            for (Map.Entry<String, Object> entry : sendData.entrySet()) {
+                Object value = entry.getValue();
+
+                if (value instanceof FileInfo) {
+                    files.put(entry.getKey() , (FileInfo) value);
+                } else if (value instanceof File) {
+                    files.put(entry.getKey() , new FileInfo((File) value));
+                } else if (value != null) {
+                    params.put(entry.getKey() , String.valueOf(value));
+                }
+            }
+        }
+
+        Log.v(logTag , "chunked upload files:" + files.size() + " params:" + params.size());
+
+        // 仅作为分块请求和完成请求的模板
+        builder.url(url);
+    }
+
+    @Override
+    protected void onExecute(OkHttpClient okHttpClient , Request request) {
+        canceled = false;
+        result = onUpload(okHttpClient , request);
+        success = result != null;
+    }
+
+    @Override
+    protected void onEnqueue(final OkHttpClient okHttpClient , final Request request , final
+    NetworkCallback<String> callback) {
+        canceled = false;
+
+        // 上传过程包含多次同步请求，在传输线程池中执行
+        TRANSFER_EXECUTOR.execute(() -> {
+            result = onUpload(okHttpClient , request);
+            success = result != null;
+
+            if (callback != null) {
+                callback.onFinish(success , code , result);
+            }
+        });
+    }
+
+    /**
+     * 执行分块上传和完成请求
+     *
+     * @param okHttpClient 请求工具
+     * @param request      模板请求
+     *
+     * @return 完成请求的响应数据，失败返回null
+     */
+    private String onUpload(OkHttpClient okHttpClient , Request request) {
+        code = 0;
+
+        if (!stateDirectory.exists() && !stateDirectory.mkdirs()) {
+            Log.d(logTag , "make dirs failed " + stateDirectory);
+            return null;
+        }
+
+        Map<String, UploadState> states = new LinkedHashMap<>();
+        Map<UploadState, File> stateFiles = new HashMap<>();
+        Map<UploadState, FileInfo> stateInfos = new HashMap<>();
+
+        long total = 0;
+        long uploaded = 0;
+
+        for (Map.Entry<String, FileInfo> entry : files.entrySet()) {
+            File file = entry.getValue().getFile();
+
+            if (file == null || !file.isFile()) {
+                Log.d(logTag , "no file " + file);
+                return null;
+            }
+
+            File stateFile = stateFile(file);
+            UploadState state = UploadState.load(stateFile);
+
+            if (!state.matches(file , chunkSize)) {
+                state = UploadState.create(file , chunkSize);
+                Log.v(logTag , "new upload " + state.uploadId + " chunks:" + state.chunkCount);
+            } else {
+                Log.v(logTag , "resume upload " + state.uploadId + " done chunks:" + state.done
+                        .cardinality() + "/" + state.chunkCount);
+            }
+
+            states.put(entry.getKey() , state);
+            stateFiles.put(state , stateFile);
+            stateInfos.put(state , entry.getValue());
+
+            total += state.length;
+            uploaded += state.uploadedBytes();
+        }
+
+        ChunkProgress progress = new ChunkProgress(uploaded , total);
+
+        for (UploadState state : states.values()) {
+            if (!onUploadChunks(okHttpClient , request , stateInfos.get(state) , state ,
+                    stateFiles.get(state) , progress)) {
+                return null;
+            }
+        }
+
+        if (canceled) {
+            return null;
+        }
+
+        if (onNetworkProgressListener != null) {
+            onNetworkProgressListener.onRefreshProgress(total , total , true);
+        }
+
+        String response = onComplete(okHttpClient , request , states);
+
+        if (response != null) {
+            for (File stateFile : stateFiles.values()) {
+                if (stateFile.exists() && !stateFile.delete()) {
+                    Log.d(logTag , "delete failed " + stateFile);
+                }
+            }
+        }
+
+        return response;
+    }
+
+    /**
+     * 并发上传一个文件未完成的分块
+     *
+     * @param okHttpClient 请求工具
+     * @param request      模板请求
+     * @param fileInfo     文件信息
+     * @param state        上传状态
+     * @param stateFile    上传状态文件
+     * @param progress     合并的上传进度
+     *
+     * @return true表示全部分块已上传
+     */
+    private boolean onUploadChunks(final OkHttpClient okHttpClient , final Request request ,
+                                   final FileInfo fileInfo , final UploadState state , final
+                                   File stateFile , final ChunkProgress progress) {
+        final ConcurrentLinkedQueue<Integer> pending = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0 ; i < state.chunkCount ; i++) {
+            if (!state.done.get(i)) {
+                pending.add(i);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return true;
+        }
+
+        try {
+            state.save(stateFile);
+        } catch (IOException e) {
+            Log.e(logTag , "save state error" , e);
+            return false;
+        }
+
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        int workers = Math.min(parallelism , pending.size());
+
+        for (int i = 0 ; i < workers ; i++) {
+            futures.add(TRANSFER_EXECUTOR.submit(() -> {
+                Integer index;
+
+                while (!canceled && !progress.aborted && (index = pending.poll()) != null) {
+                    if (!onUploadChunk(okHttpClient , request , fileInfo , state , index ,
+                            progress)) {
+                        return false;
+                    }
+
+                    synchronized (state) {
+                        state.done.set(index);
+                        state.save(stateFile);
+                    }
+                }
+
+                return !canceled && !progress.aborted;
+            }));
+        }
+
+        boolean result = true;
+
+        for (Future<Boolean> future : futures) {
+            boolean workerResult;
+
+            try {
+                workerResult = future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                Log.e(logTag , "chunk worker error" , e);
+                workerResult = false;
+            }
+
+            if (!workerResult && result) {
+                result = false;
+                // 其余分块没有必要继续
+                progress.aborted = true;
+                cancelChunks();
+            }
+        }
+
+        if (state.expired) {
+            // 服务器上传已失效，下次重新上传
+            Log.d(logTag , "upload " + state.uploadId + " expired");
+            if (stateFile.exists() && !stateFile.delete()) {
+                Log.d(logTag , "delete failed " + stateFile);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 上传一个分块，网络异常或响应码可重试时按重试策略退避后重试
+     *
+     * @param okHttpClient 请求工具
+     * @param request      模板请求
+     * @param fileInfo     文件信息
+     * @param state        上传状态
+     * @param index        分块序号
+     * @param progress     合并的上传进度
+     *
+     * @return true表示上传成功
+     */
+    private boolean onUploadChunk(OkHttpClient okHttpClient , Request request , FileInfo
+            fileInfo , UploadState state , int index , ChunkProgress progress) {
+        long start = index * state.chunkSize;
+        long end = Math.min(state.length , start + state.chunkSize) - 1;
+
+        RetryPolicy policy = chunkRetryPolicy;
+
+        int tryCount = 0;
+
+        while (!canceled && !progress.aborted) {
+            tryCount++;
+
+            boolean retryable;
+
+            ChunkBody body = new ChunkBody(fileInfo , start , end - start + 1 , progress);
+
+            Request.Builder builder = request.newBuilder();
+            onCreateChunkRequest(builder , fileInfo , state.uploadId , start , end , state
+                    .length , body);
+
+            Call chunkCall = okHttpClient.newCall(builder.build());
+            applyDeadline(chunkCall);
+
+            synchronized (chunkCalls) {
+                chunkCalls.add(chunkCall);
+            }
+
+            try (Response response = RequestScheduler.execute(okHttpClient , chunkCall ,
+                    priority)) {
+                code = response.code();
+
+                if (response.isSuccessful()) {
+                    Log.v(logTag , "chunk " + index + " uploaded");
+                    return true;
+                }
+
+                Log.d(logTag , "chunk " + index + " response code:" + code);
+
+                if (code == 404 || code == 410) {
+                    state.expired = true;
+                    return false;
+                }
+
+                retryable = policy != null && policy.isRetryableCode(code);
+            } catch (IOException e) {
+                Log.e(logTag , "chunk " + index + " try:" + tryCount + "," + e.toString());
+                code = errorCodeOf(e);
+                retryable = true;
+            } finally {
+                synchronized (chunkCalls) {
+                    chunkCalls.remove(chunkCall);
+                }
+            }
+
+            // 回退本次失败的分块进度
+            progress.add(-body.written);
+
+            if (!retryable || progress.aborted || !awaitRetry(policy , tryCount)) {
+                break;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 发送完成请求
+     *
+     * @param okHttpClient 请求工具
+     * @param request      模板请求
+     * @param states       各文件参数的上传状态
+     *
+     * @return 响应数据，失败返回null
+     */
+    private String onComplete(OkHttpClient okHttpClient , Request request , Map<String,
+            UploadState> states) {
+        Map<String, String> uploadIds = new LinkedHashMap<>();
+
+        for (Map.Entry<String, UploadState> entry : states.entrySet()) {
+            uploadIds.put(entry.getKey() , entry.getValue().uploadId);
+        }
+
+        Request.Builder builder = request.newBuilder();
+        onCreateCompleteRequest(builder , params , uploadIds);
+
+        call = okHttpClient.newCall(builder.build());
+        applyDeadline(call);
+
+        try (Response response = call.execute()) {
+            code = response.code();
+            Log.v(logTag , "complete response code:" + code + "  message:" + response.message());
+
+            ResponseBody body = response.body();
+
+            if (response.isSuccessful() && body != null) {
+                return body.string();
+            }
+        } catch (IOException e) {
+            Log.e(logTag , "complete error" , e);
+            code = errorCodeOf(e);
+        }
+
+        return null;
+    }
+
+    /**
+     * 创建分块请求
+     *
+     * @param builder  请求构造器，已包含任务地址和请求头
+     * @param fileInfo 文件信息
+     * @param uploadId 上传标识
+     * @param start    分块起始位置
+     * @param end      分块结束位置，包含该字节
+     * @param length   文件总长度
+     * @param body     分块数据
+     */
+    protected void onCreateChunkRequest(Request.Builder builder , FileInfo fileInfo , String
+            uploadId , long start , long end , long length , RequestBody body) {
+        builder.header("Upload-Id" , uploadId).header("Upload-Offset" , String.valueOf(start))
+                .header("Upload-Length" , String.valueOf(length)).header("Upload-File-Name" ,
+                fileInfo.getFileName()).header("Content-Range" , "bytes " + start + "-" + end +
+                "/" + length).post(body);
+    }
+
+    /**
+     * 创建完成请求
+     *
+     * @param builder   请求构造器，已包含任务地址和请求头
+     * @param params    文本参数
+     * @param uploadIds 文件参数名和对应的上传标识
+     */
+    protected void onCreateCompleteRequest(Request.Builder builder , Map<String, String> params ,
+                                           Map<String, String> uploadIds) {
+        Map<String, String> form = new LinkedHashMap<>(params);
+        form.putAll(uploadIds);
+
+        builder.header("Upload-Complete" , "true").post(RequestBodyBuilder.onBuildPostForm
+                (logTag , form , encoded));
+    }
+
+    /**
+     * 获取文件的上传状态文件，
+     * 由任务地址，文件路径，长度和修改时间确定
+     *
+     * @param file 文件
+     *
+     * @return 状态文件
+     */
+    private File stateFile(File file) {
+        String key = url + "|" + file.getAbsolutePath() + "|" + file.length() + "|" + file
+                .lastModified();
+
+        return new File(stateDirectory , Integer.toHexString(key.hashCode()) + "_" + file
+                .getName() + STATE_SUFFIX);
+    }
+
+    /**
+     * 取消所有正在执行的分块请求
+     */
+    private void cancelChunks() {
+        synchronized (chunkCalls) {
+            for (Call chunkCall : chunkCalls) {
+                RequestScheduler.cancel(chunkCall);
+            }
+        }
+    }
+
+    @Override
+    protected String onAsyncSuccess(ResponseBody body) throws IOException {
+        return body.string();
+    }
+
+    @Override
+    public String response() {
+        return result;
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        cancelChunks();
+        super.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    /**
+     * 分块请求体，通过{@link FileChannelRequestBody}发送文件的指定区域并统计进度
+     */
+    private static final class ChunkBody extends RequestBody {
+
+        /**
+         * 文件区域请求体
+         */
+        private final FileChannelRequestBody body;
+
+        /**
+         * 合并的上传进度
+         */
+        private final ChunkProgress progress;
+
+        /**
+         * 本次已写出的字节数
+         */
+        private volatile long written = 0;
+
+        /**
+         * 构造函数
+         *
+         * @param fileInfo 文件信息
+         * @param start    起始位置
+         * @param length   分块长度
+         * @param progress 合并的上传进度
+         */
+        ChunkBody(FileInfo fileInfo , long start , long length , ChunkProgress progress) {
+            this.body = FileChannelRequestBody.range(MediaType.parse(fileInfo.getMimeType()) ,
+                    fileInfo.getFile() , start , length , false);
+            this.progress = progress;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return body.contentLength();
+        }
+
+        @Override
+        public void writeTo(@NonNull BufferedSink sink) throws IOException {
+            // 重试时请求体可能被重复写出
+            progress.add(-written);
+            written = 0;
+
+            BufferedSink countingSink = Okio.buffer(new ForwardingSink(sink) {
+                @Override
+                public void write(@NonNull Buffer source , long byteCount) throws IOException {
+                    super.write(source , byteCount);
+                    written += byteCount;
+                    progress.add(byteCount);
+                }
+            });
+
+            body.writeTo(countingSink);
+            // 仅刷新，不关闭下层写出流
+            countingSink.flush();
+        }
+    }
+
+    /**
+     * 合并多个分块的上传进度
+     */
+    private final class ChunkProgress {
+
+        /**
+         * 已上传的字节数
+         */
+        private final AtomicLong uploaded;
+
+        /**
+         * 总字节数
+         */
+        private final long total;
+
+        /**
+         * 是否已放弃上传
+         */
+        private volatile boolean aborted = false;
+
+        /**
+         * 构造函数
+         *
+         * @param uploaded 已上传的字节数
+         * @param total    总字节数
+         */
+        ChunkProgress(long uploaded , long total) {
+            this.uploaded = new AtomicLong(uploaded);
+            this.total = total;
+        }
+
+        /**
+         * 增加进度
+         *
+         * @param bytes 字节数，可以为负数
+         */
+        void add(long bytes) {
+            if (bytes == 0) {
+                return;
+            }
+
+            long current = uploaded.addAndGet(bytes);
+
+            if (onNetworkProgressListener != null && bytes > 0) {
+                onNetworkProgressListener.onRefreshProgress(current , total , false);
+            }
+        }
+    }
+
+    /**
+     * 单个文件的上传状态
+     */
+    private static final class UploadState {
+
+        /**
+         * 上传标识
+         */
+        private String uploadId = null;
+
+        /**
+         * 文件长度
+         */
+        private long length = -1;
+
+        /**
+         * 文件修改时间
+         */
+        private long lastModified = 0;
+
+        /**
+         * 分块字节数
+         */
+        private long chunkSize = 0;
+
+        /**
+         * 分块数量
+         */
+        private int chunkCount = 0;
+
+        /**
+         * 已完成的分块
+         */
+        private BitSet done = new BitSet();
+
+        /**
+         * 服务器上传是否已失效
+         */
+        private volatile boolean expired = false;
+
+        /**
+         * 创建新的上传状态
+         *
+         * @param file      文件
+         * @param chunkSize 分块字节数
+         *
+         * @return 上传状态
+         */
+        static UploadState create(File file , long chunkSize) {
+            UploadState state = new UploadState();
+            state.uploadId = UUID.randomUUID().toString();
+            state.length = file.length();
+            state.lastModified = file.lastModified();
+            state.chunkSize = chunkSize;
+            // 空文件没有分块
+            state.chunkCount = (int) ((state.length + chunkSize - 1) / chunkSize);
+            return state;
+        }
+
+        /**
+         * 读取上传状态
+         *
+         * @param file 状态文件
+         *
+         * @return 上传状态，文件不存在或损坏时返回空状态
+         */
+        static UploadState load(File file) {
+            UploadState state = new UploadState();
+
+            if (!file.exists()) {
+                return state;
+            }
+
+            Properties properties = new Properties();
+
+            try (InputStream inputStream = new FileInputStream(file)) {
+                properties.load(inputStream);
+
+                state.uploadId = properties.getProperty("uploadId");
+                state.length = Long.parseLong(properties.getProperty("length" , "-1"));
+                state.lastModified = Long.parseLong(properties.getProperty("lastModified" ,
+                        "0"));
+                state.chunkSize = Long.parseLong(properties.getProperty("chunkSize" , "0"));
+                state.chunkCount = Integer.parseInt(properties.getProperty("chunkCount" , "0"));
+
+                String done = properties.getProperty("done" , "");
+                for (String index : done.split(",")) {
+                    if (index.length() > 0) {
+                        state.done.set(Integer.parseInt(index));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e("UploadState" , "load error" , e);
+                return new UploadState();
+            }
+
+            return state;
+        }
+
+        /**
+         * 判断状态是否属于该文件的本次上传
+         *
+         * @param file      文件
+         * @param chunkSize 分块字节数
+         *
+         * @return true表示可以续传
+         */
+        boolean matches(File file , long chunkSize) {
+            return uploadId != null && length == file.length() && lastModified == file
+                    .lastModified() && this.chunkSize == chunkSize;
+        }
+
+        /**
+         * 计算已上传的字节数
+         *
+         * @return 字节数
+         */
+        long uploadedBytes() {
+            long bytes = 0;
+
+            for (int i = done.nextSetBit(0) ; i >= 0 ; i = done.nextSetBit(i + 1)) {
+                bytes += Math.min(length , (i + 1) * chunkSize) - i * chunkSize;
+            }
+
+            return bytes;
+        }
+
+        /**
+         * 保存上传状态，先写入临时文件再替换，中断时不会留下不完整的状态文件
+         *
+         * @param file 状态文件
+         *
+         * @throws IOException 文件异常
+         */
+        void save(File file) throws IOException {
+            Properties properties = new Properties();
+
+            properties.setProperty("uploadId" , uploadId);
+            properties.setProperty("length" , String.valueOf(length));
+            properties.setProperty("lastModified" , String.valueOf(lastModified));
+            properties.setProperty("chunkSize" , String.valueOf(chunkSize));
+            properties.setProperty("chunkCount" , String.valueOf(chunkCount));
+
+            StringBuilder builder = new StringBuilder();
+            for (int i = done.nextSetBit(0) ; i >= 0 ; i = done.nextSetBit(i + 1)) {
+                if (builder.length() > 0) {
+                    builder.append(',');
+                }
+                builder.append(i);
+            }
+            properties.setProperty("done" , builder.toString());
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            properties.store(outputStream , null);
+
+            AtomicFileWriter.write(new ByteArrayInputStream(outputStream.toByteArray()) , file ,
+                    DurabilityPolicy.SYNC_AT_END , 0);
+        }
+    }
+}
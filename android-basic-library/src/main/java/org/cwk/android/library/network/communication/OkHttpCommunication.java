@@ -3,17 +3,37 @@ package org.cwk.android.library.network.communication;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
+import org.cwk.android.library.network.factory.NetworkErrorCode;
+import org.cwk.android.library.network.factory.RequestPriority;
+import org.cwk.android.library.network.util.Deadline;
+import org.cwk.android.library.network.util.DeadlineInterceptor;
+import org.cwk.android.library.network.util.FastFailException;
 import org.cwk.android.library.network.util.GlobalOkHttpClient;
+import org.cwk.android.library.network.util.GzipRequestInterceptor;
 import org.cwk.android.library.network.util.NetworkCallback;
+import org.cwk.android.library.network.util.NetworkDeadlineHandler;
+import org.cwk.android.library.network.util.NetworkPriorityHandler;
+import org.cwk.android.library.network.util.NetworkQualityEstimator;
+import org.cwk.android.library.network.util.NetworkRetryPolicyHandler;
 import org.cwk.android.library.network.util.NetworkTimeout;
+import org.cwk.android.library.network.util.OkHttpClientCache;
+import org.cwk.android.library.network.util.RequestMetrics;
+import org.cwk.android.library.network.util.RequestScheduler;
 import org.cwk.android.library.network.util.RetryInterceptor;
+import org.cwk.android.library.network.util.RetryPolicy;
+import org.cwk.android.library.network.util.RetryRecord;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.Call;
 import okhttp3.Callback;
 import okhttp3.Headers;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -27,7 +47,25 @@ import okhttp3.ResponseBody;
  * @since 1.0
  */
 public abstract class OkHttpCommunication<RequestType, ResponseType> implements
-        ICommunication<RequestType, ResponseType> {
+        ICommunication<RequestType, ResponseType>, NetworkRetryPolicyHandler,
+        NetworkPriorityHandler, NetworkDeadlineHandler {
+
+    /**
+     * 自行重试时退避等待检查取消状态的间隔毫秒数
+     */
+    private static final long RETRY_SLEEP_STEP = 100;
+
+    /**
+     * 多请求传输(分块上传，分段下载)使用的线程池，
+     * 外层任务会阻塞等待内层的分块任务，因此不能使用请求工具调度器的线程池，
+     * 否则在有界线程池中外层任务占满线程后内层任务无法执行造成死锁
+     */
+    protected static final ExecutorService TRANSFER_EXECUTOR = Executors.newCachedThreadPool(
+            runnable -> {
+                Thread thread = new Thread(runnable , "OkHttp transfer");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     /**
      * 跟踪日志
@@ -79,6 +117,36 @@ public abstract class OkHttpCommunication<RequestType, ResponseType> implements
      */
     protected int retryTimes = 0;
 
+    /**
+     * 请求重试策略
+     */
+    protected RetryPolicy retryPolicy = null;
+
+    /**
+     * 最近一次请求的重试记录
+     */
+    private RetryRecord retryRecord = null;
+
+    /**
+     * 异步请求优先级
+     */
+    protected int priority = RequestPriority.NORMAL;
+
+    /**
+     * 请求体gzip压缩阈值，小于0表示不压缩
+     */
+    protected long compressThreshold = -1;
+
+    /**
+     * 下一次请求的截止时间
+     */
+    protected Deadline deadline = null;
+
+    /**
+     * 发起请求的任务名称，用于请求指标
+     */
+    private String workName = null;
+
     /**
      * 构造函数
      *
@@ -129,6 +197,169 @@ public abstract class OkHttpCommunication<RequestType, ResponseType> implements
         Log.v(logTag , "retryTimes:" + times);
     }
 
+    @Override
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        Log.v(logTag , "retryPolicy maxRetries:" + (retryPolicy == null ? 0 : retryPolicy
+                .getMaxRetries()));
+    }
+
+    @Override
+    public void setPriority(int priority) {
+        this.priority = priority;
+        Log.v(logTag , "priority:" + priority);
+    }
+
+    @Override
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        Log.v(logTag , "deadline:" + deadline);
+    }
+
+    /**
+     * 设置发起请求的任务名称，
+     * 安装{@link org.cwk.android.library.network.util.MetricsSink}后用于标记请求指标
+     *
+     * @param workName 任务名称，通常为任务类名
+     */
+    public void setWorkName(String workName) {
+        this.workName = workName;
+    }
+
+    /**
+     * 获取请求头信息
+     *
+     * @return 请求头，未设置时为null
+     */
+    public Headers getHeaders() {
+        return headers;
+    }
+
+    /**
+     * 判断是否设置了单个请求的选项，
+     * 包括请求头，超时，重试和截止时间
+     *
+     * @return true表示已设置
+     */
+    public boolean hasRequestOptions() {
+        return headers != null || networkTimeout != null || retryTimes > 0 || retryPolicy !=
+                null || deadline != null;
+    }
+
+    /**
+     * 获取请求数据编码
+     *
+     * @return 编码，未设置时为null即使用UTF-8
+     */
+    public String getEncoded() {
+        return encoded;
+    }
+
+    /**
+     * 获取实际生效的重试策略，
+     * 未设置重试策略时由重试次数生成默认策略
+     *
+     * @return 重试策略，不需要重试时返回null
+     */
+    protected final RetryPolicy getEffectiveRetryPolicy() {
+        if (retryPolicy != null) {
+            return retryPolicy.getMaxRetries() > 0 ? retryPolicy : null;
+        }
+
+        return retryTimes > 0 ? new RetryPolicy.Builder().maxRetries(retryTimes).build() : null;
+    }
+
+    /**
+     * 按截止时间设置请求的整体超时，
+     * 覆盖重试和退避等待，超时后请求被取消
+     *
+     * @param call 新创建的请求
+     */
+    protected final void applyDeadline(Call call) {
+        if (deadline != null) {
+            call.timeout().timeout(Math.max(1 , deadline.remainingMillis()) , TimeUnit
+                    .MILLISECONDS);
+        }
+    }
+
+    /**
+     * 不使用重试拦截器而自行重试的请求在下一次尝试前退避等待，
+     * 按重试策略，网络质量和截止时间判断是否还能重试，等待期间被取消时提前结束，
+     * 调用方应只在网络异常或{@link RetryPolicy#isRetryableCode(int)}为true时重试
+     *
+     * @param policy   重试策略，null表示不重试
+     * @param tryCount 已尝试的次数，从1开始
+     *
+     * @return true表示可以发起下一次尝试
+     */
+    protected final boolean awaitRetry(RetryPolicy policy , int tryCount) {
+        if (policy == null || isCanceled()) {
+            return false;
+        }
+
+        int maxRetries = policy.getMaxRetries();
+        NetworkQualityEstimator estimator = GlobalOkHttpClient.getQualityEstimator();
+
+        if (estimator != null) {
+            maxRetries = estimator.capRetries(maxRetries);
+        }
+
+        if (tryCount > maxRetries) {
+            return false;
+        }
+
+        long delay = policy.backoff(tryCount);
+
+        if (estimator != null) {
+            delay = estimator.scaleBackoff(delay);
+        }
+
+        if (deadline != null && delay >= deadline.remainingMillis()) {
+            Log.v(logTag , "retry after " + delay + "ms exceeds deadline " + deadline);
+            return false;
+        }
+
+        Log.v(logTag , "retry after " + delay + "ms");
+
+        try {
+            while (delay > 0 && !isCanceled()) {
+                long step = Math.min(delay , RETRY_SLEEP_STEP);
+                Thread.sleep(step);
+                delay -= step;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        return !isCanceled();
+    }
+
+    /**
+     * 获取网络异常对应的错误码
+     *
+     * @param e 网络异常
+     *
+     * @return 超过截止时间时为{@link NetworkErrorCode#DEADLINE_EXCEEDED}，
+     * 否则同{@link FastFailException#codeOf(IOException)}
+     */
+    protected final int errorCodeOf(IOException e) {
+        if (deadline != null && deadline.isExceeded()) {
+            return NetworkErrorCode.DEADLINE_EXCEEDED;
+        }
+
+        return FastFailException.codeOf(e);
+    }
+
+    /**
+     * 获取最近一次请求的重试记录
+     *
+     * @return 重试记录，未启用重试时为null
+     */
+    public RetryRecord getRetryRecord() {
+        return retryRecord;
+    }
+
     @Override
     public void request(RequestType sendData) {
         Log.v(logTag , "request start");
@@ -147,16 +378,68 @@ public abstract class OkHttpCommunication<RequestType, ResponseType> implements
         OkHttpClient okHttpClient = onConfigOkHttpClient();
 
         // 创建请求
+        Request request = onBuildRequest(sendData);
+
+        // 发送同步请求
+        onExecute(okHttpClient , request);
+    }
+
+    /**
+     * 构建完整的请求
+     *
+     * @param sendData 要发送的数据
+     *
+     * @return 请求
+     */
+    private Request onBuildRequest(RequestType sendData) {
         Request.Builder builder = new Request.Builder();
         if (headers != null) {
             builder.headers(headers);
         }
         onCreateRequest(builder , sendData);
-        Request request = builder.build();
 
+        RetryPolicy policy = getEffectiveRetryPolicy();
+
+        if (policy != null) {
+            // 重试策略跟随单次请求
+            retryRecord = new RetryRecord();
+            builder.tag(RetryPolicy.class , policy);
+            builder.tag(RetryRecord.class , retryRecord);
+        } else {
+            retryRecord = null;
+        }
+
+        if (GlobalOkHttpClient.getMetricsSink() != null) {
+            // 标记请求指标来源
+            builder.tag(RequestMetrics.Source.class , new RequestMetrics.Source(workName ==
+                    null ? logTag : workName , url));
+        }
+
+        if (deadline != null) {
+            // 截止时间跟随单次请求
+            builder.tag(Deadline.class , deadline);
+        }
+
+        if (compressThreshold > -1) {
+            // 压缩阈值跟随单次请求
+            builder.tag(GzipRequestInterceptor.Threshold.class , new GzipRequestInterceptor
+                    .Threshold(compressThreshold));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * 发送同步请求
+     *
+     * @param okHttpClient 请求工具
+     * @param request      完整的请求
+     */
+    protected void onExecute(OkHttpClient okHttpClient , Request request) {
         try {
             // 发起同步请求
             call = okHttpClient.newCall(request);
+            applyDeadline(call);
             Response response = call.execute();
 
             this.success = response.isSuccessful();
@@ -176,28 +459,46 @@ public abstract class OkHttpCommunication<RequestType, ResponseType> implements
             Log.e(logTag , "call error" , e);
 
             this.success = false;
+            this.code = errorCodeOf(e);
             response = null;
         }
     }
 
     /**
-     * 进阶配置请求工具
+     * 进阶配置请求工具，
+     * 相同配置的请求工具由{@link OkHttpClientCache}复用
      *
      * @return 请求工具
      */
-    private OkHttpClient onConfigOkHttpClient() {
+    protected final OkHttpClient onConfigOkHttpClient() {
         // 得到okHttpClient对象
         OkHttpClient okHttpClient = GlobalOkHttpClient.getOkHttpClient();
 
         OkHttpClient.Builder builder = onRebuildClient(okHttpClient);
 
-        // 判断是否需要设置超时
-        if (networkTimeout != null) {
+        if (builder == null) {
+            // 收集附加拦截器
+            List<Interceptor> interceptors = new ArrayList<>();
+            List<Interceptor> networkInterceptors = new ArrayList<>();
+            onConfigInterceptors(interceptors , networkInterceptors);
+
+            if (compressThreshold > -1) {
+                // 位于重试之前，重试时复用压缩请求体
+                interceptors.add(GzipRequestInterceptor.INSTANCE);
+            }
 
-            if (builder == null) {
-                builder = okHttpClient.newBuilder();
+            if (deadline != null) {
+                // 位于最前，请求工具缓存将其置于全局拦截器之前，覆盖所有拦截器的耗时
+                interceptors.add(0 , DeadlineInterceptor.INSTANCE);
             }
 
+            return OkHttpClientCache.obtain(okHttpClient , networkTimeout ,
+                    getEffectiveRetryPolicy() != null , interceptors , networkInterceptors);
+        }
+
+        // 子类完全自定义的请求工具不参与复用
+        // 判断是否需要设置超时
+        if (networkTimeout != null) {
             if (networkTimeout.getConnectTimeout() > -1) {
                 builder.connectTimeout(networkTimeout.getConnectTimeout() , TimeUnit.MILLISECONDS);
             }
@@ -211,24 +512,40 @@ public abstract class OkHttpCommunication<RequestType, ResponseType> implements
             }
         }
 
-        // 判断是否需要设置重试
-        if (retryTimes > 0) {
-            if (builder == null) {
-                builder = okHttpClient.newBuilder();
-            }
+        // 判断是否需要压缩请求体，位于重试之前
+        if (compressThreshold > -1) {
+            builder.addInterceptor(GzipRequestInterceptor.INSTANCE);
+        }
 
-            builder.addInterceptor(new RetryInterceptor(logTag , retryTimes));
+        // 判断是否需要设置重试
+        if (getEffectiveRetryPolicy() != null) {
+            builder.addInterceptor(RetryInterceptor.INSTANCE);
         }
 
-        // 尝试构建新配置的请求工具
-        if (builder != null) {
-            okHttpClient = builder.build();
+        // 判断是否需要截止时间
+        if (deadline != null) {
+            builder.interceptors().add(0 , DeadlineInterceptor.INSTANCE);
         }
-        return okHttpClient;
+
+        return builder.build();
+    }
+
+    /**
+     * 配置附加拦截器，
+     * 拦截器实例应当可以被所有请求复用，
+     * 单次请求相关的数据应通过{@link Request.Builder#tag(Class , Object)}传递
+     *
+     * @param interceptors        应用拦截器集合
+     * @param networkInterceptors 网络拦截器集合
+     */
+    protected void onConfigInterceptors(List<Interceptor> interceptors , List<Interceptor>
+            networkInterceptors) {
     }
 
     /**
-     * 重新配置一个请求工具
+     * 重新配置一个请求工具，
+     * 返回非空构建器时每次请求都会构建新的请求工具，
+     * 通常应该使用{@link #onConfigInterceptors(List , List)}
      *
      * @param okHttpClient 原请求工具
      *
@@ -285,22 +602,34 @@ public abstract class OkHttpCommunication<RequestType, ResponseType> implements
         OkHttpClient okHttpClient = onConfigOkHttpClient();
 
         // 创建请求
-        Request.Builder builder = new Request.Builder();
-        if (headers != null) {
-            builder.headers(headers);
-        }
-        onCreateRequest(builder , sendData);
-        Request request = builder.build();
+        Request request = onBuildRequest(sendData);
 
         // 发送异步请求
+        onEnqueue(okHttpClient , request , callback);
+    }
+
+    /**
+     * 发送异步请求
+     *
+     * @param okHttpClient 请求工具
+     * @param request      完整的请求
+     * @param callback     结果回调
+     */
+    protected void onEnqueue(OkHttpClient okHttpClient , Request request , final
+    NetworkCallback<ResponseType> callback) {
         call = okHttpClient.newCall(request);
-        call.enqueue(new Callback() {
+        applyDeadline(call);
+        // 按优先级调度
+        RequestScheduler.enqueue(okHttpClient , call , priority , new Callback() {
             @Override
             public void onFailure(@NonNull Call call , @NonNull IOException e) {
                 Log.e(logTag , "call error" , e);
 
+                code = errorCodeOf(e);
+                success = false;
+
                 if (callback != null) {
-                    callback.onFinish(false , 0 , null);
+                    callback.onFinish(false , code , null);
                 }
             }
 
@@ -347,12 +676,12 @@ public abstract class OkHttpCommunication<RequestType, ResponseType> implements
     @Override
     public void cancel() {
         if (call != null) {
-            call.cancel();
+            RequestScheduler.cancel(call);
         }
     }
 
     @Override
     public boolean isCanceled() {
-        return call.isCanceled();
+        return call != null && call.isCanceled();
     }
 }
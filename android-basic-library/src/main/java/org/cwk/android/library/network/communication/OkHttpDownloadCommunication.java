@@ -2,37 +2,66 @@ package org.cwk.android.library.network.communication;
 
 import android.util.Log;
 
+import org.cwk.android.library.network.factory.ChecksumAlgorithm;
+import org.cwk.android.library.network.util.Checksum;
+import org.cwk.android.library.network.util.ChecksumException;
+import org.cwk.android.library.network.util.ChecksumInterceptor;
+import org.cwk.android.library.network.util.NetworkChecksumHandler;
 import org.cwk.android.library.network.util.NetworkRefreshProgressHandler;
 import org.cwk.android.library.network.util.OnNetworkProgressListener;
-import org.cwk.android.library.network.util.ProgressResponseBody;
+import org.cwk.android.library.network.util.ProgressInterceptor;
 import org.cwk.android.library.network.util.RequestBodyBuilder;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 
-import okhttp3.OkHttpClient;
+import okhttp3.Interceptor;
 import okhttp3.Request;
-import okhttp3.Response;
 import okhttp3.ResponseBody;
 
 /**
  * 基于OkHttp实现的文件下载请求通讯组件类，
  * 默认文件下载类，不可扩展，
- * 使用get请求访问下载地址
+ * 使用get请求访问下载地址，
+ * 通过{@link #setChecksum(int , String)}设置后在读取数据流的同时计算摘要，
+ * 期望的摘要通过请求参数{@link #EXPECTED_CHECKSUM_TAG}传入(该参数不会发送给服务器)或从响应头读取，
+ * 数据流读取到末尾时摘要不一致会抛出{@link ChecksumException}，
+ * 处理数据流后通过{@link #verifyChecksum(InputStream)}确认校验结果
  *
  * @author 超悟空
  * @version 2.0 2016/3/7
  * @since 1.0
  */
 public class OkHttpDownloadCommunication extends OkHttpCommunication<Map<String, String>,
-        InputStream> implements NetworkRefreshProgressHandler {
+        InputStream> implements NetworkRefreshProgressHandler, NetworkChecksumHandler {
+
+    /**
+     * 期望摘要的参数名
+     */
+    public static final String EXPECTED_CHECKSUM_TAG = "org.cwk.android.library.download.checksum";
 
     /**
      * 下载进度监听器
      */
     private OnNetworkProgressListener onNetworkProgressListener = null;
 
+    /**
+     * 摘要算法
+     */
+    private int checksumAlgorithm = ChecksumAlgorithm.NONE;
+
+    /**
+     * 携带期望摘要的响应头名称
+     */
+    private String checksumHeader = null;
+
+    /**
+     * 最近一次请求的数据校验
+     */
+    private Checksum checksum = null;
+
     /**
      * 构造函数
      *
@@ -48,23 +77,71 @@ public class OkHttpDownloadCommunication extends OkHttpCommunication<Map<String,
     }
 
     @Override
-    protected OkHttpClient.Builder onRebuildClient(OkHttpClient okHttpClient) {
-        OkHttpClient.Builder builder = okHttpClient.newBuilder();
+    public void setChecksum(int algorithm , String header) {
+        this.checksumAlgorithm = algorithm;
+        this.checksumHeader = header;
+    }
 
+    /**
+     * 获取最近一次请求的数据校验，
+     * 数据流读取到末尾后可以从中得到计算的摘要
+     *
+     * @return 数据校验，未启用校验时为null
+     */
+    public Checksum getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * 确认最近一次请求的数据校验结果，
+     * 数据流未读取到末尾时先读取剩余数据完成校验，
+     * 避免处理数据流的代码忽略读取异常或提前结束读取时校验失败被遗漏
+     *
+     * @param inputStream 最近一次请求的下载数据流
+     *
+     * @throws ChecksumException 数据流无法读取到末尾或摘要与期望值不一致
+     */
+    public void verifyChecksum(InputStream inputStream) throws ChecksumException {
+        Checksum checksum = this.checksum;
+
+        if (checksum == null) {
+            return;
+        }
+
+        if (checksum.getDigest() == null) {
+            byte[] buffer = new byte[8192];
+
+            try {
+                //noinspection StatementWithEmptyBody
+                while (inputStream.read(buffer) != -1) {
+                }
+            } catch (IOException e) {
+                // 数据流已关闭或读取到末尾时校验失败，由下面的检查给出结果
+                Log.d(logTag , "drain checksum stream failed " + e);
+            }
+        }
+
+        checksum.verify();
+    }
+
+    @Override
+    protected void onConfigInterceptors(List<Interceptor> interceptors , List<Interceptor>
+            networkInterceptors) {
         if (onNetworkProgressListener != null) {
             // 增加拦截器监听下载进度
-            builder.networkInterceptors().add(chain -> {
-                Response originalResponse = chain.proceed(chain.request());
-                return originalResponse.newBuilder().body(new ProgressResponseBody
-                        (originalResponse.body() , onNetworkProgressListener)).build();
-            });
+            networkInterceptors.add(ProgressInterceptor.INSTANCE);
         }
 
-        return builder;
+        if (checksumAlgorithm != ChecksumAlgorithm.NONE) {
+            // 增加拦截器计算摘要，位于解压之后
+            interceptors.add(ChecksumInterceptor.INSTANCE);
+        }
     }
 
     @Override
     protected void onCreateRequest(Request.Builder builder , Map<String, String> sendData) {
+        String expected = sendData == null ? null : sendData.remove(EXPECTED_CHECKSUM_TAG);
+
         // 拼接参数
         String params = RequestBodyBuilder.onBuildParameter(logTag , sendData , encoded);
 
@@ -73,6 +150,19 @@ public class OkHttpDownloadCommunication extends OkHttpCommunication<Map<String,
         Log.v(logTag , "final url:" + finalUrl);
 
         builder.url(finalUrl);
+
+        if (onNetworkProgressListener != null) {
+            // 进度监听器跟随本次请求
+            builder.tag(OnNetworkProgressListener.class , onNetworkProgressListener);
+        }
+
+        if (checksumAlgorithm != ChecksumAlgorithm.NONE) {
+            // 数据校验跟随本次请求
+            checksum = new Checksum(checksumAlgorithm , expected , checksumHeader);
+            builder.tag(Checksum.class , checksum);
+        } else {
+            checksum = null;
+        }
     }
 
     @Override
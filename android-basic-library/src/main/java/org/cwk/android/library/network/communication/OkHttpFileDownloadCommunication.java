@@ -0,0 +1,1260 @@
+package org.cwk.android.library.network.communication;
+
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.ChecksumAlgorithm;
+import org.cwk.android.library.network.factory.DurabilityPolicy;
+import org.cwk.android.library.network.util.AtomicFileWriter;
+import org.cwk.android.library.network.util.Checksum;
+import org.cwk.android.library.network.util.ChecksumException;
+import org.cwk.android.library.network.util.NetworkCallback;
+import org.cwk.android.library.network.util.NetworkChecksumHandler;
+import org.cwk.android.library.network.util.NetworkRefreshProgressHandler;
+import org.cwk.android.library.network.util.OnNetworkProgressListener;
+import org.cwk.android.library.network.util.ProgressInterceptor;
+import org.cwk.android.library.network.util.RequestBodyBuilder;
+import org.cwk.android.library.network.util.RequestScheduler;
+import org.cwk.android.library.network.util.RetryPolicy;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+/**
+ * 基于OkHttp实现的可续传文件下载请求通讯组件类，
+ * 响应数据写入"目标文件.part"并通过Range续传，目标文件路径通过请求参数{@link #TARGET_FILE_TAG}传入
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class OkHttpFileDownloadCommunication extends OkHttpCommunication<Map<String, String>,
+        File> implements NetworkRefreshProgressHandler, NetworkChecksumHandler {
+
+    /**
+     * 目标文件路径的参数名
+     */
+    public static final String TARGET_FILE_TAG = "org.cwk.android.library.download.target";
+
+    /**
+     * 下载中的临时文件后缀
+     */
+    public static final String PART_SUFFIX = ".part";
+
+    /**
+     * 续传信息文件后缀
+     */
+    public static final String META_SUFFIX = ".meta";
+
+    /**
+     * 每次从网络读取的最大字节数
+     */
+    private static final long READ_SIZE = 64 * 1024;
+
+    /**
+     * 续传信息的保存间隔字节数
+     */
+    private static final long META_SAVE_INTERVAL = 512 * 1024;
+
+    /**
+     * 单个分段的最小字节数，文件过小时不分段
+     */
+    private static final long MIN_SEGMENT_SIZE = 1024 * 1024;
+
+    /**
+     * 分段下载结果，下载完成
+     */
+    private static final int SEGMENT_DONE = 0;
+
+    /**
+     * 分段下载结果，下载失败
+     */
+    private static final int SEGMENT_FAILED = 1;
+
+    /**
+     * 分段下载结果，不支持分段下载
+     */
+    private static final int SEGMENT_UNSUPPORTED = 2;
+
+    /**
+     * 下载进度监听器
+     */
+    private OnNetworkProgressListener onNetworkProgressListener = null;
+
+    /**
+     * 下载失败后的重试策略，由本类自行续传重试
+     */
+    private RetryPolicy downloadRetryPolicy = null;
+
+    /**
+     * 最大并发分段数，1表示不分段
+     */
+    private int maxSegments = 1;
+
+    /**
+     * 持久化策略
+     */
+    private int durability = DurabilityPolicy.NONE;
+
+    /**
+     * 周期同步的间隔字节数
+     */
+    private long syncInterval = AtomicFileWriter.DEFAULT_SYNC_INTERVAL;
+
+    /**
+     * 摘要算法
+     */
+    private int checksumAlgorithm = ChecksumAlgorithm.NONE;
+
+    /**
+     * 携带期望摘要的响应头名称
+     */
+    private String checksumHeader = null;
+
+    /**
+     * 最近一次下载的数据校验
+     */
+    private Checksum checksum = null;
+
+    /**
+     * 正在执行的分段请求
+     */
+    private final List<Call> segmentCalls = new ArrayList<>();
+
+    /**
+     * 本次下载的目标文件
+     */
+    private File targetFile = null;
+
+    /**
+     * 下载完成的文件
+     */
+    private File resultFile = null;
+
+    /**
+     * 取消标记
+     */
+    private volatile boolean canceled = false;
+
+    /**
+     * 构造函数
+     *
+     * @param tag 标签，用于跟踪日志
+     */
+    public OkHttpFileDownloadCommunication(String tag) {
+        super(tag);
+    }
+
+    @Override
+    public void setNetworkProgressListener(OnNetworkProgressListener onNetworkProgressListener) {
+        this.onNetworkProgressListener = onNetworkProgressListener;
+    }
+
+    /**
+     * 设置下载数据校验，下载完成后移动到目标位置前校验完整文件，
+     * 期望的摘要通过请求参数{@link OkHttpDownloadCommunication#EXPECTED_CHECKSUM_TAG}传入或从响应头读取，
+     * 响应头中的值随续传信息保存，续传时继续使用，
+     * 206响应中的Content-MD5只对应本次的范围，不会使用
+     *
+     * @param algorithm 摘要算法，取值为{@link ChecksumAlgorithm}
+     * @param header    携带期望摘要的响应头名称，null表示不读取响应头
+     */
+    @Override
+    public void setChecksum(int algorithm , String header) {
+        this.checksumAlgorithm = algorithm;
+        this.checksumHeader = header;
+    }
+
+    /**
+     * 获取最近一次下载的数据校验
+     *
+     * @return 数据校验，未启用校验时为null
+     */
+    public Checksum getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public void setRetryTimes(int times) {
+        // 不使用重试拦截器，中断后需要重新计算续传位置
+        setRetryPolicy(times > 0 ? new RetryPolicy.Builder().maxRetries(times).build() : null);
+    }
+
+    @Override
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        // 由本类按策略退避后自行续传重试
+        this.downloadRetryPolicy = retryPolicy;
+        Log.v(logTag , "download retryPolicy maxRetries:" + (retryPolicy == null ? 0 :
+                retryPolicy.getMaxRetries()));
+    }
+
+    /**
+     * 设置最大并发分段数，
+     * 仅当服务器支持Range且返回了ETag或Last-Modified时生效，
+     * 实际分段数不会使单个分段小于1MB，
+     * 分段请求经过{@link RequestScheduler}按任务优先级调度
+     *
+     * @param maxSegments 最大分段数，默认为1即不分段
+     */
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+        Log.v(logTag , "maxSegments:" + maxSegments);
+    }
+
+    /**
+     * 设置写入磁盘的持久化策略，
+     * 分段下载时周期同步在保存续传信息时执行
+     *
+     * @param durability 持久化策略，取值为{@link DurabilityPolicy}，默认为{@link DurabilityPolicy#NONE}
+     * @param interval   周期同步的间隔字节数，仅{@link DurabilityPolicy#PERIODIC}有效，小于等于0时使用默认值4MB
+     */
+    public void setDurability(int durability , long interval) {
+        this.durability = durability;
+        this.syncInterval = interval > 0 ? interval : AtomicFileWriter.DEFAULT_SYNC_INTERVAL;
+        Log.v(logTag , "durability:" + durability + " syncInterval:" + syncInterval);
+    }
+
+    @Override
+    protected void onConfigInterceptors(List<Interceptor> interceptors , List<Interceptor>
+            networkInterceptors) {
+        if (onNetworkProgressListener != null) {
+            // 增加拦截器监听下载进度
+            networkInterceptors.add(ProgressInterceptor.INSTANCE);
+        }
+    }
+
+    @Override
+    protected void onCreateRequest(Request.Builder builder , Map<String, String> sendData) {
+        String target = sendData == null ? null : sendData.remove(TARGET_FILE_TAG);
+        targetFile = target == null ? null : new File(target);
+        Log.v(logTag , "target file:" + target);
+
+        String expected = sendData == null ? null : sendData.remove(OkHttpDownloadCommunication
+                .EXPECTED_CHECKSUM_TAG);
+        checksum = checksumAlgorithm == ChecksumAlgorithm.NONE ? null : new Checksum
+                (checksumAlgorithm , expected , checksumHeader);
+
+        // 拼接参数
+        String params = RequestBodyBuilder.onBuildParameter(logTag , sendData , encoded);
+
+        // 最终请求地址
+        String finalUrl = params.length() == 0 ? url : url + "?" + params;
+        Log.v(logTag , "final url:" + finalUrl);
+
+        builder.url(finalUrl);
+    }
+
+    @Override
+    protected void onExecute(OkHttpClient okHttpClient , Request request) {
+        canceled = false;
+        resultFile = onDownload(okHttpClient , request);
+        success = resultFile != null;
+    }
+
+    @Override
+    protected void onEnqueue(final OkHttpClient okHttpClient , final Request request , final
+    NetworkCallback<File> callback) {
+        canceled = false;
+
+        // 下载过程包含多次同步请求和文件写入，在传输线程池中执行
+        TRANSFER_EXECUTOR.execute(() -> {
+            resultFile = onDownload(okHttpClient , request);
+            success = resultFile != null;
+
+            if (callback != null) {
+                callback.onFinish(success , code , resultFile);
+            }
+        });
+    }
+
+    /**
+     * 执行下载，失败时按重试次数续传
+     *
+     * @param okHttpClient 请求工具
+     * @param request      原始请求
+     *
+     * @return 下载完成的文件，失败返回null
+     */
+    private File onDownload(OkHttpClient okHttpClient , Request request) {
+        code = 0;
+
+        if (targetFile == null) {
+            Log.d(logTag , "no target file");
+            return null;
+        }
+
+        File parent = targetFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            Log.d(logTag , "make dirs failed " + parent);
+            return null;
+        }
+
+        File partFile = new File(targetFile.getPath() + PART_SUFFIX);
+        File metaFile = new File(targetFile.getPath() + META_SUFFIX);
+
+        if (maxSegments > 1) {
+            switch (onSegmentedDownload(okHttpClient , request , partFile , metaFile)) {
+                case SEGMENT_DONE:
+                    return onComplete(partFile , metaFile);
+                case SEGMENT_FAILED:
+                    return null;
+                default:
+                    Log.v(logTag , "segmented download unsupported, use single stream");
+            }
+        }
+
+        RetryPolicy policy = downloadRetryPolicy;
+
+        int tryCount = 0;
+
+        while (!canceled) {
+            tryCount++;
+            Log.v(logTag , "download try:" + tryCount);
+
+            boolean retryable;
+
+            try {
+                if (onDownloadOnce(okHttpClient , request , partFile , metaFile)) {
+                    return onComplete(partFile , metaFile);
+                }
+
+                retryable = policy != null && policy.isRetryableCode(code);
+            } catch (IOException e) {
+                Log.e(logTag , "download try:" + tryCount + "," + e.toString());
+                code = errorCodeOf(e);
+                retryable = true;
+            }
+
+            if (!retryable || !awaitRetry(policy , tryCount)) {
+                break;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 执行一次下载请求
+     *
+     * @param okHttpClient 请求工具
+     * @param request      原始请求
+     * @param partFile     下载中的临时文件
+     * @param metaFile     续传信息文件
+     *
+     * @return true表示下载完成，false表示服务器响应失败
+     *
+     * @throws IOException 网络或文件异常，以及需要重新尝试的续传失效和数据不完整
+     */
+    private boolean onDownloadOnce(OkHttpClient okHttpClient , Request request , File partFile ,
+                                   File metaFile) throws IOException {
+        DownloadMeta meta = DownloadMeta.load(metaFile);
+
+        // 计算续传位置，以临时文件和记录中较小的值为准
+        long offset = 0;
+        if (meta.validator != null && partFile.exists()) {
+            offset = Math.min(partFile.length() , meta.offset);
+        }
+
+        Request.Builder builder = request.newBuilder();
+
+        if (offset > 0) {
+            Log.v(logTag , "resume from " + offset);
+            builder.header("Range" , "bytes=" + offset + "-");
+            builder.header("If-Range" , meta.validator);
+        }
+
+        // 进度包含已下载的部分，收到响应确定写入位置后再设置
+        final long[] base = {0};
+
+        if (onNetworkProgressListener != null) {
+            builder.tag(OnNetworkProgressListener.class , (current , total , done) ->
+                    onNetworkProgressListener.onRefreshProgress(base[0] + current , total < 0 ?
+                            total : base[0] + total , done));
+        }
+
+        call = okHttpClient.newCall(builder.build());
+        applyDeadline(call);
+
+        try (Response response = call.execute()) {
+            code = response.code();
+            Log.v(logTag , "response code:" + code + "  message:" + response.message());
+
+            if (code == 416 && offset > 0) {
+                if (meta.length == offset) {
+                    // 已经下载完毕
+                    Log.v(logTag , "download has finished");
+                    return true;
+                }
+
+                // 续传信息失效，作为失败的尝试重新下载
+                meta.reset(metaFile);
+                throw new IOException("range not satisfiable, reset");
+            }
+
+            ResponseBody body = response.body();
+
+            if (!response.isSuccessful() || body == null) {
+                Log.v(logTag , "request failed");
+                return false;
+            }
+
+            if (code != 206) {
+                if (offset > 0) {
+                    // 服务器忽略了续传请求，重新完整下载
+                    Log.v(logTag , "server ignored range, download from 0");
+                    offset = 0;
+                }
+            } else if (contentRangeStart(response) != offset) {
+                // 响应的数据不是从请求位置开始，丢弃已下载的部分，作为失败的尝试重新完整下载
+                meta.reset(metaFile);
+                truncate(partFile);
+                throw new IOException("content range " + response.header("Content-Range") +
+                        " mismatch offset " + offset);
+            }
+
+            base[0] = offset;
+
+            if (offset == 0) {
+                meta.validator = validator(response);
+                meta.length = code == 206 ? contentRangeTotal(response) : body.contentLength();
+                meta.offset = 0;
+                meta.segments.clear();
+                meta.checksum = headerChecksum(response);
+            } else if (meta.length < 0) {
+                meta.length = contentRangeTotal(response);
+            }
+
+            meta.save(metaFile);
+
+            onWrite(body.source() , partFile , offset , meta , metaFile);
+
+            if (meta.length >= 0 && partFile.length() != meta.length) {
+                // 连接提前结束
+                throw new IOException("incomplete download " + partFile.length() + "/" + meta
+                        .length);
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * 执行分段下载
+     *
+     * @param okHttpClient 请求工具
+     * @param request      原始请求
+     * @param partFile     下载中的临时文件
+     * @param metaFile     续传信息文件
+     *
+     * @return 下载结果，{@link #SEGMENT_DONE}，{@link #SEGMENT_FAILED}或{@link #SEGMENT_UNSUPPORTED}
+     */
+    private int onSegmentedDownload(final OkHttpClient okHttpClient , final Request request ,
+                                    File partFile , final File metaFile) {
+        DownloadMeta meta = DownloadMeta.load(metaFile);
+
+        if (meta.segments.isEmpty() && meta.offset > 0 && partFile.exists()) {
+            // 存在单线程下载的进度，继续单线程续传
+            return SEGMENT_UNSUPPORTED;
+        }
+
+        // 使用单字节的Range请求探测服务器能力和文件长度
+        long length;
+        String validator;
+        String expected;
+
+        call = okHttpClient.newCall(request.newBuilder().header("Range" , "bytes=0-0").build());
+        applyDeadline(call);
+
+        try (Response response = call.execute()) {
+            code = response.code();
+
+            if (code != 206 || "none".equalsIgnoreCase(response.header("Accept-Ranges"))) {
+                return SEGMENT_UNSUPPORTED;
+            }
+
+            length = contentRangeTotal(response);
+            validator = validator(response);
+            expected = headerChecksum(response);
+        } catch (IOException e) {
+            Log.e(logTag , "probe error" , e);
+            return canceled ? SEGMENT_FAILED : SEGMENT_UNSUPPORTED;
+        }
+
+        int count = (int) Math.min(maxSegments , length / MIN_SEGMENT_SIZE);
+
+        if (count < 2 || validator == null) {
+            return SEGMENT_UNSUPPORTED;
+        }
+
+        final DownloadMeta segmentMeta;
+
+        if (validator.equals(meta.validator) && meta.length == length && !meta.segments
+                .isEmpty() && partFile.length() == length) {
+            Log.v(logTag , "resume " + meta.segments.size() + " segments");
+            segmentMeta = meta;
+        } else {
+            segmentMeta = new DownloadMeta();
+            segmentMeta.validator = validator;
+            segmentMeta.length = length;
+            segmentMeta.checksum = expected;
+
+            long size = length / count;
+            for (int i = 0 ; i < count ; i++) {
+                long start = i * size;
+                long end = i == count - 1 ? length - 1 : start + size - 1;
+                segmentMeta.segments.add(new Segment(start , end , 0));
+            }
+
+            Log.v(logTag , "new " + count + " segments, length:" + length);
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(partFile , "rw")) {
+            // 预分配文件
+            if (file.length() != length) {
+                file.setLength(length);
+            }
+
+            segmentMeta.save(metaFile);
+
+            final FileChannel channel = file.getChannel();
+
+            long downloaded = 0;
+            for (Segment segment : segmentMeta.segments) {
+                downloaded += segment.written;
+            }
+
+            final SegmentProgress progress = new SegmentProgress(downloaded , length);
+
+            List<Future<Integer>> futures = new ArrayList<>();
+
+            for (final Segment segment : segmentMeta.segments) {
+                if (!segment.isDone()) {
+                    futures.add(TRANSFER_EXECUTOR.submit(() ->
+                            onDownloadSegment(okHttpClient , request , channel , segment ,
+                                    segmentMeta , metaFile , progress)));
+                }
+            }
+
+            int result = SEGMENT_DONE;
+
+            for (Future<Integer> future : futures) {
+                int segmentResult;
+
+                try {
+                    segmentResult = future.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Log.e(logTag , "segment error" , e);
+                    segmentResult = SEGMENT_FAILED;
+                }
+
+                if (segmentResult != SEGMENT_DONE && result != SEGMENT_UNSUPPORTED) {
+                    result = segmentResult;
+                    // 其余分段没有必要继续
+                    progress.aborted = true;
+                    cancelSegments();
+                }
+            }
+
+            if (result == SEGMENT_UNSUPPORTED) {
+                // 服务器文件已改变，重新完整下载
+                segmentMeta.reset(metaFile);
+                return SEGMENT_UNSUPPORTED;
+            }
+
+            saveSegments(channel , segmentMeta , metaFile , durability == DurabilityPolicy
+                    .PERIODIC || result == SEGMENT_DONE && durability != DurabilityPolicy.NONE);
+
+            code = result == SEGMENT_DONE ? 206 : 0;
+
+            if (result == SEGMENT_DONE) {
+                if (onNetworkProgressListener != null) {
+                    onNetworkProgressListener.onRefreshProgress(length , length , true);
+                }
+            }
+
+            return result;
+        } catch (IOException e) {
+            Log.e(logTag , "segmented download error" , e);
+            code = 0;
+            return SEGMENT_FAILED;
+        }
+    }
+
+    /**
+     * 下载一个分段，失败时按重试策略续传该分段
+     *
+     * @param okHttpClient 请求工具
+     * @param request      原始请求
+     * @param channel      临时文件通道
+     * @param segment      分段
+     * @param meta         续传信息
+     * @param metaFile     续传信息文件
+     * @param progress     合并的下载进度
+     *
+     * @return 下载结果，{@link #SEGMENT_DONE}，{@link #SEGMENT_FAILED}或{@link #SEGMENT_UNSUPPORTED}
+     */
+    private int onDownloadSegment(OkHttpClient okHttpClient , Request request , FileChannel
+            channel , Segment segment , DownloadMeta meta , File metaFile , SegmentProgress
+                                          progress) {
+        byte[] buffer = new byte[(int) READ_SIZE];
+
+        RetryPolicy policy = downloadRetryPolicy;
+
+        int tryCount = 0;
+
+        while (!canceled && !progress.aborted) {
+            tryCount++;
+
+            boolean retryable;
+
+            long position = segment.start + segment.written;
+
+            Call segmentCall = okHttpClient.newCall(request.newBuilder().header("Range" ,
+                    "bytes=" + position + "-" + segment.end).header("If-Range" , meta
+                    .validator).build());
+            applyDeadline(segmentCall);
+
+            synchronized (segmentCalls) {
+                segmentCalls.add(segmentCall);
+            }
+
+            try (Response response = RequestScheduler.execute(okHttpClient , segmentCall ,
+                    priority)) {
+                if (response.code() == 200) {
+                    // 服务器忽略了Range或文件已改变
+                    Log.d(logTag , "segment " + segment.start + " range ignored");
+                    return SEGMENT_UNSUPPORTED;
+                }
+
+                ResponseBody body = response.body();
+
+                if (response.code() == 206 && body != null && contentRangeStart(response) ==
+                        position) {
+                    BufferedSource source = body.source();
+                    long remaining = segment.end - position + 1;
+
+                    while (remaining > 0) {
+                        int read = source.read(buffer , 0 , (int) Math.min(buffer.length ,
+                                remaining));
+
+                        if (read == -1) {
+                            break;
+                        }
+
+                        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer , 0 , read);
+                        while (byteBuffer.hasRemaining()) {
+                            position += channel.write(byteBuffer , position);
+                        }
+
+                        segment.written += read;
+                        remaining -= read;
+
+                        if (progress.add(read)) {
+                            saveSegments(channel , meta , metaFile , durability ==
+                                    DurabilityPolicy.PERIODIC);
+                        }
+
+                        if (canceled || progress.aborted) {
+                            throw new IOException("Canceled");
+                        }
+                    }
+
+                    if (segment.isDone()) {
+                        return SEGMENT_DONE;
+                    }
+
+                    // 连接提前结束
+                    retryable = true;
+                } else {
+                    Log.d(logTag , "segment " + segment.start + " response code:" + response
+                            .code());
+                    retryable = policy != null && policy.isRetryableCode(response.code());
+                }
+            } catch (IOException e) {
+                Log.e(logTag , "segment " + segment.start + " try:" + tryCount + "," + e
+                        .toString());
+                retryable = true;
+            } finally {
+                synchronized (segmentCalls) {
+                    segmentCalls.remove(segmentCall);
+                }
+            }
+
+            if (!retryable || progress.aborted || !awaitRetry(policy , tryCount)) {
+                break;
+            }
+        }
+
+        return SEGMENT_FAILED;
+    }
+
+    /**
+     * 保存分段下载的续传信息，
+     * 先记录各分段的进度再同步文件，其它分段在同步后写入的数据不会被记录，
+     * 保证续传信息不超过已落盘的数据
+     *
+     * @param channel  临时文件通道
+     * @param meta     续传信息
+     * @param metaFile 续传信息文件
+     * @param force    是否同步文件
+     *
+     * @throws IOException 文件异常
+     */
+    private static void saveSegments(FileChannel channel , DownloadMeta meta , File metaFile ,
+                                     boolean force) throws IOException {
+        synchronized (meta) {
+            DownloadMeta snapshot = meta.copy();
+
+            if (force) {
+                channel.force(false);
+            }
+
+            snapshot.save(metaFile);
+        }
+    }
+
+    /**
+     * 取消所有正在执行的分段请求
+     */
+    private void cancelSegments() {
+        synchronized (segmentCalls) {
+            for (Call segmentCall : segmentCalls) {
+                RequestScheduler.cancel(segmentCall);
+            }
+        }
+    }
+
+    /**
+     * 将响应数据写入临时文件
+     *
+     * @param source   响应数据源
+     * @param partFile 临时文件
+     * @param offset   写入的起始位置
+     * @param meta     续传信息
+     * @param metaFile 续传信息文件
+     *
+     * @throws IOException 网络或文件异常
+     */
+    private void onWrite(BufferedSource source , File partFile , long offset , DownloadMeta
+            meta , File metaFile) throws IOException {
+        if (offset > 0 && partFile.length() > offset) {
+            // 丢弃未记录的数据
+            try (RandomAccessFile file = new RandomAccessFile(partFile , "rw")) {
+                file.setLength(offset);
+            }
+        }
+
+        FileOutputStream outputStream = new FileOutputStream(partFile , offset > 0);
+        BufferedSink sink = Okio.buffer(Okio.sink(outputStream));
+
+        long written = offset;
+        long saved = offset;
+        long synced = offset;
+
+        try {
+            long read;
+            while ((read = source.read(sink.buffer() , READ_SIZE)) != -1) {
+                sink.emitCompleteSegments();
+                written += read;
+
+                if (canceled) {
+                    throw new IOException("Canceled");
+                }
+
+                if (durability == DurabilityPolicy.PERIODIC && written - synced >=
+                        syncInterval) {
+                    sink.flush();
+                    outputStream.getFD().sync();
+                    synced = written;
+                }
+
+                if (written - saved >= META_SAVE_INTERVAL) {
+                    sink.flush();
+                    // 周期同步时续传位置只记录已落盘的数据
+                    meta.offset = durability == DurabilityPolicy.PERIODIC ? synced : written;
+                    meta.save(metaFile);
+                    saved = written;
+                }
+            }
+
+            if (durability != DurabilityPolicy.NONE) {
+                sink.flush();
+                outputStream.getFD().sync();
+                synced = written;
+            }
+        } finally {
+            try {
+                sink.close();
+            } finally {
+                // 周期同步时异常中止的续传位置同样只记录已落盘的数据
+                meta.offset = durability == DurabilityPolicy.PERIODIC ? synced : partFile
+                        .length();
+                meta.save(metaFile);
+            }
+        }
+    }
+
+    /**
+     * 清空临时文件
+     *
+     * @param partFile 临时文件
+     *
+     * @throws IOException 文件异常
+     */
+    private static void truncate(File partFile) throws IOException {
+        if (!partFile.exists()) {
+            return;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(partFile , "rw")) {
+            file.setLength(0);
+        }
+    }
+
+    /**
+     * 下载完成，将临时文件移动到目标位置
+     *
+     * @param partFile 临时文件
+     * @param metaFile 续传信息文件
+     *
+     * @return 目标文件，失败返回null
+     */
+    private File onComplete(File partFile , File metaFile) {
+        if (checksum != null) {
+            // 续传时响应头中的摘要来自续传信息
+            checksum.onHeader(DownloadMeta.load(metaFile).checksum);
+
+            try {
+                checksum.verify(partFile);
+                Log.v(logTag , "checksum finish " + checksum);
+            } catch (ChecksumException e) {
+                // 已下载的数据不可用，下次重新完整下载
+                Log.e(logTag , "checksum error" , e);
+                DownloadMeta.discard(partFile , metaFile);
+                return null;
+            } catch (IOException e) {
+                Log.e(logTag , "checksum read error" , e);
+                return null;
+            }
+        }
+
+        try {
+            // 直接覆盖，避免出现目标文件不存在的间隙
+            AtomicFileWriter.replace(partFile , targetFile , durability != DurabilityPolicy
+                    .NONE);
+        } catch (IOException e) {
+            Log.e(logTag , "move part file error" , e);
+            return null;
+        }
+
+        if (!metaFile.delete()) {
+            Log.d(logTag , "delete meta failed " + metaFile);
+        }
+
+        Log.v(logTag , "download success " + targetFile);
+
+        return targetFile;
+    }
+
+    /**
+     * 读取响应头中的期望摘要，
+     * 206响应中的Content-MD5只对应本次的范围，不是完整文件的摘要
+     *
+     * @param response 响应
+     *
+     * @return 期望的摘要，未启用校验或不存在时返回null
+     */
+    private String headerChecksum(Response response) {
+        Checksum checksum = this.checksum;
+
+        if (checksum == null || checksum.getHeader() == null || response.code() == 206 &&
+                "Content-MD5".equalsIgnoreCase(checksum.getHeader())) {
+            return null;
+        }
+
+        // 使用独立的对象，不影响请求参数传入的期望值
+        Checksum header = new Checksum(checksum.getAlgorithm() , null , checksum.getHeader());
+        header.onResponse(response);
+
+        return header.getExpected();
+    }
+
+    /**
+     * 获取可用于If-Range的验证信息，弱ETag不能用于续传
+     *
+     * @param response 响应
+     *
+     * @return ETag或Last-Modified，不存在时返回null
+     */
+    private static String validator(Response response) {
+        String eTag = response.header("ETag");
+
+        if (eTag != null && !eTag.startsWith("W/")) {
+            return eTag;
+        }
+
+        return response.header("Last-Modified");
+    }
+
+    /**
+     * 解析Content-Range的起始位置
+     *
+     * @param response 响应
+     *
+     * @return 起始位置，解析失败返回-1
+     */
+    private static long contentRangeStart(Response response) {
+        String range = response.header("Content-Range");
+
+        if (range == null || !range.startsWith("bytes ")) {
+            return -1;
+        }
+
+        int end = range.indexOf('-');
+
+        if (end < 0) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(range.substring(6 , end).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 解析Content-Range的完整长度
+     *
+     * @param response 响应
+     *
+     * @return 完整长度，未知时返回-1
+     */
+    private static long contentRangeTotal(Response response) {
+        String range = response.header("Content-Range");
+
+        if (range == null) {
+            return -1;
+        }
+
+        int index = range.lastIndexOf('/');
+
+        if (index < 0) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(range.substring(index + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    protected File onAsyncSuccess(ResponseBody body) throws IOException {
+        // 下载过程由本类自行处理，不会被调用
+        return null;
+    }
+
+    @Override
+    public File response() {
+        return resultFile;
+    }
+
+    @Override
+    public void close() {
+        // 响应在下载过程中已关闭
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        cancelSegments();
+        super.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    /**
+     * 续传信息
+     */
+    private static final class DownloadMeta {
+
+        /**
+         * ETag或Last-Modified
+         */
+        private String validator = null;
+
+        /**
+         * 文件完整长度，未知时为-1
+         */
+        private long length = -1;
+
+        /**
+         * 已写入临时文件的字节数，仅单线程下载使用
+         */
+        private long offset = 0;
+
+        /**
+         * 响应头中的期望摘要
+         */
+        private String checksum = null;
+
+        /**
+         * 分段信息，仅分段下载使用
+         */
+        private final List<Segment> segments = new ArrayList<>();
+
+        /**
+         * 读取续传信息
+         *
+         * @param file 续传信息文件
+         *
+         * @return 续传信息，文件不存在或损坏时返回空信息
+         */
+        static DownloadMeta load(File file) {
+            DownloadMeta meta = new DownloadMeta();
+
+            if (!file.exists()) {
+                return meta;
+            }
+
+            Properties properties = new Properties();
+
+            try (InputStream inputStream = new FileInputStream(file)) {
+                properties.load(inputStream);
+
+                meta.validator = properties.getProperty("validator");
+                meta.length = Long.parseLong(properties.getProperty("length" , "-1"));
+                meta.offset = Long.parseLong(properties.getProperty("offset" , "0"));
+                meta.checksum = properties.getProperty("checksum");
+
+                int count = Integer.parseInt(properties.getProperty("segments" , "0"));
+                for (int i = 0 ; i < count ; i++) {
+                    String[] values = properties.getProperty("segment." + i).split(",");
+                    meta.segments.add(new Segment(Long.parseLong(values[0]) , Long.parseLong
+                            (values[1]) , Long.parseLong(values[2])));
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e("DownloadMeta" , "load error" , e);
+                return new DownloadMeta();
+            }
+
+            return meta;
+        }
+
+        /**
+         * 复制续传信息，分段的已写入字节数为复制时的值
+         *
+         * @return 续传信息副本
+         */
+        DownloadMeta copy() {
+            DownloadMeta meta = new DownloadMeta();
+            meta.validator = validator;
+            meta.length = length;
+            meta.offset = offset;
+            meta.checksum = checksum;
+
+            for (Segment segment : segments) {
+                meta.segments.add(new Segment(segment.start , segment.end , segment.written));
+            }
+
+            return meta;
+        }
+
+        /**
+         * 保存续传信息
+         *
+         * @param file 续传信息文件
+         *
+         * @throws IOException 文件异常
+         */
+        void save(File file) throws IOException {
+            Properties properties = new Properties();
+
+            if (validator != null) {
+                properties.setProperty("validator" , validator);
+            }
+            properties.setProperty("length" , String.valueOf(length));
+            properties.setProperty("offset" , String.valueOf(offset));
+            if (checksum != null) {
+                properties.setProperty("checksum" , checksum);
+            }
+            properties.setProperty("segments" , String.valueOf(segments.size()));
+
+            for (int i = 0 ; i < segments.size() ; i++) {
+                Segment segment = segments.get(i);
+                properties.setProperty("segment." + i , segment.start + "," + segment.end + ","
+                        + segment.written);
+            }
+
+            try (OutputStream outputStream = new FileOutputStream(file)) {
+                properties.store(outputStream , null);
+            }
+        }
+
+        /**
+         * 清除续传信息
+         *
+         * @param file 续传信息文件
+         */
+        void reset(File file) {
+            validator = null;
+            length = -1;
+            offset = 0;
+            checksum = null;
+            segments.clear();
+
+            if (file.exists() && !file.delete()) {
+                Log.d("DownloadMeta" , "delete failed " + file);
+            }
+        }
+
+        /**
+         * 丢弃已下载的数据和续传信息
+         *
+         * @param partFile 下载中的临时文件
+         * @param metaFile 续传信息文件
+         */
+        static void discard(File partFile , File metaFile) {
+            if (partFile.exists() && !partFile.delete()) {
+                Log.d("DownloadMeta" , "delete failed " + partFile);
+            }
+
+            new DownloadMeta().reset(metaFile);
+        }
+    }
+
+    /**
+     * 下载分段
+     */
+    private static final class Segment {
+
+        /**
+         * 起始位置
+         */
+        private final long start;
+
+        /**
+         * 结束位置，包含该字节
+         */
+        private final long end;
+
+        /**
+         * 已写入的字节数，仅由下载该分段的线程修改
+         */
+        private volatile long written;
+
+        /**
+         * 构造函数
+         *
+         * @param start   起始位置
+         * @param end     结束位置，包含该字节
+         * @param written 已写入的字节数
+         */
+        Segment(long start , long end , long written) {
+            this.start = start;
+            this.end = end;
+            this.written = written;
+        }
+
+        /**
+         * 判断分段是否下载完成
+         *
+         * @return true表示已完成
+         */
+        boolean isDone() {
+            return written >= end - start + 1;
+        }
+    }
+
+    /**
+     * 合并所有分段的下载进度
+     */
+    private final class SegmentProgress {
+
+        /**
+         * 已下载的总字节数
+         */
+        private final AtomicLong downloaded;
+
+        /**
+         * 上次保存续传信息时的字节数
+         */
+        private final AtomicLong saved;
+
+        /**
+         * 保存续传信息的字节间隔，周期同步时与同步间隔一致
+         */
+        private final long saveInterval;
+
+        /**
+         * 文件总长度
+         */
+        private final long length;
+
+        /**
+         * 中止标记，某个分段失败后其余分段停止下载
+         */
+        private volatile boolean aborted = false;
+
+        /**
+         * 构造函数
+         *
+         * @param downloaded 已下载的字节数
+         * @param length     文件总长度
+         */
+        SegmentProgress(long downloaded , long length) {
+            this.downloaded = new AtomicLong(downloaded);
+            this.saved = new AtomicLong(downloaded);
+            this.length = length;
+            this.saveInterval = durability == DurabilityPolicy.PERIODIC ? syncInterval :
+                    META_SAVE_INTERVAL;
+        }
+
+        /**
+         * 增加下载字节数并回调进度
+         *
+         * @param count 新下载的字节数
+         *
+         * @return true表示需要保存续传信息，周期同步时同时需要同步文件
+         */
+        boolean add(long count) {
+            long current = downloaded.addAndGet(count);
+
+            if (onNetworkProgressListener != null) {
+                onNetworkProgressListener.onRefreshProgress(current , length , false);
+            }
+
+            long last = saved.get();
+
+            return current - last >= saveInterval && saved.compareAndSet(last , current);
+        }
+    }
+}
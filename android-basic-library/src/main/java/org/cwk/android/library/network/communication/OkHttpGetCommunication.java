@@ -2,11 +2,20 @@ package org.cwk.android.library.network.communication;
 
 import android.util.Log;
 
+import org.cwk.android.library.network.factory.CachePolicy;
+import org.cwk.android.library.network.util.NetworkCachePolicyHandler;
+import org.cwk.android.library.network.util.NetworkCallback;
 import org.cwk.android.library.network.util.RequestBodyBuilder;
+import org.cwk.android.library.network.util.RequestCoalescer;
+import org.cwk.android.library.network.util.RequestHedger;
+import org.cwk.android.library.work.Cancelable;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import okhttp3.CacheControl;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.ResponseBody;
 
@@ -17,7 +26,28 @@ import okhttp3.ResponseBody;
  * @version 2.0 2016/3/7
  * @since 1.0
  */
-public class OkHttpGetCommunication extends OkHttpCommunication<Map<String, String>, String> {
+public class OkHttpGetCommunication extends OkHttpCommunication<Map<String, String>, String>
+        implements NetworkCachePolicyHandler {
+
+    /**
+     * 响应缓存策略
+     */
+    private int cachePolicy = CachePolicy.DEFAULT;
+
+    /**
+     * 是否合并同时发起的相同请求
+     */
+    private boolean coalesce = false;
+
+    /**
+     * 对冲请求的等待毫秒数，小于0表示不对冲，0表示使用近期响应时间的95分位
+     */
+    private long hedgeDelay = -1;
+
+    /**
+     * 合并或对冲请求的取消句柄
+     */
+    private Cancelable asyncHandle = null;
 
     /**
      * 构造函数
@@ -39,6 +69,102 @@ public class OkHttpGetCommunication extends OkHttpCommunication<Map<String, Stri
         Log.v(logTag , "final url:" + finalUrl);
 
         builder.url(finalUrl);
+
+        switch (cachePolicy) {
+            case CachePolicy.NETWORK_ONLY:
+                builder.cacheControl(CacheControl.FORCE_NETWORK);
+                break;
+            case CachePolicy.CACHE_FIRST:
+                // 接受任意过期时间的缓存
+                builder.cacheControl(new CacheControl.Builder().maxStale(Integer.MAX_VALUE ,
+                        TimeUnit.SECONDS).build());
+                break;
+            case CachePolicy.REVALIDATE:
+                // 缓存立即过期，存在验证信息时发起条件请求
+                builder.cacheControl(new CacheControl.Builder().maxAge(0 , TimeUnit.SECONDS)
+                        .build());
+                break;
+        }
+    }
+
+    @Override
+    public void setCachePolicy(int cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        Log.v(logTag , "cachePolicy:" + cachePolicy);
+    }
+
+    /**
+     * 设置是否合并同时发起的相同请求，仅对异步请求有效，
+     * 合并后多个请求共享一次网络请求，各自获得独立的响应字符串，
+     * 超时，重试策略或截止时间不同的任务不会合并
+     *
+     * @param coalesce true表示合并，默认为false
+     */
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+        Log.v(logTag , "coalesce:" + coalesce);
+    }
+
+    /**
+     * 设置对冲请求，仅对异步请求有效，同时设置合并请求时不再对冲，
+     * 等待时间内没有收到响应时发出相同的请求，使用先收到的响应并取消另一个，
+     * 对冲请求总量受{@link RequestHedger#setBudgetPercent(int)}限制
+     *
+     * @param delay 等待毫秒数，小于0表示不对冲(默认)，0表示使用该主机近期响应时间的95分位
+     */
+    public void setHedgeDelay(long delay) {
+        this.hedgeDelay = delay;
+        Log.v(logTag , "hedgeDelay:" + delay);
+    }
+
+    @Override
+    protected void onEnqueue(OkHttpClient okHttpClient , Request request , final
+    NetworkCallback<String> callback) {
+        if (coalesce) {
+            asyncHandle = RequestCoalescer.enqueue(okHttpClient , request , priority ,
+                    (result , code , response) -> {
+                        this.code = code;
+                        this.success = result;
+
+                        Log.v(logTag , "coalesced response code:" + code);
+
+                        if (callback != null) {
+                            callback.onFinish(result , code , response);
+                        }
+                    });
+            return;
+        }
+
+        if (hedgeDelay > -1) {
+            asyncHandle = RequestHedger.enqueue(okHttpClient , request , priority , hedgeDelay ,
+                    (result , code , response) -> {
+                        this.code = code;
+                        this.success = result;
+
+                        Log.v(logTag , "hedged response code:" + code);
+
+                        if (callback != null) {
+                            callback.onFinish(result , code , response);
+                        }
+                    });
+            return;
+        }
+
+        super.onEnqueue(okHttpClient , request , callback);
+    }
+
+    @Override
+    public void cancel() {
+        if (asyncHandle != null) {
+            asyncHandle.cancel();
+        }
+
+        super.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return asyncHandle != null ? asyncHandle.isCanceled() : super.isCanceled();
     }
 
     @Override
@@ -2,6 +2,7 @@ package org.cwk.android.library.network.communication;
 
 import android.util.Log;
 
+import org.cwk.android.library.network.util.NetworkCompressionHandler;
 import org.cwk.android.library.network.util.RequestBodyBuilder;
 
 import java.io.IOException;
@@ -15,13 +16,15 @@ import okhttp3.ResponseBody;
  * 基于OkHttp实现的Post请求通讯组件类，
  * 默认表单提交类，不可扩展，
  * 数据提交使用application/x-www-form-urlencoded表单，
- * 默认UTF-8字符编码提交
+ * 默认UTF-8字符编码提交，
+ * 可以启用请求体gzip压缩
  *
  * @author 超悟空
  * @version 2.0 2016/3/7
  * @since 1.0
  */
-public class OkHttpPostCommunication extends OkHttpCommunication<Map<String, String>, String> {
+public class OkHttpPostCommunication extends OkHttpCommunication<Map<String, String>, String>
+        implements NetworkCompressionHandler {
 
     /**
      * 构造函数
@@ -32,6 +35,12 @@ public class OkHttpPostCommunication extends OkHttpCommunication<Map<String, Str
         super(tag);
     }
 
+    @Override
+    public void setCompressThreshold(long threshold) {
+        this.compressThreshold = threshold;
+        Log.v(logTag , "compressThreshold:" + threshold);
+    }
+
     @Override
     protected void onCreateRequest(Request.Builder builder , Map<String, String> sendData) {
 
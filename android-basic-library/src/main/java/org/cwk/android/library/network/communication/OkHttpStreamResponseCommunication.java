@@ -0,0 +1,73 @@
+package org.cwk.android.library.network.communication;
+
+import android.util.Log;
+
+import org.cwk.android.library.network.util.RequestBodyBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+
+/**
+ * 基于OkHttp实现的流式响应通讯组件类，
+ * 支持get和post请求，响应数据以{@link Reader}形式返回，
+ * 不会将响应体读取为完整的字符串，
+ * 返回的{@link Reader}仅在数据模型解析期间有效，解析结束后随通讯组件一起关闭
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class OkHttpStreamResponseCommunication extends OkHttpCommunication<Map<String, String>,
+        Reader> {
+
+    /**
+     * 是否使用post请求
+     */
+    private final boolean post;
+
+    /**
+     * 构造函数
+     *
+     * @param tag  标签，用于跟踪日志
+     * @param post true表示使用post请求，false表示使用get请求
+     */
+    public OkHttpStreamResponseCommunication(String tag , boolean post) {
+        super(tag);
+        this.post = post;
+    }
+
+    @Override
+    protected void onCreateRequest(Request.Builder builder , Map<String, String> sendData) {
+        if (post) {
+            // 拼接参数
+            RequestBody body = RequestBodyBuilder.onBuildPostForm(logTag , sendData , encoded);
+
+            builder.url(url).post(body);
+        } else {
+            // 拼接参数
+            String params = RequestBodyBuilder.onBuildParameter(logTag , sendData , encoded);
+
+            // 最终请求地址
+            String finalUrl = params.length() == 0 ? url : url + "?" + params;
+            Log.v(logTag , "final url:" + finalUrl);
+
+            builder.url(finalUrl);
+        }
+    }
+
+    @Override
+    protected Reader onAsyncSuccess(ResponseBody body) throws IOException {
+        // 回调结束后响应体才会被关闭
+        return body.charStream();
+    }
+
+    @Override
+    public Reader response() {
+        return response == null ? null : response.charStream();
+    }
+}
@@ -0,0 +1,33 @@
+package org.cwk.android.library.network.factory;
+
+/**
+ * http get请求的响应缓存策略枚举，
+ * 仅在{@link org.cwk.android.library.network.util.GlobalOkHttpClient#installCache}安装了响应缓存后有效
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface CachePolicy {
+
+    /**
+     * 遵循服务器返回的http缓存头
+     */
+    int DEFAULT = 0;
+
+    /**
+     * 总是从网络获取，不读取缓存，但响应仍会写入缓存
+     */
+    int NETWORK_ONLY = 1;
+
+    /**
+     * 优先使用缓存，无论缓存是否过期，没有缓存时才从网络获取
+     */
+    int CACHE_FIRST = 2;
+
+    /**
+     * 存在缓存时使用If-None-Match/If-Modified-Since向服务器验证，
+     * 未修改时使用缓存
+     */
+    int REVALIDATE = 3;
+}
@@ -0,0 +1,31 @@
+package org.cwk.android.library.network.factory;
+
+/**
+ * 下载数据校验摘要算法枚举
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface ChecksumAlgorithm {
+
+    /**
+     * 不计算摘要，默认值
+     */
+    int NONE = 0;
+
+    /**
+     * MD5，16字节
+     */
+    int MD5 = 1;
+
+    /**
+     * SHA-1，20字节
+     */
+    int SHA1 = 2;
+
+    /**
+     * SHA-256，32字节
+     */
+    int SHA256 = 3;
+}
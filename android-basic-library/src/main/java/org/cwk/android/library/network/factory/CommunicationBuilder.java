@@ -2,30 +2,45 @@ package org.cwk.android.library.network.factory;
 
 import org.cwk.android.library.annotation.Delete;
 import org.cwk.android.library.annotation.Download;
+import org.cwk.android.library.annotation.DownloadFile;
 import org.cwk.android.library.annotation.Get;
 import org.cwk.android.library.annotation.Post;
 import org.cwk.android.library.annotation.Put;
 import org.cwk.android.library.annotation.Upload;
 import org.cwk.android.library.annotation.UploadStream;
 import org.cwk.android.library.network.communication.ICommunication;
+import org.cwk.android.library.network.communication.OkHttpChunkedUploadCommunication;
 import org.cwk.android.library.network.communication.OkHttpCommunication;
 import org.cwk.android.library.network.communication.OkHttpDeleteCommunication;
 import org.cwk.android.library.network.communication.OkHttpDownloadCommunication;
+import org.cwk.android.library.network.communication.OkHttpFileDownloadCommunication;
 import org.cwk.android.library.network.communication.OkHttpGetCommunication;
 import org.cwk.android.library.network.communication.OkHttpPostCommunication;
 import org.cwk.android.library.network.communication.OkHttpPutCommunication;
+import org.cwk.android.library.network.communication.OkHttpStreamResponseCommunication;
 import org.cwk.android.library.network.communication.OkHttpStreamUploadCommunication;
 import org.cwk.android.library.network.communication.OkHttpUploadCommunication;
+import org.cwk.android.library.network.util.GlobalOkHttpClient;
+import org.cwk.android.library.network.util.GzipRequestInterceptor;
+import org.cwk.android.library.network.util.NetworkCachePolicyHandler;
+import org.cwk.android.library.network.util.NetworkChecksumHandler;
+import org.cwk.android.library.network.util.NetworkCompressionHandler;
+import org.cwk.android.library.network.util.NetworkPriorityHandler;
 import org.cwk.android.library.network.util.NetworkRefreshProgressHandler;
+import org.cwk.android.library.network.util.NetworkRetryPolicyHandler;
 import org.cwk.android.library.network.util.NetworkTimeout;
 import org.cwk.android.library.network.util.OnNetworkProgressListener;
+import org.cwk.android.library.network.util.RequestScheduler;
+import org.cwk.android.library.network.util.RetryPolicy;
 
+import java.io.File;
 import java.lang.reflect.Method;
 
 import okhttp3.Headers;
 
 import static org.cwk.android.library.network.factory.NetworkType.DELETE;
 import static org.cwk.android.library.network.factory.NetworkType.DOWNLOAD;
+import static org.cwk.android.library.network.factory.NetworkType.DOWNLOAD_FILE;
 import static org.cwk.android.library.network.factory.NetworkType.GET;
 import static org.cwk.android.library.network.factory.NetworkType.POST;
 import static org.cwk.android.library.network.factory.NetworkType.PUT;
@@ -61,6 +76,11 @@ public class CommunicationBuilder {
      */
     protected int retryTimes = 0;
 
+    /**
+     * 请求重试策略
+     */
+    private RetryPolicy retryPolicy = null;
+
     /**
      * 请求超时时间
      */
@@ -76,6 +96,76 @@ public class CommunicationBuilder {
      */
     private int writeTimeout = -1;
 
+    /**
+     * 响应缓存策略，仅get请求有效
+     */
+    private int cachePolicy = CachePolicy.DEFAULT;
+
+    /**
+     * 是否合并同时发起的相同get请求
+     */
+    private boolean coalesce = false;
+
+    /**
+     * 对冲请求的等待毫秒数
+     */
+    private long hedgeDelay = -1;
+
+    /**
+     * 文件下载的最大并发分段数
+     */
+    private int downloadSegments = 1;
+
+    /**
+     * 文件下载的持久化策略
+     */
+    private int downloadDurability = DurabilityPolicy.NONE;
+
+    /**
+     * 文件下载周期同步的间隔字节数
+     */
+    private long downloadSyncInterval = 0;
+
+    /**
+     * 下载数据校验的摘要算法
+     */
+    private int checksumAlgorithm = ChecksumAlgorithm.NONE;
+
+    /**
+     * 携带期望摘要的响应头名称
+     */
+    private String checksumHeader = null;
+
+    /**
+     * 异步请求优先级
+     */
+    private int priority = RequestPriority.NORMAL;
+
+    /**
+     * 请求体gzip压缩阈值，小于0表示不压缩
+     */
+    private long compressThreshold = -1;
+
+    /**
+     * 分块上传的分块字节数，0表示不分块
+     */
+    private long uploadChunkSize = 0;
+
+    /**
+     * 分块上传的并发数
+     */
+    private int uploadParallelism = 1;
+
+    /**
+     * 分块上传的状态保存目录
+     */
+    private File uploadStateDirectory = null;
+
+    /**
+     * 是否以流的形式返回响应数据
+     */
+    private boolean streamResponse = false;
+
     /**
      * 请求编码
      */
@@ -86,6 +176,11 @@ public class CommunicationBuilder {
      */
     private final String logTag;
 
+    /**
+     * 任务名称，用于请求指标
+     */
+    private String workName = null;
+
     /**
      * 新建网络工具构造器
      *
@@ -105,6 +200,7 @@ public class CommunicationBuilder {
      */
     public CommunicationBuilder(String tag , Class<?> workClass) {
         this.logTag = tag;
+        this.workName = workClass.getName();
         this.networkType = onNetworkType(workClass);
     }
 
@@ -153,6 +249,9 @@ public class CommunicationBuilder {
         if (method.isAnnotationPresent(UploadStream.class)) {
             return NetworkType.UPLOAD_STREAM;
         }
+        if (method.isAnnotationPresent(DownloadFile.class)) {
+            return NetworkType.DOWNLOAD_FILE;
+        }
 
         return NetworkType.GET;
     }
@@ -218,6 +317,166 @@ public class CommunicationBuilder {
         return this;
     }
 
+    /**
+     * 设置请求重试策略，设置后{@link #retryTimes(int)}不再生效
+     *
+     * @param retryPolicy 重试策略，包含重试次数，退避间隔，可重试的响应码等
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder retryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * 设置异步请求优先级，
+     * 由{@link RequestScheduler}按优先级顺序交给请求工具执行
+     *
+     * @param priority 优先级，取值为{@link RequestPriority}，默认为{@link RequestPriority#NORMAL}
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder priority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 设置响应缓存策略，仅在get请求中有效，
+     * 需要先通过{@link GlobalOkHttpClient#installCache(File , long)}安装响应缓存
+     *
+     * @param cachePolicy 缓存策略，取值为{@link CachePolicy}，默认为{@link CachePolicy#DEFAULT}
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder cachePolicy(int cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        return this;
+    }
+
+    /**
+     * 设置是否合并同时发起的相同请求，仅在异步get请求中有效，
+     * 请求方法，最终地址和请求头均相同的请求会共享一次网络请求，
+     * 每个任务依然获得独立解析的数据模型，
+     * 取消某个任务只会移除该任务，所有任务都取消后才会取消网络请求
+     *
+     * @param coalesce true表示合并，默认为false
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder coalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+        return this;
+    }
+
+    /**
+     * 设置对冲请求，仅在get请求中有效，仅应对幂等的请求使用，
+     * 等待时间内没有收到响应时发出相同的请求，使用先收到的响应并取消另一个
+     *
+     * @param delay 等待毫秒数，小于0表示不对冲(默认)，0表示使用该主机近期响应时间的95分位
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder hedge(long delay) {
+        this.hedgeDelay = delay;
+        return this;
+    }
+
+    /**
+     * 设置文件下载的最大并发分段数，仅在{@link NetworkType#DOWNLOAD_FILE}请求中有效，
+     * 服务器不支持Range或文件较小时自动使用单线程下载
+     *
+     * @param segments 最大分段数，默认为1即不分段
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder downloadSegments(int segments) {
+        this.downloadSegments = segments;
+        return this;
+    }
+
+    /**
+     * 设置分块上传，仅在{@link NetworkType#UPLOAD}请求中有效，
+     * 文件被拆分为固定大小的分块并发上传，失败的分块单独重试，
+     * 上传状态保存在状态目录中用于进程重启后续传，
+     * 需要服务器支持{@link OkHttpChunkedUploadCommunication}描述的分块协议
+     *
+     * @param chunkSize      分块字节数，默认为0即不分块
+     * @param parallelism    并发上传的分块数
+     * @param stateDirectory 上传状态保存目录，应当为应用独占的目录
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder uploadChunks(long chunkSize , int parallelism , File
+            stateDirectory) {
+        this.uploadChunkSize = chunkSize;
+        this.uploadParallelism = parallelism;
+        this.uploadStateDirectory = stateDirectory;
+        return this;
+    }
+
+    /**
+     * 设置文件下载写入磁盘的持久化策略，仅在{@link NetworkType#DOWNLOAD_FILE}请求中有效
+     *
+     * @param durability 持久化策略，取值为{@link DurabilityPolicy}，默认为{@link DurabilityPolicy#NONE}
+     * @param interval   周期同步的间隔字节数，仅{@link DurabilityPolicy#PERIODIC}有效，小于等于0时使用默认值
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder downloadDurability(int durability , long interval) {
+        this.downloadDurability = durability;
+        this.downloadSyncInterval = interval;
+        return this;
+    }
+
+    /**
+     * 设置下载数据校验，在读取数据流的同时计算摘要，
+     * 仅在{@link NetworkType#DOWNLOAD}和{@link NetworkType#DOWNLOAD_FILE}请求中有效，
+     * 后者在下载完成后校验完整文件，
+     * 期望的摘要通过请求参数{@link OkHttpDownloadCommunication#EXPECTED_CHECKSUM_TAG}传入，
+     * 未传入时使用{@code header}响应头中的值，都没有时只计算不校验
+     *
+     * @param algorithm 摘要算法，取值为{@link ChecksumAlgorithm}，默认为{@link ChecksumAlgorithm#NONE}
+     * @param header    携带期望摘要的响应头名称，如"Content-MD5"，null表示不读取响应头
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder checksum(int algorithm , String header) {
+        this.checksumAlgorithm = algorithm;
+        this.checksumHeader = header;
+        return this;
+    }
+
+    /**
+     * 设置是否以{@link java.io.Reader}流的形式返回响应数据，仅在get和post请求中有效，
+     * 需要配合{@link org.cwk.android.library.data.JsonStreamDataModel}等支持流的数据模型使用，
+     * 流式响应不支持{@link #cachePolicy(int)}，{@link #coalesce(boolean)}和{@link #hedge(long)}，
+     * 同时设置时{@link #build()}抛出{@link IllegalArgumentException}
+     *
+     * @param streamResponse true表示返回流，默认为false即返回字符串
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder streamResponse(boolean streamResponse) {
+        this.streamResponse = streamResponse;
+        return this;
+    }
+
+    /**
+     * 设置请求体gzip压缩，仅在post和put请求中有效，
+     * 请求体达到阈值时在写出过程中压缩并添加"Content-Encoding: gzip"，
+     * 服务器以415拒绝后该主机不再压缩，见{@link GzipRequestInterceptor}
+     *
+     * @param threshold 最小压缩字节数，默认为-1即不压缩
+     *
+     * @return 构造器
+     */
+    public CommunicationBuilder compressRequest(long threshold) {
+        this.compressThreshold = threshold;
+        return this;
+    }
+
     /**
      * 设置请求编码，默认为utf-8
      *
@@ -292,20 +551,34 @@ public class CommunicationBuilder {
      * 构造网络请求工具
      *
      * @return OKHttp网络请求工具
+     *
+     * @throws IllegalArgumentException 网络请求类型错误或流式响应与不支持的设置同时使用
      */
     public ICommunication build() {
 
+        if (streamResponse && (networkType == NetworkType.GET || networkType == NetworkType
+                .POST) && (cachePolicy != CachePolicy.DEFAULT || coalesce || hedgeDelay > -1)) {
+            // 流式响应工具不会应用这些设置
+            throw new IllegalArgumentException("streamResponse can not be combined with " +
+                    "cachePolicy, coalesce or hedge");
+        }
+
         OkHttpCommunication communication;
 
         switch (networkType) {
             case GET:
-                communication = new OkHttpGetCommunication(logTag);
+                communication = streamResponse ? new OkHttpStreamResponseCommunication(logTag ,
+                        false) : new OkHttpGetCommunication(logTag);
                 break;
             case POST:
-                communication = new OkHttpPostCommunication(logTag);
+                communication = streamResponse ? new OkHttpStreamResponseCommunication(logTag ,
+                        true) : new OkHttpPostCommunication(logTag);
                 break;
             case UPLOAD:
-                communication = new OkHttpUploadCommunication(logTag);
+                communication = uploadChunkSize > 0 && uploadStateDirectory != null ? new
+                        OkHttpChunkedUploadCommunication(logTag , uploadChunkSize ,
+                        uploadParallelism , uploadStateDirectory) : new
+                        OkHttpUploadCommunication(logTag);
                 break;
             case DOWNLOAD:
                 communication = new OkHttpDownloadCommunication(logTag);
@@ -319,6 +592,9 @@ public class CommunicationBuilder {
             case UPLOAD_STREAM:
                 communication = new OkHttpStreamUploadCommunication(logTag);
                 break;
+            case DOWNLOAD_FILE:
+                communication = new OkHttpFileDownloadCommunication(logTag);
+                break;
             default:
                 throw new IllegalArgumentException("error networkType");
         }
@@ -340,6 +616,11 @@ public class CommunicationBuilder {
             communication.setRetryTimes(retryTimes);
         }
 
+        if (retryPolicy != null && communication instanceof NetworkRetryPolicyHandler) {
+            // 需要设置重试策略
+            ((NetworkRetryPolicyHandler) communication).setRetryPolicy(retryPolicy);
+        }
+
         if (progressListener != null && communication instanceof NetworkRefreshProgressHandler) {
             // 需要设置监听器
 
@@ -349,6 +630,56 @@ public class CommunicationBuilder {
             refreshProgressHandler.setNetworkProgressListener(progressListener);
         }
 
+        if (priority != RequestPriority.NORMAL && communication instanceof
+                NetworkPriorityHandler) {
+            // 需要设置优先级
+            ((NetworkPriorityHandler) communication).setPriority(priority);
+        }
+
+        if (cachePolicy != CachePolicy.DEFAULT && communication instanceof
+                NetworkCachePolicyHandler) {
+            // 需要设置缓存策略
+            ((NetworkCachePolicyHandler) communication).setCachePolicy(cachePolicy);
+        }
+
+        if (coalesce && communication instanceof OkHttpGetCommunication) {
+            // 需要合并相同请求
+            ((OkHttpGetCommunication) communication).setCoalesce(true);
+        }
+
+        if (hedgeDelay > -1 && communication instanceof OkHttpGetCommunication) {
+            // 需要对冲请求
+            ((OkHttpGetCommunication) communication).setHedgeDelay(hedgeDelay);
+        }
+
+        if (downloadDurability != DurabilityPolicy.NONE && communication instanceof
+                OkHttpFileDownloadCommunication) {
+            // 需要同步到磁盘
+            ((OkHttpFileDownloadCommunication) communication).setDurability(downloadDurability ,
+                    downloadSyncInterval);
+        }
+
+        if (checksumAlgorithm != ChecksumAlgorithm.NONE && communication instanceof
+                NetworkChecksumHandler) {
+            // 需要校验下载数据
+            ((NetworkChecksumHandler) communication).setChecksum(checksumAlgorithm ,
+                    checksumHeader);
+        }
+
+        if (compressThreshold > -1 && communication instanceof NetworkCompressionHandler) {
+            // 需要压缩请求体
+            ((NetworkCompressionHandler) communication).setCompressThreshold(compressThreshold);
+        }
+
+        if (downloadSegments > 1 && communication instanceof OkHttpFileDownloadCommunication) {
+            // 需要分段下载
+            ((OkHttpFileDownloadCommunication) communication).setMaxSegments(downloadSegments);
+        }
+
+        if (workName != null) {
+            communication.setWorkName(workName);
+        }
+
         communication.setEncoded(encoded);
 
         if (headers != null) {
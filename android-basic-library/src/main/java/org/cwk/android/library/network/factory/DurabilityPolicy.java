@@ -0,0 +1,29 @@
+package org.cwk.android.library.network.factory;
+
+/**
+ * 下载文件写入磁盘的持久化策略枚举，
+ * 决定何时调用fsync将已写入的数据同步到存储设备
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface DurabilityPolicy {
+
+    /**
+     * 不主动同步，由系统决定写回时机，速度最快，默认值
+     */
+    int NONE = 0;
+
+    /**
+     * 写入完成后移动到目标位置前同步一次，
+     * 保证得到的目标文件内容完整
+     */
+    int SYNC_AT_END = 1;
+
+    /**
+     * 写入过程中按间隔字节数周期同步，结束时再同步一次，
+     * 断电后续传位置不会超过实际落盘的数据
+     */
+    int PERIODIC = 2;
+}
@@ -0,0 +1,42 @@
+package org.cwk.android.library.network.factory;
+
+/**
+ * 本地产生的网络错误码枚举，
+ * 请求在本地被快速拒绝时使用这些小于0的错误码代替http响应码，
+ * 任务会进入{@link org.cwk.android.library.work.WorkModel}的onNetworkError流程，
+ * 可以通过{@link org.cwk.android.library.data.IDataModel#getCode()}区分失败原因
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface NetworkErrorCode {
+
+    /**
+     * 普通的网络异常，如连接失败，超时等
+     */
+    int NETWORK_ERROR = 0;
+
+    /**
+     * 目标主机的熔断器处于打开状态，请求未发出
+     */
+    int CIRCUIT_OPEN = -1;
+
+    /**
+     * 无网络连接，请求已存入{@link org.cwk.android.library.work.OfflineQueue}，
+     * 网络恢复后重放
+     */
+    int OFFLINE_QUEUED = -2;
+
+    /**
+     * 任务超过了设置的截止时间，请求已被取消，
+     * 任务会进入{@link org.cwk.android.library.work.WorkModel}的onDeadlineExceeded流程
+     */
+    int DEADLINE_EXCEEDED = -3;
+
+    /**
+     * 目标主机的等待队列已满，请求未发出，
+     * 见{@link org.cwk.android.library.network.util.ConcurrencyLimiter}
+     */
+    int QUEUE_FULL = -4;
+}
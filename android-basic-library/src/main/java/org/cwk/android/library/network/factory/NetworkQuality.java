@@ -0,0 +1,37 @@
+package org.cwk.android.library.network.factory;
+
+/**
+ * 网络质量等级枚举，
+ * 由{@link org.cwk.android.library.network.util.NetworkQualityEstimator}根据往返时延和带宽估算
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface NetworkQuality {
+
+    /**
+     * 未知，无网络类型信息且没有观测数据
+     */
+    int UNKNOWN = 0;
+
+    /**
+     * 差，往返时延1秒以上或带宽低于150kbps，如2G
+     */
+    int POOR = 1;
+
+    /**
+     * 一般，往返时延300毫秒以上或带宽低于1.5Mbps，如3G
+     */
+    int MODERATE = 2;
+
+    /**
+     * 良好，往返时延100毫秒以上或带宽低于5Mbps，如4G
+     */
+    int GOOD = 3;
+
+    /**
+     * 优秀，如WIFI
+     */
+    int EXCELLENT = 4;
+}
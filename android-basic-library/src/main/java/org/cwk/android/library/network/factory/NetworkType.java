@@ -43,4 +43,10 @@ public interface NetworkType {
      * 仅流的形式上传，content-type = application/octet-stream ，其余参数将拼接到url中
      */
     int UPLOAD_STREAM = 6;
+
+    /**
+     * 可续传的文件下载，响应数据直接写入目标文件，
+     * 目标文件路径使用{@link org.cwk.android.library.network.communication.OkHttpFileDownloadCommunication#TARGET_FILE_TAG}作为key
+     */
+    int DOWNLOAD_FILE = 7;
 }
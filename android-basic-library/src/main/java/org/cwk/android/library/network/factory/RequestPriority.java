@@ -0,0 +1,28 @@
+package org.cwk.android.library.network.factory;
+
+/**
+ * 异步请求的优先级枚举，
+ * 由{@link org.cwk.android.library.network.util.RequestScheduler}按优先级顺序放行，
+ * 取值越小优先级越高
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface RequestPriority {
+
+    /**
+     * 用户正在等待的请求
+     */
+    int IMMEDIATE = 0;
+
+    /**
+     * 普通请求，默认值
+     */
+    int NORMAL = 1;
+
+    /**
+     * 后台请求，如预加载和统计上报，同时执行的数量受到限制
+     */
+    int BACKGROUND = 2;
+}
@@ -0,0 +1,200 @@
+package org.cwk.android.library.network.util;
+
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.DurabilityPolicy;
+
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+/**
+ * 原子文件写入工具，
+ * 数据源直接以大块写入"目标文件.tmp"，完成后按{@link DurabilityPolicy}同步并重命名为目标文件，
+ * 需要持久化时重命名后同步所在目录，
+ * 写入失败时删除临时文件，目标文件不会出现不完整的内容
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class AtomicFileWriter {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "AtomicFileWriter";
+
+    /**
+     * 临时文件后缀
+     */
+    public static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * 每次从数据源读取的最大字节数
+     */
+    private static final long READ_SIZE = 64 * 1024;
+
+    /**
+     * 周期同步的默认间隔字节数
+     */
+    public static final long DEFAULT_SYNC_INTERVAL = 4 * 1024 * 1024;
+
+    /**
+     * 将输入流写入目标文件
+     *
+     * @param inputStream 输入流，写入完成后不会关闭
+     * @param target      目标文件
+     * @param durability  持久化策略，取值为{@link DurabilityPolicy}
+     * @param interval    周期同步的间隔字节数，仅{@link DurabilityPolicy#PERIODIC}有效
+     *
+     * @return 目标文件
+     *
+     * @throws IOException 读取或写入异常
+     */
+    @NonNull
+    public static File write(@NonNull InputStream inputStream , @NonNull File target , int
+            durability , long interval) throws IOException {
+        return write(Okio.buffer(Okio.source(inputStream)) , target , durability , interval);
+    }
+
+    /**
+     * 将数据源写入目标文件
+     *
+     * @param source     数据源，写入完成后不会关闭
+     * @param target     目标文件
+     * @param durability 持久化策略，取值为{@link DurabilityPolicy}
+     * @param interval   周期同步的间隔字节数，仅{@link DurabilityPolicy#PERIODIC}有效
+     *
+     * @return 目标文件
+     *
+     * @throws IOException 读取或写入异常
+     */
+    @NonNull
+    public static File write(@NonNull BufferedSource source , @NonNull File target , int
+            durability , long interval) throws IOException {
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("make dirs failed " + parent);
+        }
+
+        File tempFile = new File(target.getPath() + TEMP_SUFFIX);
+
+        if (interval <= 0) {
+            interval = DEFAULT_SYNC_INTERVAL;
+        }
+
+        boolean success = false;
+
+        try {
+            FileOutputStream outputStream = new FileOutputStream(tempFile);
+            BufferedSink sink = Okio.buffer(Okio.sink(outputStream));
+
+            try {
+                long written = 0;
+                long synced = 0;
+                long read;
+
+                while ((read = source.read(sink.buffer() , READ_SIZE)) != -1) {
+                    sink.emitCompleteSegments();
+                    written += read;
+
+                    if (durability == DurabilityPolicy.PERIODIC && written - synced >=
+                            interval) {
+                        sink.flush();
+                        outputStream.getFD().sync();
+                        synced = written;
+                    }
+                }
+
+                sink.flush();
+
+                if (durability != DurabilityPolicy.NONE) {
+                    outputStream.getFD().sync();
+                }
+
+                Log.v(TAG , "write " + written + " bytes to " + tempFile);
+            } finally {
+                sink.close();
+            }
+
+            replace(tempFile , target , durability != DurabilityPolicy.NONE);
+            success = true;
+        } finally {
+            if (!success && tempFile.exists() && !tempFile.delete()) {
+                Log.d(TAG , "delete temp file failed " + tempFile);
+            }
+        }
+
+        return target;
+    }
+
+    /**
+     * 用源文件原子替换目标文件，不同步所在目录
+     *
+     * @param source 源文件
+     * @param target 目标文件
+     *
+     * @throws IOException 重命名失败，目标文件保持不变
+     */
+    public static void replace(@NonNull File source , @NonNull File target) throws IOException {
+        replace(source , target , false);
+    }
+
+    /**
+     * 用源文件原子替换目标文件，
+     * 重命名失败时不会删除目标文件后重试，避免目标文件出现不存在的间隙
+     *
+     * @param source 源文件，需要持久化时应当已同步到磁盘
+     * @param target 目标文件
+     * @param sync   true表示重命名后同步所在目录，使重命名在断电后依然有效
+     *
+     * @throws IOException 重命名失败，目标文件保持不变
+     */
+    public static void replace(@NonNull File source , @NonNull File target , boolean sync)
+            throws IOException {
+        if (!source.renameTo(target)) {
+            throw new IOException("rename failed " + source + " to " + target);
+        }
+
+        if (sync) {
+            syncDirectory(target.getAbsoluteFile().getParentFile());
+        }
+    }
+
+    /**
+     * 同步目录，使目录中的重命名写入磁盘，
+     * Android 5.0以下没有打开目录的接口，不同步，
+     * 部分文件系统不支持同步目录，失败时仅记录日志
+     *
+     * @param directory 目录
+     */
+    private static void syncDirectory(File directory) {
+        if (directory == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return;
+        }
+
+        try {
+            FileDescriptor fd = Os.open(directory.getPath() , OsConstants.O_RDONLY , 0);
+
+            try {
+                Os.fsync(fd);
+            } finally {
+                Os.close(fd);
+            }
+        } catch (ErrnoException e) {
+            Log.d(TAG , "sync directory failed " + directory + " " + e);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package org.cwk.android.library.network.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import okhttp3.Dns;
+
+/**
+ * 带有效期的内存DNS缓存，
+ * 通过{@link GlobalOkHttpClient#installDnsCache(CachedDns)}安装，
+ * 有效期内直接返回缓存的地址，
+ * 超过有效期的刷新比例后在后台重新解析，请求不等待，
+ * 完全过期后同步解析，解析失败时继续使用过期的地址
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class CachedDns implements Dns {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "CachedDns";
+
+    /**
+     * 最多缓存的主机数
+     */
+    private static final int MAX_SIZE = 64;
+
+    /**
+     * 后台刷新线程
+     */
+    private static final Executor REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(runnable
+            -> {
+        Thread thread = new Thread(runnable , TAG);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 实际执行解析的DNS
+     */
+    private final Dns delegate;
+
+    /**
+     * 缓存有效毫秒数
+     */
+    private final long ttl;
+
+    /**
+     * 开始后台刷新的有效期比例
+     */
+    private final float refreshRatio;
+
+    /**
+     * 缓存的地址，按访问顺序淘汰
+     */
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16 , 0.75f ,
+            true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    /**
+     * 正在后台刷新的主机
+     */
+    private final Set<String> refreshing = new HashSet<>();
+
+    /**
+     * 命中次数
+     */
+    private long hits = 0;
+
+    /**
+     * 未命中次数
+     */
+    private long misses = 0;
+
+    /**
+     * 构造函数，使用系统DNS，有效期达到75%时后台刷新
+     *
+     * @param ttl 缓存有效毫秒数
+     */
+    public CachedDns(long ttl) {
+        this(Dns.SYSTEM , ttl , 0.75f);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param delegate     实际执行解析的DNS
+     * @param ttl          缓存有效毫秒数
+     * @param refreshRatio 开始后台刷新的有效期比例，取值(0 , 1]，1表示不提前刷新
+     */
+    public CachedDns(@NonNull Dns delegate , long ttl , float refreshRatio) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.refreshRatio = refreshRatio;
+    }
+
+    @NonNull
+    @Override
+    public List<InetAddress> lookup(@NonNull String hostname) throws UnknownHostException {
+        Entry entry;
+        boolean refresh = false;
+
+        synchronized (entries) {
+            entry = entries.get(hostname);
+
+            if (entry != null) {
+                long age = SystemClock.elapsedRealtime() - entry.resolvedAt;
+
+                if (age < ttl) {
+                    hits++;
+
+                    if (age >= ttl * refreshRatio && refreshing.add(hostname)) {
+                        refresh = true;
+                    }
+                } else {
+                    entry = null;
+                }
+            }
+
+            if (entry == null) {
+                misses++;
+            }
+        }
+
+        if (refresh) {
+            REFRESH_EXECUTOR.execute(() -> refresh(hostname));
+        }
+
+        if (entry != null) {
+            return entry.addresses;
+        }
+
+        return resolve(hostname);
+    }
+
+    /**
+     * 预先解析主机，结果加入缓存
+     *
+     * @param hostname 主机名
+     *
+     * @throws UnknownHostException 解析失败
+     */
+    public void prefetch(@NonNull String hostname) throws UnknownHostException {
+        resolve(hostname);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * 获取缓存命中次数
+     *
+     * @return 次数
+     */
+    public long getHitCount() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    /**
+     * 获取缓存未命中次数
+     *
+     * @return 次数
+     */
+    public long getMissCount() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    /**
+     * 同步解析并更新缓存，失败时返回过期的地址
+     *
+     * @param hostname 主机名
+     *
+     * @return 地址
+     *
+     * @throws UnknownHostException 解析失败且没有过期的地址
+     */
+    private List<InetAddress> resolve(String hostname) throws UnknownHostException {
+        long start = SystemClock.elapsedRealtime();
+
+        try {
+            List<InetAddress> addresses = new ArrayList<>(delegate.lookup(hostname));
+
+            Log.v(TAG , "resolve " + hostname + " " + (SystemClock.elapsedRealtime() - start) +
+                    "ms");
+
+            synchronized (entries) {
+                entries.put(hostname , new Entry(addresses));
+            }
+
+            return addresses;
+        } catch (UnknownHostException e) {
+            Entry stale;
+
+            synchronized (entries) {
+                stale = entries.get(hostname);
+            }
+
+            if (stale == null) {
+                throw e;
+            }
+
+            Log.v(TAG , "resolve " + hostname + " failed, use stale addresses");
+            return stale.addresses;
+        }
+    }
+
+    /**
+     * 后台刷新
+     *
+     * @param hostname 主机名
+     */
+    private void refresh(String hostname) {
+        try {
+            resolve(hostname);
+        } catch (UnknownHostException e) {
+            Log.e(TAG , "refresh " + hostname + " error" , e);
+        } finally {
+            synchronized (entries) {
+                refreshing.remove(hostname);
+            }
+        }
+    }
+
+    /**
+     * 缓存的解析结果
+     */
+    private static final class Entry {
+
+        /**
+         * 地址
+         */
+        private final List<InetAddress> addresses;
+
+        /**
+         * 解析时间
+         */
+        private final long resolvedAt = SystemClock.elapsedRealtime();
+
+        /**
+         * 构造函数
+         *
+         * @param addresses 地址
+         */
+        Entry(List<InetAddress> addresses) {
+            this.addresses = addresses;
+        }
+    }
+}
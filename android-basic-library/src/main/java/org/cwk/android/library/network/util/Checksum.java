@@ -0,0 +1,248 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.ChecksumAlgorithm;
+
+import java.io.File;
+import java.io.IOException;
+
+import okhttp3.Response;
+import okio.Buffer;
+import okio.ByteString;
+import okio.HashingSource;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * 单次下载的数据校验，
+ * 作为请求标签跟随请求，由{@link ChecksumInterceptor}在读取响应数据时计算摘要并填写结果，
+ * 直接写入文件的下载通过{@link #verify(File)}校验完整文件
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class Checksum {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "Checksum";
+
+    /**
+     * 摘要算法
+     */
+    private final int algorithm;
+
+    /**
+     * 期望的摘要
+     */
+    private volatile String expected;
+
+    /**
+     * 携带期望摘要的响应头名称
+     */
+    private final String header;
+
+    /**
+     * 计算得到的摘要
+     */
+    private volatile ByteString digest = null;
+
+    /**
+     * 构造函数
+     *
+     * @param algorithm 摘要算法，取值为{@link ChecksumAlgorithm}
+     * @param expected  期望的摘要，十六进制或base64，null表示使用响应头中的值
+     * @param header    携带期望摘要的响应头名称，null表示不读取响应头
+     */
+    public Checksum(int algorithm , @Nullable String expected , @Nullable String header) {
+        this.algorithm = algorithm;
+        this.expected = expected;
+        this.header = header;
+    }
+
+    /**
+     * 获取摘要算法
+     *
+     * @return 取值为{@link ChecksumAlgorithm}
+     */
+    public int getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 获取期望的摘要
+     *
+     * @return 十六进制或base64字符串，没有期望值时为null
+     */
+    @Nullable
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * 获取携带期望摘要的响应头名称
+     *
+     * @return 响应头名称
+     */
+    @Nullable
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * 获取计算得到的摘要
+     *
+     * @return 十六进制字符串，数据未读取完毕时为null
+     */
+    @Nullable
+    public String getDigest() {
+        ByteString digest = this.digest;
+        return digest == null ? null : digest.hex();
+    }
+
+    /**
+     * 未设置期望值时使用响应头中的值
+     *
+     * @param value 响应头的值
+     */
+    public void onHeader(@Nullable String value) {
+        if (expected == null) {
+            expected = value;
+        }
+    }
+
+    /**
+     * 未设置期望值时从响应头读取，
+     * 响应被透明解压时响应头中的摘要对应压缩后的数据，不再使用
+     *
+     * @param response 响应
+     */
+    public void onResponse(@NonNull Response response) {
+        if (header == null) {
+            return;
+        }
+
+        Response networkResponse = response.networkResponse();
+
+        if (networkResponse != null && networkResponse.header("Content-Encoding") != null &&
+                response.header("Content-Encoding") == null) {
+            Log.d(TAG , "response decompressed ignore header " + header);
+        } else {
+            onHeader(response.header(header));
+        }
+    }
+
+    /**
+     * 创建计算摘要的数据源
+     *
+     * @param source 原始数据源
+     *
+     * @return 计算摘要的数据源，算法未知时为null
+     */
+    @Nullable
+    HashingSource newHashingSource(@NonNull Source source) {
+        switch (algorithm) {
+            case ChecksumAlgorithm.MD5:
+                return HashingSource.md5(source);
+            case ChecksumAlgorithm.SHA1:
+                return HashingSource.sha1(source);
+            case ChecksumAlgorithm.SHA256:
+                return HashingSource.sha256(source);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 读取完整文件计算摘要并与期望值比较
+     *
+     * @param file 下载完成的文件
+     *
+     * @throws ChecksumException 摘要与期望值不一致
+     * @throws IOException       文件读取异常
+     */
+    public void verify(@NonNull File file) throws IOException {
+        try (Source source = Okio.source(file)) {
+            HashingSource hashingSource = newHashingSource(source);
+
+            if (hashingSource == null) {
+                return;
+            }
+
+            Buffer buffer = new Buffer();
+
+            while (hashingSource.read(buffer , 64 * 1024) != -1) {
+                buffer.clear();
+            }
+
+            onFinish(hashingSource.hash());
+        }
+    }
+
+    /**
+     * 数据读取完毕，记录并比较摘要
+     *
+     * @param digest 计算得到的摘要
+     *
+     * @throws ChecksumException 摘要与期望值不一致
+     */
+    void onFinish(@NonNull ByteString digest) throws ChecksumException {
+        this.digest = digest;
+        verify();
+    }
+
+    /**
+     * 检查校验结果，没有期望值时不校验
+     *
+     * @throws ChecksumException 数据未读取完毕或摘要与期望值不一致
+     */
+    public void verify() throws ChecksumException {
+        String expected = this.expected;
+
+        if (expected == null) {
+            return;
+        }
+
+        ByteString digest = this.digest;
+
+        if (digest == null) {
+            throw new ChecksumException(expected);
+        }
+
+        if (!digest.equals(decode(expected.trim() , digest.size()))) {
+            throw new ChecksumException(expected , digest.hex());
+        }
+    }
+
+    /**
+     * 解析期望的摘要，
+     * 长度符合时按十六进制解析，否则按base64解析(如Content-MD5)
+     *
+     * @param value 摘要字符串
+     * @param size  摘要字节数
+     *
+     * @return 摘要，无法解析时为null
+     */
+    @Nullable
+    private static ByteString decode(@NonNull String value , int size) {
+        if (value.length() == size * 2) {
+            try {
+                return ByteString.decodeHex(value.toLowerCase());
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        return ByteString.decodeBase64(value);
+    }
+
+    @Override
+    public String toString() {
+        return "algorithm:" + algorithm + " expected:" + expected + " digest:" + getDigest();
+    }
+}
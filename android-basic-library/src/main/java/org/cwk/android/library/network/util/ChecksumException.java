@@ -0,0 +1,66 @@
+package org.cwk.android.library.network.util;
+
+import java.io.IOException;
+
+/**
+ * 下载数据摘要与期望值不一致或数据未读取完毕时抛出的异常，
+ * 在读取响应数据流到末尾或检查校验结果时抛出，
+ * 使任务经由数据模型的解析失败流程结束
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class ChecksumException extends IOException {
+
+    /**
+     * 期望的摘要，十六进制
+     */
+    private final String expected;
+
+    /**
+     * 实际的摘要，十六进制
+     */
+    private final String actual;
+
+    /**
+     * 构造函数
+     *
+     * @param expected 期望的摘要，十六进制
+     * @param actual   实际的摘要，十六进制
+     */
+    public ChecksumException(String expected , String actual) {
+        super("checksum mismatch expected:" + expected + " actual:" + actual);
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * 构造函数，数据未读取完毕，没有得到摘要
+     *
+     * @param expected 期望的摘要，十六进制
+     */
+    public ChecksumException(String expected) {
+        super("checksum incomplete expected:" + expected);
+        this.expected = expected;
+        this.actual = null;
+    }
+
+    /**
+     * 获取期望的摘要
+     *
+     * @return 十六进制字符串
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * 获取实际的摘要
+     *
+     * @return 十六进制字符串，数据未读取完毕时为null
+     */
+    public String getActual() {
+        return actual;
+    }
+}
@@ -0,0 +1,118 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.HashingSource;
+import okio.Okio;
+
+/**
+ * 下载数据校验拦截器，
+ * 从请求的{@link Checksum}类型标签中读取校验配置，
+ * 在响应数据被读取的同时计算摘要，不需要读取完毕后再次遍历文件，
+ * 读取到末尾时与期望值比较，不一致时抛出{@link ChecksumException}，
+ * 作为应用拦截器使用，计算的是解压后的数据，
+ * 响应被透明解压时不再使用响应头中的摘要，
+ * 所有请求共享同一个实例{@link #INSTANCE}
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class ChecksumInterceptor implements Interceptor {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "ChecksumInterceptor";
+
+    /**
+     * 共享实例
+     */
+    public static final ChecksumInterceptor INSTANCE = new ChecksumInterceptor();
+
+    /**
+     * 构造函数
+     */
+    private ChecksumInterceptor() {
+    }
+
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+
+        Checksum checksum = chain.request().tag(Checksum.class);
+
+        ResponseBody body = response.body();
+
+        if (checksum == null || body == null || !response.isSuccessful()) {
+            return response;
+        }
+
+        checksum.onResponse(response);
+
+        HashingSource hashingSource = checksum.newHashingSource(body.source());
+
+        if (hashingSource == null) {
+            return response;
+        }
+
+        ResponseBody checksumBody = ResponseBody.create(body.contentType() , body.contentLength
+                () , Okio.buffer(new ChecksumSource(hashingSource , checksum)));
+
+        return response.newBuilder().body(checksumBody).build();
+    }
+
+    /**
+     * 读取到末尾时校验摘要的数据源
+     */
+    private static final class ChecksumSource extends ForwardingSource {
+
+        /**
+         * 计算摘要的数据源
+         */
+        private final HashingSource hashingSource;
+
+        /**
+         * 校验配置及结果
+         */
+        private final Checksum checksum;
+
+        /**
+         * 是否已校验
+         */
+        private boolean finished = false;
+
+        /**
+         * 构造函数
+         *
+         * @param hashingSource 计算摘要的数据源
+         * @param checksum      校验配置及结果
+         */
+        ChecksumSource(HashingSource hashingSource , Checksum checksum) {
+            super(hashingSource);
+            this.hashingSource = hashingSource;
+            this.checksum = checksum;
+        }
+
+        @Override
+        public long read(@NonNull Buffer sink , long byteCount) throws IOException {
+            long read = super.read(sink , byteCount);
+
+            if (read == -1 && !finished) {
+                finished = true;
+                checksum.onFinish(hashingSource.hash());
+                Log.v(TAG , "checksum finish " + checksum);
+            }
+
+            return read;
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package org.cwk.android.library.network.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.NetworkErrorCode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * 按主机划分的熔断器，
+ * 作为应用拦截器通过{@link GlobalOkHttpClient#installCircuitBreaker(CircuitBreaker)}安装，
+ * 主机连续失败次数或最近请求的失败率达到阈值后熔断打开，
+ * 打开期间发往该主机的请求立即以{@link FastFailException}失败，错误码为{@link NetworkErrorCode#CIRCUIT_OPEN}，
+ * 打开一段时间后进入半开状态放行少量探测请求，探测成功则关闭，失败则重新打开，
+ * 网络异常和5xx响应视为失败，被取消的请求不计入统计，
+ * 通过{@link Builder}构建
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class CircuitBreaker implements Interceptor {
+
+    /**
+     * 关闭状态，请求正常发出
+     */
+    public static final int CLOSED = 0;
+
+    /**
+     * 打开状态，请求立即失败
+     */
+    public static final int OPEN = 1;
+
+    /**
+     * 半开状态，仅放行探测请求
+     */
+    public static final int HALF_OPEN = 2;
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "CircuitBreaker";
+
+    /**
+     * 连续失败阈值
+     */
+    private final int failureThreshold;
+
+    /**
+     * 失败率阈值
+     */
+    private final float failureRate;
+
+    /**
+     * 统计失败率的最近请求数
+     */
+    private final int windowSize;
+
+    /**
+     * 计算失败率所需的最少请求数
+     */
+    private final int minimumCalls;
+
+    /**
+     * 打开状态持续毫秒数
+     */
+    private final long openDuration;
+
+    /**
+     * 半开状态同时放行的探测请求数
+     */
+    private final int halfOpenProbes;
+
+    /**
+     * 各主机的熔断状态
+     */
+    private final Map<String, HostCircuit> circuits = new HashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param builder 构建器
+     */
+    private CircuitBreaker(Builder builder) {
+        this.failureThreshold = builder.failureThreshold;
+        this.failureRate = builder.failureRate;
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = Math.min(builder.minimumCalls , builder.windowSize);
+        this.openDuration = builder.openDuration;
+        this.halfOpenProbes = builder.halfOpenProbes;
+    }
+
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        HttpUrl url = chain.request().url();
+        String host = url.host() + ":" + url.port();
+
+        HostCircuit circuit = getCircuit(host);
+
+        if (!circuit.tryAcquire()) {
+            Log.v(TAG , "circuit open, reject " + host);
+            throw new FastFailException(NetworkErrorCode.CIRCUIT_OPEN , "circuit open for " +
+                    host);
+        }
+
+        Response response;
+
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException e) {
+            if (chain.call().isCanceled() || e instanceof FastFailException) {
+                circuit.onIgnored();
+            } else {
+                circuit.onFailure(host);
+            }
+
+            throw e;
+        }
+
+        if (response.code() >= 500) {
+            circuit.onFailure(host);
+        } else {
+            circuit.onSuccess(host);
+        }
+
+        return response;
+    }
+
+    /**
+     * 获取主机的熔断状态
+     *
+     * @param host 主机，格式为"host:port"
+     *
+     * @return 状态，{@link #CLOSED}，{@link #OPEN}或{@link #HALF_OPEN}
+     */
+    public int getState(@NonNull String host) {
+        synchronized (circuits) {
+            HostCircuit circuit = circuits.get(host);
+            return circuit == null ? CLOSED : circuit.getState();
+        }
+    }
+
+    /**
+     * 重置所有主机的熔断状态
+     */
+    public void reset() {
+        synchronized (circuits) {
+            circuits.clear();
+        }
+    }
+
+    /**
+     * 获取或创建主机的熔断状态
+     *
+     * @param host 主机
+     *
+     * @return 熔断状态
+     */
+    private HostCircuit getCircuit(String host) {
+        synchronized (circuits) {
+            HostCircuit circuit = circuits.get(host);
+
+            if (circuit == null) {
+                circuit = new HostCircuit();
+                circuits.put(host , circuit);
+            }
+
+            return circuit;
+        }
+    }
+
+    /**
+     * 单个主机的熔断状态
+     */
+    private final class HostCircuit {
+
+        /**
+         * 当前状态
+         */
+        private int state = CLOSED;
+
+        /**
+         * 进入打开状态的时间
+         */
+        private long openedAt = 0;
+
+        /**
+         * 连续失败次数
+         */
+        private int consecutiveFailures = 0;
+
+        /**
+         * 最近请求的结果，true表示失败
+         */
+        private final boolean[] window = new boolean[windowSize];
+
+        /**
+         * 下一个结果的写入位置
+         */
+        private int windowIndex = 0;
+
+        /**
+         * 窗口中的结果数
+         */
+        private int windowCount = 0;
+
+        /**
+         * 窗口中的失败数
+         */
+        private int windowFailures = 0;
+
+        /**
+         * 半开状态下正在执行的探测请求数
+         */
+        private int probes = 0;
+
+        /**
+         * 尝试放行一个请求
+         *
+         * @return true表示放行
+         */
+        synchronized boolean tryAcquire() {
+            if (state == OPEN) {
+                if (SystemClock.elapsedRealtime() - openedAt < openDuration) {
+                    return false;
+                }
+
+                state = HALF_OPEN;
+                probes = 0;
+            }
+
+            if (state == HALF_OPEN) {
+                if (probes >= halfOpenProbes) {
+                    return false;
+                }
+
+                probes++;
+            }
+
+            return true;
+        }
+
+        /**
+         * 获取当前状态
+         *
+         * @return 状态
+         */
+        synchronized int getState() {
+            return state;
+        }
+
+        /**
+         * 请求成功
+         *
+         * @param host 主机，用于日志
+         */
+        synchronized void onSuccess(String host) {
+            if (state == HALF_OPEN) {
+                Log.v(TAG , "circuit closed " + host);
+                state = CLOSED;
+                probes = 0;
+                clearWindow();
+            }
+
+            consecutiveFailures = 0;
+            record(false);
+        }
+
+        /**
+         * 请求失败
+         *
+         * @param host 主机，用于日志
+         */
+        synchronized void onFailure(String host) {
+            if (state == HALF_OPEN) {
+                open(host);
+                return;
+            }
+
+            if (state == OPEN) {
+                return;
+            }
+
+            consecutiveFailures++;
+            record(true);
+
+            if (consecutiveFailures >= failureThreshold || (windowCount >= minimumCalls &&
+                    windowFailures >= failureRate * windowCount)) {
+                open(host);
+            }
+        }
+
+        /**
+         * 请求被取消，不计入统计
+         */
+        synchronized void onIgnored() {
+            if (state == HALF_OPEN && probes > 0) {
+                probes--;
+            }
+        }
+
+        /**
+         * 打开熔断
+         *
+         * @param host 主机，用于日志
+         */
+        private void open(String host) {
+            Log.v(TAG , "circuit open " + host + " consecutive failures:" +
+                    consecutiveFailures + " window failures:" + windowFailures + "/" +
+                    windowCount);
+            state = OPEN;
+            openedAt = SystemClock.elapsedRealtime();
+            consecutiveFailures = 0;
+            probes = 0;
+        }
+
+        /**
+         * 记录一个请求结果
+         *
+         * @param failure true表示失败
+         */
+        private void record(boolean failure) {
+            if (windowCount == window.length) {
+                if (window[windowIndex]) {
+                    windowFailures--;
+                }
+            } else {
+                windowCount++;
+            }
+
+            window[windowIndex] = failure;
+
+            if (failure) {
+                windowFailures++;
+            }
+
+            windowIndex = (windowIndex + 1) % window.length;
+        }
+
+        /**
+         * 清空请求结果
+         */
+        private void clearWindow() {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+
+    /**
+     * 熔断器构建器
+     */
+    public static class Builder {
+
+        /**
+         * 连续失败阈值
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * 失败率阈值
+         */
+        private float failureRate = 0.5f;
+
+        /**
+         * 统计失败率的最近请求数
+         */
+        private int windowSize = 20;
+
+        /**
+         * 计算失败率所需的最少请求数
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * 打开状态持续毫秒数
+         */
+        private long openDuration = 30000;
+
+        /**
+         * 半开状态同时放行的探测请求数
+         */
+        private int halfOpenProbes = 1;
+
+        /**
+         * 设置连续失败阈值
+         *
+         * @param failureThreshold 连续失败次数，默认为5
+         *
+         * @return 构建器
+         */
+        public Builder failureThreshold(int failureThreshold) {
+            this.failureThreshold = Math.max(1 , failureThreshold);
+            return this;
+        }
+
+        /**
+         * 设置失败率阈值
+         *
+         * @param failureRate  失败率，取值(0 , 1]，默认为0.5
+         * @param windowSize   统计失败率的最近请求数，默认为20
+         * @param minimumCalls 计算失败率所需的最少请求数，默认为10
+         *
+         * @return 构建器
+         */
+        public Builder failureRate(float failureRate , int windowSize , int minimumCalls) {
+            this.failureRate = failureRate;
+            this.windowSize = Math.max(1 , windowSize);
+            this.minimumCalls = Math.max(1 , minimumCalls);
+            return this;
+        }
+
+        /**
+         * 设置打开状态持续时间，之后进入半开状态
+         *
+         * @param openDuration 持续毫秒数，默认为30000
+         *
+         * @return 构建器
+         */
+        public Builder openDuration(long openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * 设置半开状态同时放行的探测请求数
+         *
+         * @param halfOpenProbes 探测请求数，默认为1
+         *
+         * @return 构建器
+         */
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = Math.max(1 , halfOpenProbes);
+            return this;
+        }
+
+        /**
+         * 构建熔断器
+         *
+         * @return 熔断器
+         */
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.cwk.android.library.network.util;
+
+import android.os.Handler;
+import android.support.annotation.NonNull;
+
+/**
+ * 合并投递的进度监听器，
+ * 将进度发送到指定线程执行，同一时间最多只有一个待执行的投递，
+ * 投递执行前到达的新进度会覆盖旧进度，
+ * 因此目标线程只会看到最新的进度，最后的完成进度总是会被回调
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class CoalescedProgressListener implements OnNetworkProgressListener, Runnable {
+
+    /**
+     * 目标线程的处理器
+     */
+    private final Handler handler;
+
+    /**
+     * 实际的进度监听器
+     */
+    private final OnNetworkProgressListener listener;
+
+    /**
+     * 最新的当前进度
+     */
+    private long current = 0;
+
+    /**
+     * 最新的数据总长度
+     */
+    private long total = 0;
+
+    /**
+     * 最新的完成状态
+     */
+    private boolean done = false;
+
+    /**
+     * 是否已有待执行的投递
+     */
+    private boolean posted = false;
+
+    /**
+     * 构造函数
+     *
+     * @param handler  目标线程的处理器
+     * @param listener 实际的进度监听器
+     */
+    public CoalescedProgressListener(@NonNull Handler handler , @NonNull
+            OnNetworkProgressListener listener) {
+        this.handler = handler;
+        this.listener = listener;
+    }
+
+    @Override
+    public void onRefreshProgress(long current , long total , boolean done) {
+        synchronized (this) {
+            this.current = current;
+            this.total = total;
+            // 完成状态不能被之后到达的进度覆盖
+            this.done = this.done || done;
+
+            if (posted) {
+                return;
+            }
+
+            posted = true;
+        }
+
+        handler.post(this);
+    }
+
+    @Override
+    public void run() {
+        long current;
+        long total;
+        boolean done;
+
+        synchronized (this) {
+            current = this.current;
+            total = this.total;
+            done = this.done;
+            this.done = false;
+            posted = false;
+        }
+
+        listener.onRefreshProgress(current , total , done);
+    }
+}
@@ -0,0 +1,344 @@
+package org.cwk.android.library.network.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.NetworkErrorCode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 按主机划分的自适应并发限制器，
+ * 通过{@link GlobalOkHttpClient#installConcurrencyLimiter(ConcurrencyLimiter)}安装后，
+ * {@link RequestScheduler}按各主机的当前限制放行异步请求，
+ * 限制根据已完成请求的响应时间和失败情况自动调整(AIMD)：
+ * 响应时间接近该主机的最小响应时间且并发数已用满时缓慢增加，
+ * 响应时间超过最小响应时间的容忍倍数，网络异常或服务器返回429/503时按比例减小，
+ * 超过限制的请求在有界队列中等待，队列已满时立即以{@link FastFailException}失败，
+ * 错误码为{@link NetworkErrorCode#QUEUE_FULL}，
+ * 通过{@link Builder}构建
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class ConcurrencyLimiter {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "ConcurrencyLimiter";
+
+    /**
+     * 重新探测最小响应时间的样本间隔，避免路由变化后长期使用过小的基线
+     */
+    private static final int MIN_RTT_RESET_SAMPLES = 500;
+
+    /**
+     * 初始并发限制
+     */
+    private final int initialLimit;
+
+    /**
+     * 最小并发限制
+     */
+    private final int minLimit;
+
+    /**
+     * 最大并发限制
+     */
+    private final int maxLimit;
+
+    /**
+     * 单主机等待队列上限
+     */
+    private final int maxQueue;
+
+    /**
+     * 响应时间容忍倍数
+     */
+    private final double tolerance;
+
+    /**
+     * 减小限制时的比例
+     */
+    private final double backoffRatio;
+
+    /**
+     * 各主机的并发限制
+     */
+    private final Map<String, HostLimit> limits = new HashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param builder 构建器
+     */
+    private ConcurrencyLimiter(Builder builder) {
+        this.minLimit = builder.minLimit;
+        this.maxLimit = Math.max(builder.minLimit , builder.maxLimit);
+        this.initialLimit = Math.min(Math.max(builder.initialLimit , minLimit) , maxLimit);
+        this.maxQueue = builder.maxQueue;
+        this.tolerance = builder.tolerance;
+        this.backoffRatio = builder.backoffRatio;
+    }
+
+    /**
+     * 获取主机的当前并发限制
+     *
+     * @param host 主机
+     *
+     * @return 并发数，没有样本时为初始限制
+     */
+    public int getLimit(@NonNull String host) {
+        HostLimit limit;
+
+        synchronized (limits) {
+            limit = limits.get(host);
+        }
+
+        return limit == null ? initialLimit : limit.getLimit();
+    }
+
+    /**
+     * 获取所有主机的当前并发限制
+     *
+     * @return 主机和并发数的副本
+     */
+    @NonNull
+    public Map<String, Integer> getLimits() {
+        Map<String, Integer> snapshot = new HashMap<>();
+
+        synchronized (limits) {
+            for (Map.Entry<String, HostLimit> entry : limits.entrySet()) {
+                snapshot.put(entry.getKey() , entry.getValue().getLimit());
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * 获取最大并发限制
+     *
+     * @return 并发数
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * 获取单主机等待队列上限
+     *
+     * @return 请求数
+     */
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    /**
+     * 重置所有主机的并发限制，网络切换后通常需要重新探测
+     */
+    public void reset() {
+        synchronized (limits) {
+            limits.clear();
+        }
+    }
+
+    /**
+     * 记录一个已完成的请求
+     *
+     * @param host     主机
+     * @param rtt      放行到收到响应头的毫秒数
+     * @param dropped  是否为过载信号，即网络异常或429/503响应
+     * @param inflight 该主机正在执行的请求数，包含本请求
+     */
+    void onSample(String host , long rtt , boolean dropped , int inflight) {
+        HostLimit limit;
+
+        synchronized (limits) {
+            limit = limits.get(host);
+
+            if (limit == null) {
+                limit = new HostLimit();
+                limits.put(host , limit);
+            }
+        }
+
+        limit.onSample(host , rtt , dropped , inflight);
+    }
+
+    /**
+     * 单个主机的并发限制
+     */
+    private final class HostLimit {
+
+        /**
+         * 当前限制
+         */
+        private double limit = initialLimit;
+
+        /**
+         * 最小响应时间，-1表示未知
+         */
+        private long minRtt = -1;
+
+        /**
+         * 本轮最小响应时间的样本数
+         */
+        private int samples = 0;
+
+        /**
+         * 上次减小限制的时间，-1表示尚未减小过
+         */
+        private long decreasedAt = -1;
+
+        /**
+         * 获取当前限制
+         *
+         * @return 并发数
+         */
+        synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        /**
+         * 根据样本调整限制
+         *
+         * @param host     主机，用于日志
+         * @param rtt      响应毫秒数
+         * @param dropped  是否为过载信号
+         * @param inflight 正在执行的请求数
+         */
+        synchronized void onSample(String host , long rtt , boolean dropped , int inflight) {
+            if (!dropped) {
+                if (minRtt < 0 || rtt < minRtt || ++samples >= MIN_RTT_RESET_SAMPLES) {
+                    minRtt = rtt;
+                    samples = 0;
+                }
+            }
+
+            int old = (int) limit;
+
+            if (dropped || rtt > minRtt * tolerance) {
+                long now = SystemClock.elapsedRealtime();
+
+                // 每个往返周期最多减小一次，避免同一批请求重复减小
+                if (decreasedAt >= 0 && now - decreasedAt < Math.max(1 , minRtt)) {
+                    return;
+                }
+
+                decreasedAt = now;
+                limit = Math.max(minLimit , limit * backoffRatio);
+            } else if (inflight * 2 >= old) {
+                // 并发数用满一半以上才增加，避免空闲时限制无限增长
+                limit = Math.min(maxLimit , limit + 1.0 / limit);
+            }
+
+            if ((int) limit != old) {
+                Log.v(TAG , "limit " + host + " " + old + " -> " + (int) limit + " rtt:" + rtt +
+                        "ms minRtt:" + minRtt + "ms dropped:" + dropped);
+            }
+        }
+    }
+
+    /**
+     * 并发限制器构建器
+     */
+    public static class Builder {
+
+        /**
+         * 初始并发限制
+         */
+        private int initialLimit = 4;
+
+        /**
+         * 最小并发限制
+         */
+        private int minLimit = 1;
+
+        /**
+         * 最大并发限制
+         */
+        private int maxLimit = 32;
+
+        /**
+         * 单主机等待队列上限
+         */
+        private int maxQueue = 64;
+
+        /**
+         * 响应时间容忍倍数
+         */
+        private double tolerance = 2.0;
+
+        /**
+         * 减小限制时的比例
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * 设置并发限制范围
+         *
+         * @param initialLimit 初始并发限制，默认为4
+         * @param minLimit     最小并发限制，默认为1
+         * @param maxLimit     最大并发限制，默认为32
+         *
+         * @return 构建器
+         */
+        public Builder limit(int initialLimit , int minLimit , int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = Math.max(1 , minLimit);
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * 设置单主机等待队列上限
+         *
+         * @param maxQueue 请求数，默认为64，0表示超过限制的请求立即失败
+         *
+         * @return 构建器
+         */
+        public Builder maxQueue(int maxQueue) {
+            this.maxQueue = Math.max(0 , maxQueue);
+            return this;
+        }
+
+        /**
+         * 设置响应时间容忍倍数，
+         * 响应时间超过最小响应时间的此倍数时视为排队造成的延迟并减小限制
+         *
+         * @param tolerance 倍数，大于1，默认为2.0
+         *
+         * @return 构建器
+         */
+        public Builder tolerance(double tolerance) {
+            this.tolerance = Math.max(1.0 , tolerance);
+            return this;
+        }
+
+        /**
+         * 设置减小限制时的比例
+         *
+         * @param backoffRatio 比例，取值(0 , 1)，默认为0.9
+         *
+         * @return 构建器
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * 构建并发限制器
+         *
+         * @return 并发限制器
+         */
+        public ConcurrencyLimiter build() {
+            return new ConcurrencyLimiter(this);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.cwk.android.library.network.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.RequestPriority;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 连接预热器，
+ * 作为应用拦截器通过{@link GlobalOkHttpClient#prewarm(String...)}安装，
+ * 在后台以低优先级向指定主机发送HEAD请求，
+ * 完成DNS解析，TCP连接和TLS握手并将连接保留在连接池中，
+ * 同时记录每个主机的预热耗时和首个业务请求的耗时，用于对比预热效果
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class ConnectionPrewarmer implements Interceptor {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "ConnectionPrewarmer";
+
+    /**
+     * 各主机的预热耗时
+     */
+    private final Map<String, Long> prewarmMillis = new HashMap<>();
+
+    /**
+     * 各主机首个业务请求的耗时
+     */
+    private final Map<String, Long> firstRequestMillis = new HashMap<>();
+
+    /**
+     * 首个业务请求开始时已完成预热的主机
+     */
+    private final Map<String, Boolean> firstRequestWarmed = new HashMap<>();
+
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        String host = request.url().host();
+        boolean prewarm = request.tag(ConnectionPrewarmer.class) != null;
+        boolean first = false;
+
+        synchronized (this) {
+            if (!prewarm && !firstRequestWarmed.containsKey(host)) {
+                first = true;
+                firstRequestWarmed.put(host , prewarmMillis.containsKey(host));
+            }
+        }
+
+        if (!prewarm && !first) {
+            return chain.proceed(request);
+        }
+
+        long start = SystemClock.elapsedRealtime();
+
+        Response response = chain.proceed(request);
+
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        synchronized (this) {
+            if (prewarm) {
+                prewarmMillis.put(host , elapsed);
+            } else {
+                firstRequestMillis.put(host , elapsed);
+            }
+        }
+
+        Log.v(TAG , (prewarm ? "prewarm " : "first request ") + host + " " + elapsed + "ms");
+
+        return response;
+    }
+
+    /**
+     * 在后台预热主机
+     *
+     * @param okHttpClient 请求工具，连接保留在其连接池中
+     * @param hosts        主机地址，如"https://api.example.com"，省略协议时使用https
+     */
+    void prewarm(@NonNull OkHttpClient okHttpClient , @NonNull String... hosts) {
+        for (String host : hosts) {
+            HttpUrl url = HttpUrl.parse(host.contains("://") ? host : "https://" + host);
+
+            if (url == null) {
+                Log.d(TAG , "illegal host " + host);
+                continue;
+            }
+
+            Request request = new Request.Builder().url(url.newBuilder().encodedPath("/").query
+                    (null).build()).head().tag(ConnectionPrewarmer.class , this).build();
+
+            Call call = okHttpClient.newCall(request);
+
+            RequestScheduler.enqueue(okHttpClient , call , RequestPriority.BACKGROUND , new
+                    Callback() {
+                @Override
+                public void onFailure(@NonNull Call call , @NonNull IOException e) {
+                    Log.e(TAG , "prewarm " + url.host() + " error" , e);
+                }
+
+                @Override
+                public void onResponse(@NonNull Call call , @NonNull Response response) {
+                    // 响应码不重要，连接已建立
+                    response.close();
+                }
+            });
+        }
+    }
+
+    /**
+     * 获取主机的预热耗时
+     *
+     * @param host 主机名
+     *
+     * @return 毫秒数，未完成预热时返回-1
+     */
+    public synchronized long getPrewarmMillis(@NonNull String host) {
+        Long millis = prewarmMillis.get(host);
+        return millis == null ? -1 : millis;
+    }
+
+    /**
+     * 获取主机首个业务请求的耗时
+     *
+     * @param host 主机名
+     *
+     * @return 毫秒数，首个请求尚未完成时返回-1
+     */
+    public synchronized long getFirstRequestMillis(@NonNull String host) {
+        Long millis = firstRequestMillis.get(host);
+        return millis == null ? -1 : millis;
+    }
+
+    /**
+     * 判断主机的首个业务请求开始时是否已完成预热
+     *
+     * @param host 主机名
+     *
+     * @return true表示已预热
+     */
+    public synchronized boolean isFirstRequestWarmed(@NonNull String host) {
+        Boolean warmed = firstRequestWarmed.get(host);
+        return warmed != null && warmed;
+    }
+}
@@ -0,0 +1,113 @@
+package org.cwk.android.library.network.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+
+/**
+ * 任务的截止时间，
+ * 从任务开始执行时计时，覆盖排队，重试，退避等待和响应解析的全部耗时，
+ * 通过请求的{@link Deadline}类型标签传递，拦截器可以据此缩短自身的等待时间
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class Deadline {
+
+    /**
+     * 总时长毫秒数
+     */
+    private final long timeoutMillis;
+
+    /**
+     * 截止时刻，基于{@link SystemClock#elapsedRealtime()}
+     */
+    private final long deadlineAt;
+
+    /**
+     * 构造函数，从当前时刻开始计时
+     *
+     * @param timeoutMillis 总时长毫秒数
+     */
+    public Deadline(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.deadlineAt = SystemClock.elapsedRealtime() + timeoutMillis;
+    }
+
+    /**
+     * 获取总时长
+     *
+     * @return 毫秒数
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * 获取截止时刻
+     *
+     * @return 基于{@link SystemClock#elapsedRealtime()}的毫秒数
+     */
+    long getDeadlineAt() {
+        return deadlineAt;
+    }
+
+    /**
+     * 获取剩余时间
+     *
+     * @return 毫秒数，已超时为0
+     */
+    public long remainingMillis() {
+        return Math.max(0 , deadlineAt - SystemClock.elapsedRealtime());
+    }
+
+    /**
+     * 判断是否已超过截止时间
+     *
+     * @return true表示已超时
+     */
+    public boolean isExceeded() {
+        return SystemClock.elapsedRealtime() >= deadlineAt;
+    }
+
+    /**
+     * 将等待时间限制在剩余时间以内
+     *
+     * @param millis 等待毫秒数，0表示不限制
+     *
+     * @return 不超过剩余时间的毫秒数
+     */
+    public long clamp(long millis) {
+        long remaining = remainingMillis();
+        return millis <= 0 ? remaining : Math.min(millis , remaining);
+    }
+
+    /**
+     * 按请求的{@link Deadline}标签限制请求的总超时时间，
+     * 用于不经过{@link DeadlineInterceptor}计时的排队和读取响应体阶段，没有标签时不改变
+     *
+     * @param call 尚未执行的请求
+     *
+     * @return 传入的请求
+     */
+    @NonNull
+    public static Call apply(@NonNull Call call) {
+        Deadline deadline = call.request().tag(Deadline.class);
+
+        if (deadline != null) {
+            call.timeout().timeout(Math.max(1 , deadline.remainingMillis()) , TimeUnit
+                    .MILLISECONDS);
+        }
+
+        return call;
+    }
+
+    @Override
+    public String toString() {
+        return "timeout:" + timeoutMillis + "ms remaining:" + remainingMillis() + "ms";
+    }
+}
@@ -0,0 +1,86 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.NetworkErrorCode;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 截止时间拦截器，
+ * 读取请求的{@link Deadline}类型标签，已超时的请求不再发出，
+ * 连接和读写超时不超过剩余时间，
+ * 超时导致的异常转换为{@link NetworkErrorCode#DEADLINE_EXCEEDED}错误码的{@link FastFailException}，
+ * 应位于所有应用拦截器之前
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class DeadlineInterceptor implements Interceptor {
+
+    /**
+     * 共享实例
+     */
+    public static final DeadlineInterceptor INSTANCE = new DeadlineInterceptor();
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "DeadlineInterceptor";
+
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        Deadline deadline = request.tag(Deadline.class);
+
+        if (deadline == null) {
+            return chain.proceed(request);
+        }
+
+        long remaining = deadline.remainingMillis();
+
+        if (remaining <= 0) {
+            Log.v(TAG , "deadline exceeded before request " + request.url());
+            throw new FastFailException(NetworkErrorCode.DEADLINE_EXCEEDED , "deadline exceeded");
+        }
+
+        int timeout = (int) Math.min(remaining , Integer.MAX_VALUE);
+
+        try {
+            return chain.withConnectTimeout(limit(chain.connectTimeoutMillis() , timeout) ,
+                    TimeUnit.MILLISECONDS).withReadTimeout(limit(chain.readTimeoutMillis() ,
+                    timeout) , TimeUnit.MILLISECONDS).withWriteTimeout(limit(chain
+                    .writeTimeoutMillis() , timeout) , TimeUnit.MILLISECONDS).proceed(request);
+        } catch (IOException e) {
+            if (e instanceof FastFailException || !deadline.isExceeded()) {
+                throw e;
+            }
+
+            Log.v(TAG , "deadline exceeded " + request.url());
+            FastFailException exception = new FastFailException(NetworkErrorCode
+                    .DEADLINE_EXCEEDED , "deadline exceeded");
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    /**
+     * 将超时时间限制在剩余时间以内
+     *
+     * @param current   当前超时毫秒数，0表示不限制
+     * @param remaining 剩余毫秒数
+     *
+     * @return 新的超时毫秒数
+     */
+    private static int limit(int current , int remaining) {
+        return current == 0 ? remaining : Math.min(current , remaining);
+    }
+}
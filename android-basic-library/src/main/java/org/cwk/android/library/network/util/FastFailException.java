@@ -0,0 +1,55 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+
+import org.cwk.android.library.network.factory.NetworkErrorCode;
+
+import java.io.IOException;
+
+/**
+ * 请求在本地被快速拒绝时抛出的异常，
+ * 携带{@link NetworkErrorCode}中定义的错误码
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class FastFailException extends IOException {
+
+    /**
+     * 错误码
+     */
+    private final int code;
+
+    /**
+     * 构造函数
+     *
+     * @param code    错误码，取值为{@link NetworkErrorCode}
+     * @param message 异常信息
+     */
+    public FastFailException(int code , String message) {
+        super(message);
+        this.code = code;
+    }
+
+    /**
+     * 获取错误码
+     *
+     * @return 错误码，取值为{@link NetworkErrorCode}
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * 获取网络异常对应的错误码
+     *
+     * @param e 网络异常
+     *
+     * @return 快速失败时为对应的错误码，其他异常为{@link NetworkErrorCode#NETWORK_ERROR}
+     */
+    public static int codeOf(@NonNull IOException e) {
+        return e instanceof FastFailException ? ((FastFailException) e).code : NetworkErrorCode
+                .NETWORK_ERROR;
+    }
+}
@@ -0,0 +1,229 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * 基于{@link FileChannel}的文件请求体，
+ * 通过每个线程复用的直接缓冲区按位置大块读取，或按窗口映射文件后写出，
+ * 避免经由{@link FileInputStream}和堆内数组的逐段拷贝，
+ * 可以只发送文件的一个区域用于分块上传，
+ * 长度在创建时确定，写出和进度回调时不再查询文件
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class FileChannelRequestBody extends RequestBody {
+
+    /**
+     * 直接缓冲区字节数
+     */
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * 映射窗口字节数
+     */
+    private static final long MAP_WINDOW_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * 每个写出线程复用的直接缓冲区，直接缓冲区的分配和回收代价较高
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFER = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+    };
+
+    /**
+     * 媒体类型
+     */
+    private final MediaType contentType;
+
+    /**
+     * 文件
+     */
+    private final File file;
+
+    /**
+     * 起始位置
+     */
+    private final long offset;
+
+    /**
+     * 发送的字节数
+     */
+    private final long length;
+
+    /**
+     * 是否使用内存映射
+     */
+    private final boolean mapped;
+
+    /**
+     * 构造函数
+     *
+     * @param contentType 媒体类型
+     * @param file        文件
+     * @param offset      起始位置
+     * @param length      发送的字节数
+     * @param mapped      true表示按窗口映射文件，false表示使用直接缓冲区读取
+     */
+    private FileChannelRequestBody(MediaType contentType , File file , long offset , long
+            length , boolean mapped) {
+        this.contentType = contentType;
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.mapped = mapped;
+    }
+
+    /**
+     * 创建发送完整文件的请求体，使用直接缓冲区读取
+     *
+     * @param contentType 媒体类型
+     * @param file        文件
+     *
+     * @return 请求体
+     */
+    @NonNull
+    public static FileChannelRequestBody create(@Nullable MediaType contentType , @NonNull File
+            file) {
+        return new FileChannelRequestBody(contentType , file , 0 , file.length() , false);
+    }
+
+    /**
+     * 创建发送文件一个区域的请求体
+     *
+     * @param contentType 媒体类型
+     * @param file        文件
+     * @param offset      起始位置
+     * @param length      发送的字节数
+     * @param mapped      true表示按窗口映射文件，适合超大文件的顺序发送，
+     *                    映射无法主动解除，已写出的窗口在垃圾回收时才释放地址空间，
+     *                    false表示使用直接缓冲区读取
+     *
+     * @return 请求体
+     */
+    @NonNull
+    public static FileChannelRequestBody range(@Nullable MediaType contentType , @NonNull File
+            file , long offset , long length , boolean mapped) {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("offset:" + offset + " length:" + length);
+        }
+
+        return new FileChannelRequestBody(contentType , file , offset , length , mapped);
+    }
+
+    /**
+     * 创建发送同一文件另一个区域的请求体
+     *
+     * @param offset 起始位置
+     * @param length 发送的字节数
+     *
+     * @return 新请求体
+     */
+    @NonNull
+    public FileChannelRequestBody slice(long offset , long length) {
+        return range(contentType , file , offset , length , mapped);
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        try (FileInputStream inputStream = new FileInputStream(file) ; FileChannel channel =
+                inputStream.getChannel()) {
+            if (offset + length > channel.size()) {
+                throw new IOException("file truncated " + file);
+            }
+
+            if (mapped) {
+                writeMapped(channel , sink);
+            } else {
+                writeBuffered(channel , sink);
+            }
+        }
+    }
+
+    /**
+     * 使用直接缓冲区按位置读取并写出
+     *
+     * @param channel 文件通道
+     * @param sink    写出目标
+     *
+     * @throws IOException 文件或网络异常
+     */
+    private void writeBuffered(FileChannel channel , BufferedSink sink) throws IOException {
+        ByteBuffer buffer = BUFFER.get();
+
+        long position = offset;
+        long end = offset + length;
+
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity() , end - position));
+
+            int read = channel.read(buffer , position);
+
+            if (read == -1) {
+                throw new IOException("file truncated " + file);
+            }
+
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                sink.write(buffer);
+            }
+
+            position += read;
+        }
+    }
+
+    /**
+     * 按窗口映射文件并写出，
+     * Android没有解除映射的公开接口，每个窗口写出后不再引用，由垃圾回收释放
+     *
+     * @param channel 文件通道
+     * @param sink    写出目标
+     *
+     * @throws IOException 文件或网络异常
+     */
+    private void writeMapped(FileChannel channel , BufferedSink sink) throws IOException {
+        long position = offset;
+        long end = offset + length;
+
+        while (position < end) {
+            long size = Math.min(MAP_WINDOW_SIZE , end - position);
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY , position ,
+                    size);
+
+            while (buffer.hasRemaining()) {
+                sink.write(buffer);
+            }
+
+            position += size;
+        }
+    }
+}
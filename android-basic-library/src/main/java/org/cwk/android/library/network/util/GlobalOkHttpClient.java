@@ -1,13 +1,27 @@
 package org.cwk.android.library.network.util;
 
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
 import android.os.Build;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
 
 import org.cwk.android.library.BuildConfig;
 import org.cwk.android.library.global.ApplicationStaticValue;
+import org.cwk.android.library.global.Global;
+import org.cwk.android.library.network.factory.NetworkQuality;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Authenticator;
+import okhttp3.Dns;
+import okhttp3.EventListener;
 import okhttp3.OkHttpClient;
 
 /**
@@ -20,6 +34,11 @@ import okhttp3.OkHttpClient;
  */
 public class GlobalOkHttpClient {
 
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "GlobalOkHttpClient";
+
     /**
      * http头用户代理字段，有默认的定义
      */
@@ -28,15 +47,119 @@ public class GlobalOkHttpClient {
     /**
      * 全局网络请求工具
      */
-    private static OkHttpClient okHttpClient;
+    private static volatile OkHttpClient okHttpClient;
+
+    /**
+     * 调用方设置的连接超时毫秒数，估算器未安装时恢复
+     */
+    private static int baseConnectTimeout;
+
+    /**
+     * 调用方设置的读取超时毫秒数，估算器未安装时恢复
+     */
+    private static int baseReadTimeout;
+
+    /**
+     * 调用方设置的写入超时毫秒数，估算器未安装时恢复
+     */
+    private static int baseWriteTimeout;
+
+    /**
+     * 调用方设置的最大并发数，估算器未安装时恢复
+     */
+    private static int baseMaxRequests;
+
+    /**
+     * 调用方设置的单主机最大并发数，估算器和并发限制器未安装时恢复
+     */
+    private static int baseMaxRequestsPerHost;
+
+    /**
+     * 调用方设置的请求事件监听器工厂，请求指标同时转发给它
+     */
+    private static EventListener.Factory baseEventListenerFactory;
+
+    /**
+     * 全局响应缓存，未安装时为null
+     */
+    private static HttpResponseCache responseCache = null;
+
+    /**
+     * 全局熔断器，未安装时为null
+     */
+    private static CircuitBreaker circuitBreaker = null;
+
+    /**
+     * 全局令牌认证器，未安装时为null
+     */
+    private static TokenAuthenticator tokenAuthenticator = null;
+
+    /**
+     * 全局DNS缓存，未安装时为null
+     */
+    private static CachedDns dnsCache = null;
+
+    /**
+     * 全局连接预热器，未预热时为null
+     */
+    private static ConnectionPrewarmer prewarmer = null;
+
+    /**
+     * 全局请求指标接收者，未安装时为null
+     */
+    private static volatile MetricsSink metricsSink = null;
+
+    /**
+     * 全局网络质量估算器，未安装时为null
+     */
+    private static volatile NetworkQualityEstimator qualityEstimator = null;
+
+    /**
+     * 全局并发限制器，未安装时为null
+     */
+    private static volatile ConcurrencyLimiter concurrencyLimiter = null;
+
+    /**
+     * 各网络质量等级对应的全局网络工具，等级切换时复用，全局网络工具的其它配置改变时清空
+     */
+    private static final OkHttpClient[] QUALITY_CLIENTS = new OkHttpClient[NetworkQuality
+            .EXCELLENT + 1];
+
+    /**
+     * 已注册的网络切换广播接收者，未注册时为null
+     */
+    private static BroadcastReceiver connectivityReceiver = null;
+
+    /**
+     * 将请求指标分发给指标接收者和网络质量估算器
+     */
+    private static final MetricsSink METRICS_DISPATCHER = metrics -> {
+        NetworkQualityEstimator estimator = qualityEstimator;
+        if (estimator != null) {
+            estimator.onMetrics(metrics);
+        }
+
+        MetricsSink sink = metricsSink;
+        if (sink != null) {
+            sink.onMetrics(metrics);
+        }
+    };
+
+    /**
+     * 网络质量等级变化时调整全局网络工具
+     */
+    private static final OnNetworkQualityListener QUALITY_LISTENER = quality ->
+            applyQuality();
 
     static {
-        okHttpClient = new OkHttpClient.Builder()
+        OkHttpClient client = new OkHttpClient.Builder()
                 // 设置默认读取超时时间
                 .readTimeout(30 , TimeUnit.SECONDS)
                 // 设置默认写入超时时间
                 .writeTimeout(30 , TimeUnit.SECONDS).build();
 
+        saveBase(client , null);
+        okHttpClient = client;
     }
 
     /**
@@ -88,11 +211,428 @@ public class GlobalOkHttpClient {
     }
 
     /**
-     * 设置网络工具
+     * 设置网络工具，
+     * 同时清空由旧网络工具派生的请求工具缓存{@link OkHttpClientCache}，
+     * 其超时时间，并发数和事件监听器作为基础配置，
+     * 已安装的网络质量估算器，并发限制器和请求指标接收者仅在此基础上调整各自负责的配置
      *
      * @param okHttpClient 带默认设置的OkHttpClient对象
      */
-    public static void setOkHttpClient(@NonNull OkHttpClient okHttpClient) {
-        GlobalOkHttpClient.okHttpClient = okHttpClient;
+    public static synchronized void setOkHttpClient(@NonNull OkHttpClient okHttpClient) {
+        saveBase(okHttpClient , GlobalOkHttpClient.okHttpClient);
+        update(okHttpClient);
+
+        if (metricsSink != null || qualityEstimator != null) {
+            updateEventListener();
+        }
+
+        if (qualityEstimator != null || concurrencyLimiter != null) {
+            applyQuality();
+        }
+    }
+
+    /**
+     * 记录调用方设置的基础配置，
+     * 新网络工具通常由当前网络工具派生，只有与当前值不同的配置才视为调用方的修改，
+     * 避免将估算器调整后的值记录为基础配置
+     *
+     * @param client   调用方设置的网络工具
+     * @param previous 当前的网络工具，首次设置时为null
+     */
+    private static void saveBase(OkHttpClient client , OkHttpClient previous) {
+        if (previous == null || client.connectTimeoutMillis() != previous
+                .connectTimeoutMillis()) {
+            baseConnectTimeout = client.connectTimeoutMillis();
+        }
+
+        if (previous == null || client.readTimeoutMillis() != previous.readTimeoutMillis()) {
+            baseReadTimeout = client.readTimeoutMillis();
+        }
+
+        if (previous == null || client.writeTimeoutMillis() != previous.writeTimeoutMillis()) {
+            baseWriteTimeout = client.writeTimeoutMillis();
+        }
+
+        if (previous == null || client.dispatcher() != previous.dispatcher()) {
+            baseMaxRequests = client.dispatcher().getMaxRequests();
+            baseMaxRequestsPerHost = client.dispatcher().getMaxRequestsPerHost();
+        }
+
+        if (previous == null || client.eventListenerFactory() != previous
+                .eventListenerFactory()) {
+            baseEventListenerFactory = client.eventListenerFactory();
+        }
+    }
+
+    /**
+     * 替换全局网络工具，不改变基础配置，
+     * 同时清空各等级的网络工具和由旧网络工具派生的请求工具缓存
+     *
+     * @param client 新的网络工具
+     */
+    private static void update(OkHttpClient client) {
+        okHttpClient = client;
+
+        for (int i = 0 ; i < QUALITY_CLIENTS.length ; i++) {
+            QUALITY_CLIENTS[i] = null;
+        }
+
+        OkHttpClientCache.clear();
+    }
+
+    /**
+     * 为全局网络工具安装磁盘响应缓存，
+     * 重复调用会替换并关闭之前安装的缓存，
+     * 需要在发起请求前调用，通常在应用启动时设置
+     *
+     * @param directory 缓存目录，应当为应用独占的目录，如{@code new File(context.getCacheDir(), "http")}
+     * @param maxSize   缓存最大字节数，超出后按最近最少使用淘汰
+     *
+     * @return 安装的响应缓存
+     */
+    public static synchronized HttpResponseCache installCache(@NonNull File directory , long
+            maxSize) {
+        HttpResponseCache cache = new HttpResponseCache(directory , maxSize);
+
+        OkHttpClient.Builder builder = okHttpClient.newBuilder().cache(cache.getCache());
+
+        if (responseCache != null) {
+            builder.interceptors().remove(responseCache.getInterceptor());
+        }
+
+        builder.addInterceptor(cache.getInterceptor());
+
+        HttpResponseCache oldCache = responseCache;
+
+        responseCache = cache;
+        update(builder.build());
+
+        if (oldCache != null) {
+            // 释放旧缓存的文件句柄，同一目录不能同时被两个缓存使用
+            try {
+                oldCache.getCache().close();
+            } catch (IOException e) {
+                Log.e(TAG , "close old cache error" , e);
+            }
+        }
+
+        return cache;
+    }
+
+    /**
+     * 获取全局响应缓存
+     *
+     * @return 响应缓存，未安装时返回null
+     */
+    @Nullable
+    public static HttpResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * 为全局网络工具安装按主机划分的熔断器，
+     * 重复调用会替换之前安装的熔断器，传入null表示移除，
+     * 需要在发起请求前调用，通常在应用启动时设置
+     *
+     * @param breaker 熔断器，通过{@link CircuitBreaker.Builder}构建
+     */
+    public static synchronized void installCircuitBreaker(@Nullable CircuitBreaker breaker) {
+        OkHttpClient.Builder builder = okHttpClient.newBuilder();
+
+        if (circuitBreaker != null) {
+            builder.interceptors().remove(circuitBreaker);
+        }
+
+        if (breaker != null) {
+            // 位于最前，熔断打开时不经过其它拦截器
+            builder.interceptors().add(0 , breaker);
+        }
+
+        circuitBreaker = breaker;
+        update(builder.build());
+    }
+
+    /**
+     * 获取全局熔断器
+     *
+     * @return 熔断器，未安装时返回null
+     */
+    @Nullable
+    public static CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 为全局网络工具安装访问令牌认证器，
+     * 没有认证头的请求自动附加当前令牌，收到401时单次刷新令牌后重发，
+     * 重复调用会替换之前安装的认证器，传入null表示移除，
+     * 需要在发起请求前调用，通常在应用启动时设置
+     *
+     * @param authenticator 令牌认证器，通过{@link TokenAuthenticator.Builder}构建
+     */
+    public static synchronized void installTokenAuthenticator(@Nullable TokenAuthenticator
+                                                                      authenticator) {
+        OkHttpClient.Builder builder = okHttpClient.newBuilder();
+
+        if (tokenAuthenticator != null) {
+            builder.interceptors().remove(tokenAuthenticator);
+        }
+
+        if (authenticator != null) {
+            builder.addInterceptor(authenticator);
+        }
+
+        builder.authenticator(authenticator == null ? Authenticator.NONE : authenticator);
+
+        tokenAuthenticator = authenticator;
+        update(builder.build());
+    }
+
+    /**
+     * 获取全局令牌认证器
+     *
+     * @return 令牌认证器，未安装时返回null
+     */
+    @Nullable
+    public static TokenAuthenticator getTokenAuthenticator() {
+        return tokenAuthenticator;
+    }
+
+    /**
+     * 为全局网络工具安装内存DNS缓存，
+     * 重复调用会替换之前安装的缓存，传入null表示恢复系统DNS，
+     * 需要在发起请求前调用，通常在应用启动时设置
+     *
+     * @param dns DNS缓存
+     */
+    public static synchronized void installDnsCache(@Nullable CachedDns dns) {
+        dnsCache = dns;
+        update(okHttpClient.newBuilder().dns(dns == null ? Dns.SYSTEM : dns).build());
+    }
+
+    /**
+     * 获取全局DNS缓存
+     *
+     * @return DNS缓存，未安装时返回null
+     */
+    @Nullable
+    public static CachedDns getDnsCache() {
+        return dnsCache;
+    }
+
+    /**
+     * 在后台预热主机连接，
+     * 以低优先级完成DNS解析，TCP连接和TLS握手并将连接保留在全局网络工具的连接池中，
+     * 首次调用时安装{@link ConnectionPrewarmer}，之后各主机首个请求的耗时均会被记录，
+     * 不传入主机时仅安装预热器用于记录未预热时的首个请求耗时，
+     * 派生的请求工具共享同一个连接池，通常在应用启动时调用
+     *
+     * @param hosts 主机地址，如"https://api.example.com"，省略协议时使用https
+     */
+    public static synchronized void prewarm(@NonNull String... hosts) {
+        if (prewarmer == null) {
+            prewarmer = new ConnectionPrewarmer();
+            update(okHttpClient.newBuilder().addInterceptor(prewarmer).build());
+        }
+
+        prewarmer.prewarm(okHttpClient , hosts);
+    }
+
+    /**
+     * 获取全局连接预热器，用于查询预热耗时和首个请求耗时
+     *
+     * @return 预热器，未调用{@link #prewarm(String...)}时返回null
+     */
+    @Nullable
+    public static ConnectionPrewarmer getPrewarmer() {
+        return prewarmer;
+    }
+
+    /**
+     * 为全局网络工具安装请求指标接收者，
+     * 每个请求结束后将DNS，连接，TLS，写出请求，首字节，读取响应体和总耗时以及收发字节数交给接收者，
+     * 由任务发起的请求会附带任务类名和请求地址，
+     * 重复调用会替换之前的接收者，传入null表示移除
+     *
+     * @param sink 指标接收者
+     */
+    public static synchronized void installMetricsSink(@Nullable MetricsSink sink) {
+        metricsSink = sink;
+        updateEventListener();
+    }
+
+    /**
+     * 获取全局请求指标接收者
+     *
+     * @return 指标接收者，未安装时返回null
+     */
+    @Nullable
+    public static MetricsSink getMetricsSink() {
+        return metricsSink;
+    }
+
+    /**
+     * 为全局网络工具安装网络质量估算器，
+     * 估算器从每个请求的耗时指标中修正往返时延和带宽估计，
+     * 等级变化时全局网络工具的超时时间在基础配置上按等级放大，{@link okhttp3.Dispatcher}的并发数随之调整，
+     * {@link RequestScheduler}按调整后的并发数放行请求，
+     * {@link RetryInterceptor}在网络差时减少重试次数并延长退避等待，
+     * 单个任务设置的超时时间依然优先，
+     * 重复调用会替换之前的估算器，传入null表示移除并恢复默认配置，
+     * 估算器和并发限制器均已移除时注销网络切换广播
+     *
+     * @param estimator 网络质量估算器
+     */
+    public static synchronized void installQualityEstimator(@Nullable NetworkQualityEstimator
+                                                                    estimator) {
+        if (qualityEstimator != null) {
+            qualityEstimator.removeListener(QUALITY_LISTENER);
+        }
+
+        qualityEstimator = estimator;
+
+        if (estimator != null) {
+            estimator.addListener(QUALITY_LISTENER);
+        }
+
+        updateConnectivity();
+
+        updateEventListener();
+        applyQuality();
+    }
+
+    /**
+     * 获取全局网络质量估算器
+     *
+     * @return 估算器，未安装时返回null
+     */
+    @Nullable
+    public static NetworkQualityEstimator getQualityEstimator() {
+        return qualityEstimator;
+    }
+
+    /**
+     * 为全局网络工具安装按主机划分的自适应并发限制器，
+     * {@link RequestScheduler}按限制器给出的各主机并发数放行异步请求，
+     * {@link okhttp3.Dispatcher}的单主机并发数放宽到限制器的最大并发限制，
+     * 网络切换时重置各主机的限制，
+     * 重复调用会替换之前的限制器，传入null表示移除并恢复默认配置，
+     * 估算器和并发限制器均已移除时注销网络切换广播
+     *
+     * @param limiter 并发限制器，通过{@link ConcurrencyLimiter.Builder}构建
+     */
+    public static synchronized void installConcurrencyLimiter(@Nullable ConcurrencyLimiter
+                                                                      limiter) {
+        concurrencyLimiter = limiter;
+
+        updateConnectivity();
+
+        applyQuality();
+    }
+
+    /**
+     * 获取全局并发限制器
+     *
+     * @return 并发限制器，未安装时返回null
+     */
+    @Nullable
+    public static ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * 按指标接收者和网络质量估算器的安装情况设置请求事件监听器，
+     * 调用方设置的监听器始终保留
+     */
+    private static void updateEventListener() {
+        update(okHttpClient.newBuilder().eventListenerFactory(metricsSink == null &&
+                qualityEstimator == null ? baseEventListenerFactory : MetricsEventListener
+                .factory(METRICS_DISPATCHER , baseEventListenerFactory)).build());
+    }
+
+    /**
+     * 按当前网络质量等级调整超时时间和并发数，未安装估算器时恢复基础配置，
+     * 安装并发限制器时单主机并发数由限制器决定，
+     * 各等级的网络工具被保留，等级切换时不清空派生的请求工具缓存，
+     * 由估算器在请求线程中回调，与其它修改全局网络工具的方法互斥
+     */
+    private static synchronized void applyQuality() {
+        NetworkQualityEstimator estimator = qualityEstimator;
+
+        // 派生的请求工具共享同一个调度器
+        okHttpClient.dispatcher().setMaxRequests(estimator == null ? baseMaxRequests :
+                estimator.getMaxRequests());
+        ConcurrencyLimiter limiter = concurrencyLimiter;
+
+        if (limiter != null) {
+            okHttpClient.dispatcher().setMaxRequestsPerHost(limiter.getMaxLimit());
+        } else {
+            okHttpClient.dispatcher().setMaxRequestsPerHost(estimator == null ?
+                    baseMaxRequestsPerHost : estimator.getMaxRequestsPerHost());
+        }
+
+        if (estimator == null) {
+            update(okHttpClient.newBuilder().connectTimeout(baseConnectTimeout , TimeUnit
+                    .MILLISECONDS).readTimeout(baseReadTimeout , TimeUnit.MILLISECONDS)
+                    .writeTimeout(baseWriteTimeout , TimeUnit.MILLISECONDS).build());
+            return;
+        }
+
+        int quality = estimator.getQuality();
+        OkHttpClient client = QUALITY_CLIENTS[quality];
+
+        if (client == null) {
+            client = okHttpClient.newBuilder().connectTimeout(estimator.scaleTimeout
+                    (baseConnectTimeout) , TimeUnit.MILLISECONDS).readTimeout(estimator
+                    .scaleTimeout(baseReadTimeout) , TimeUnit.MILLISECONDS).writeTimeout
+                    (estimator.scaleTimeout(baseWriteTimeout) , TimeUnit.MILLISECONDS).build();
+            QUALITY_CLIENTS[quality] = client;
+        }
+
+        // 只切换网络工具，由OkHttpClientCache按来源分别保留派生的请求工具
+        okHttpClient = client;
+    }
+
+    /**
+     * 按估算器和并发限制器的安装情况注册或注销网络切换广播，切换时重置网络质量估计和并发限制
+     */
+    private static void updateConnectivity() {
+        Context context = Global.getApplication();
+
+        if (context == null) {
+            return;
+        }
+
+        if (qualityEstimator == null && concurrencyLimiter == null) {
+            if (connectivityReceiver != null) {
+                context.unregisterReceiver(connectivityReceiver);
+                connectivityReceiver = null;
+            }
+            return;
+        }
+
+        if (connectivityReceiver != null) {
+            return;
+        }
+
+        connectivityReceiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context , Intent intent) {
+                NetworkQualityEstimator estimator = qualityEstimator;
+
+                if (estimator != null) {
+                    estimator.reset();
+                }
+
+                ConcurrencyLimiter limiter = concurrencyLimiter;
+
+                if (limiter != null) {
+                    limiter.reset();
+                }
+            }
+        };
+
+        context.registerReceiver(connectivityReceiver , new IntentFilter(ConnectivityManager
+                .CONNECTIVITY_ACTION));
     }
 }
@@ -0,0 +1,187 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * 请求体gzip压缩拦截器，
+ * 仅处理带有{@link Threshold}类型标签的请求，
+ * 请求体长度达到阈值时在写出过程中压缩并添加"Content-Encoding: gzip"请求头，
+ * 服务器以415响应拒绝压缩请求体时记录该主机并以未压缩的请求体重发一次，
+ * 之后发往该主机的请求不再压缩
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class GzipRequestInterceptor implements Interceptor {
+
+    /**
+     * 共享实例
+     */
+    public static final GzipRequestInterceptor INSTANCE = new GzipRequestInterceptor();
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "GzipRequestInterceptor";
+
+    /**
+     * 拒绝压缩请求体的主机
+     */
+    private static final Set<String> REJECTED_HOSTS = new HashSet<>();
+
+    /**
+     * 构造函数
+     */
+    private GzipRequestInterceptor() {
+    }
+
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        Threshold threshold = request.tag(Threshold.class);
+        RequestBody body = request.body();
+
+        if (threshold == null || body == null || request.header("Content-Encoding") != null) {
+            return chain.proceed(request);
+        }
+
+        String host = request.url().host() + ":" + request.url().port();
+
+        if (isRejected(host)) {
+            return chain.proceed(request);
+        }
+
+        long length = body.contentLength();
+
+        if (length > -1 && length < threshold.bytes) {
+            return chain.proceed(request);
+        }
+
+        Log.v(TAG , "gzip request body length:" + length + " " + request.url());
+
+        Request compressed = request.newBuilder().header("Content-Encoding" , "gzip").method
+                (request.method() , new GzipRequestBody(body)).build();
+
+        Response response = chain.proceed(compressed);
+
+        if (response.code() != 415) {
+            return response;
+        }
+
+        // 服务器不接受压缩请求体，记录后以原始请求体重发
+        Log.v(TAG , "gzip rejected by " + host);
+
+        synchronized (REJECTED_HOSTS) {
+            REJECTED_HOSTS.add(host);
+        }
+
+        response.close();
+
+        return chain.proceed(request);
+    }
+
+    /**
+     * 判断主机是否拒绝压缩请求体
+     *
+     * @param host 主机，格式为"host:port"
+     *
+     * @return true表示拒绝
+     */
+    public static boolean isRejected(@NonNull String host) {
+        synchronized (REJECTED_HOSTS) {
+            return REJECTED_HOSTS.contains(host);
+        }
+    }
+
+    /**
+     * 清空拒绝压缩请求体的主机记录，
+     * 服务器配置改变后可以调用以重新尝试压缩
+     */
+    public static void clearRejectedHosts() {
+        synchronized (REJECTED_HOSTS) {
+            REJECTED_HOSTS.clear();
+        }
+    }
+
+    /**
+     * 压缩阈值，作为请求标签启用压缩
+     */
+    public static final class Threshold {
+
+        /**
+         * 最小压缩字节数
+         */
+        private final long bytes;
+
+        /**
+         * 构造函数
+         *
+         * @param bytes 请求体达到该字节数时压缩，长度未知的请求体总是压缩
+         */
+        public Threshold(long bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * 获取最小压缩字节数
+         *
+         * @return 字节数
+         */
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * 在写出时压缩的请求体，长度未知
+     */
+    private static final class GzipRequestBody extends RequestBody {
+
+        /**
+         * 原始请求体
+         */
+        private final RequestBody body;
+
+        /**
+         * 构造函数
+         *
+         * @param body 原始请求体
+         */
+        GzipRequestBody(RequestBody body) {
+            this.body = body;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(@NonNull BufferedSink sink) throws IOException {
+            BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
+            body.writeTo(gzipSink);
+            gzipSink.close();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * 磁盘http响应缓存，
+ * 基于OkHttp的{@link Cache}实现LRU淘汰和ETag/Last-Modified验证，
+ * 同时统计缓存命中，未命中和验证的次数
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class HttpResponseCache {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "HttpResponseCache";
+
+    /**
+     * 实际的磁盘缓存
+     */
+    private final Cache cache;
+
+    /**
+     * 直接使用缓存的次数
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * 未使用缓存的次数
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * 验证后缓存仍然有效的次数，即服务器响应304
+     */
+    private final AtomicLong revalidateCount = new AtomicLong();
+
+    /**
+     * 验证后缓存已失效的次数
+     */
+    private final AtomicLong revalidateChangedCount = new AtomicLong();
+
+    /**
+     * 统计拦截器
+     */
+    private final Interceptor interceptor = new Interceptor() {
+        @Override
+        public Response intercept(@NonNull Chain chain) throws IOException {
+            Response response = chain.proceed(chain.request());
+
+            if (!"GET".equals(chain.request().method())) {
+                return response;
+            }
+
+            if (response.cacheResponse() == null) {
+                missCount.incrementAndGet();
+            } else if (response.networkResponse() == null) {
+                hitCount.incrementAndGet();
+            } else if (response.networkResponse().code() == 304) {
+                revalidateCount.incrementAndGet();
+            } else {
+                revalidateChangedCount.incrementAndGet();
+            }
+
+            return response;
+        }
+    };
+
+    /**
+     * 构造函数
+     *
+     * @param directory 缓存目录，应当为应用独占的目录
+     * @param maxSize   缓存最大字节数，超出后按最近最少使用淘汰
+     */
+    public HttpResponseCache(@NonNull File directory , long maxSize) {
+        Log.v(TAG , "cache directory:" + directory + " maxSize:" + maxSize);
+        this.cache = new Cache(directory , maxSize);
+    }
+
+    /**
+     * 获取OkHttp缓存对象
+     *
+     * @return 缓存对象
+     */
+    @NonNull
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * 获取统计用的拦截器
+     *
+     * @return 应用拦截器
+     */
+    @NonNull
+    Interceptor getInterceptor() {
+        return interceptor;
+    }
+
+    /**
+     * 获取直接使用缓存的次数
+     *
+     * @return 次数
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * 获取未使用缓存直接访问网络的次数
+     *
+     * @return 次数
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * 获取向服务器验证后缓存仍然有效的次数
+     *
+     * @return 次数
+     */
+    public long getRevalidateCount() {
+        return revalidateCount.get();
+    }
+
+    /**
+     * 获取向服务器验证后缓存已失效并重新下载的次数
+     *
+     * @return 次数
+     */
+    public long getRevalidateChangedCount() {
+        return revalidateChangedCount.get();
+    }
+
+    /**
+     * 获取当前缓存占用的字节数
+     *
+     * @return 字节数，读取失败返回-1
+     */
+    public long getSize() {
+        try {
+            return cache.size();
+        } catch (IOException e) {
+            Log.e(TAG , "getSize error" , e);
+            return -1;
+        }
+    }
+
+    /**
+     * 重置统计数据
+     */
+    public void resetStatistics() {
+        hitCount.set(0);
+        missCount.set(0);
+        revalidateCount.set(0);
+        revalidateChangedCount.set(0);
+    }
+
+    /**
+     * 清空所有缓存内容
+     */
+    public void evictAll() {
+        try {
+            cache.evictAll();
+        } catch (IOException e) {
+            Log.e(TAG , "evictAll error" , e);
+        }
+    }
+}
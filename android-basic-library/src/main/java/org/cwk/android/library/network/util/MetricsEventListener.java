@@ -0,0 +1,286 @@
+package org.cwk.android.library.network.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 记录单次请求各阶段耗时的事件监听器，
+ * 通过{@link GlobalOkHttpClient#installMetricsSink(MetricsSink)}安装到全局网络工具，
+ * 请求结束后将{@link RequestMetrics}交给{@link MetricsSink}，
+ * 所有事件同时转发给原有的事件监听器
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class MetricsEventListener extends EventListener {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "MetricsEventListener";
+
+    /**
+     * 指标接收者
+     */
+    private final MetricsSink sink;
+
+    /**
+     * 原有的事件监听器
+     */
+    private final EventListener delegate;
+
+    /**
+     * 本次请求的指标
+     */
+    private final RequestMetrics metrics = new RequestMetrics();
+
+    /**
+     * 请求开始时间
+     */
+    private long callStart = 0;
+
+    /**
+     * DNS解析开始时间
+     */
+    private long dnsStart = 0;
+
+    /**
+     * 连接开始时间
+     */
+    private long connectStart = 0;
+
+    /**
+     * TLS握手开始时间
+     */
+    private long secureConnectStart = 0;
+
+    /**
+     * 写出请求开始时间
+     */
+    private long requestStart = 0;
+
+    /**
+     * 写出请求结束时间
+     */
+    private long requestEnd = 0;
+
+    /**
+     * 读取响应体开始时间
+     */
+    private long responseBodyStart = 0;
+
+    /**
+     * 构造函数
+     *
+     * @param sink     指标接收者
+     * @param delegate 原有的事件监听器
+     */
+    private MetricsEventListener(MetricsSink sink , EventListener delegate) {
+        this.sink = sink;
+        this.delegate = delegate;
+    }
+
+    /**
+     * 创建监听器工厂
+     *
+     * @param sink 指标接收者
+     *
+     * @return 监听器工厂
+     */
+    @NonNull
+    public static EventListener.Factory factory(@NonNull MetricsSink sink) {
+        return call -> new MetricsEventListener(sink , EventListener.NONE);
+    }
+
+    /**
+     * 创建监听器工厂，事件同时转发给原有的监听器
+     *
+     * @param sink     指标接收者
+     * @param delegate 原有的监听器工厂
+     *
+     * @return 监听器工厂
+     */
+    @NonNull
+    public static EventListener.Factory factory(@NonNull MetricsSink sink , @NonNull
+            EventListener.Factory delegate) {
+        return call -> new MetricsEventListener(sink , delegate.create(call));
+    }
+
+    /**
+     * 获取当前时间
+     *
+     * @return 毫秒数
+     */
+    private static long now() {
+        return SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        delegate.callStart(call);
+        callStart = now();
+
+        Request request = call.request();
+        metrics.method = request.method();
+        metrics.url = request.url().toString();
+        metrics.setSource(request.tag(RequestMetrics.Source.class));
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call , @NonNull String domainName) {
+        delegate.dnsStart(call , domainName);
+        dnsStart = now();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call , @NonNull String domainName , @NonNull
+            List<InetAddress> inetAddressList) {
+        delegate.dnsEnd(call , domainName , inetAddressList);
+        metrics.dnsMillis += now() - dnsStart;
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call , @NonNull InetSocketAddress inetSocketAddress ,
+                             @NonNull Proxy proxy) {
+        delegate.connectStart(call , inetSocketAddress , proxy);
+        connectStart = now();
+        metrics.connectionReused = false;
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        delegate.secureConnectStart(call);
+        secureConnectStart = now();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call , Handshake handshake) {
+        delegate.secureConnectEnd(call , handshake);
+        metrics.tlsMillis += now() - secureConnectStart;
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call , @NonNull InetSocketAddress inetSocketAddress ,
+                           @NonNull Proxy proxy , Protocol protocol) {
+        delegate.connectEnd(call , inetSocketAddress , proxy , protocol);
+        metrics.connectMillis += now() - connectStart;
+    }
+
+    @Override
+    public void connectFailed(@NonNull Call call , @NonNull InetSocketAddress inetSocketAddress ,
+                              @NonNull Proxy proxy , Protocol protocol , @NonNull IOException
+                                      ioe) {
+        delegate.connectFailed(call , inetSocketAddress , proxy , protocol , ioe);
+        metrics.connectMillis += now() - connectStart;
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call , @NonNull Connection connection) {
+        delegate.connectionAcquired(call , connection);
+        requestStart = 0;
+        requestEnd = 0;
+    }
+
+    @Override
+    public void connectionReleased(@NonNull Call call , @NonNull Connection connection) {
+        delegate.connectionReleased(call , connection);
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        delegate.requestHeadersStart(call);
+        requestStart = now();
+    }
+
+    @Override
+    public void requestHeadersEnd(@NonNull Call call , @NonNull Request request) {
+        delegate.requestHeadersEnd(call , request);
+        requestEnd = now();
+    }
+
+    @Override
+    public void requestBodyStart(@NonNull Call call) {
+        delegate.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call , long byteCount) {
+        delegate.requestBodyEnd(call , byteCount);
+        requestEnd = now();
+        metrics.bytesSent += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        delegate.responseHeadersStart(call);
+        long now = now();
+
+        if (requestStart > 0) {
+            metrics.requestWriteMillis += requestEnd - requestStart;
+            metrics.firstByteMillis += now - requestEnd;
+            requestStart = 0;
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call , @NonNull Response response) {
+        delegate.responseHeadersEnd(call , response);
+        metrics.code = response.code();
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        delegate.responseBodyStart(call);
+        responseBodyStart = now();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call , long byteCount) {
+        delegate.responseBodyEnd(call , byteCount);
+        metrics.bodyReadMillis += now() - responseBodyStart;
+        metrics.bytesReceived += byteCount;
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        finish();
+        delegate.callEnd(call);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call , @NonNull IOException ioe) {
+        metrics.failed = true;
+        metrics.failure = ioe.toString();
+        finish();
+        delegate.callFailed(call , ioe);
+    }
+
+    /**
+     * 请求结束，提交指标
+     */
+    private void finish() {
+        metrics.totalMillis = now() - callStart;
+
+        try {
+            sink.onMetrics(metrics);
+        } catch (Exception e) {
+            Log.e(TAG , "sink error" , e);
+        }
+    }
+}
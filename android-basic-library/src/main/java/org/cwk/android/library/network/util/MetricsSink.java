@@ -0,0 +1,22 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+
+/**
+ * 网络请求耗时指标的接收接口，
+ * 通过{@link GlobalOkHttpClient#installMetricsSink(MetricsSink)}安装
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface MetricsSink {
+
+    /**
+     * 一次请求结束，
+     * 在网络线程中回调，实现应当尽快返回
+     *
+     * @param metrics 请求指标
+     */
+    void onMetrics(@NonNull RequestMetrics metrics);
+}
@@ -0,0 +1,20 @@
+package org.cwk.android.library.network.util;
+
+import org.cwk.android.library.network.factory.CachePolicy;
+
+/**
+ * 可设置响应缓存策略的工具接口
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface NetworkCachePolicyHandler {
+
+    /**
+     * 设置响应缓存策略
+     *
+     * @param cachePolicy 缓存策略，取值为{@link CachePolicy}
+     */
+    void setCachePolicy(int cachePolicy);
+}
@@ -0,0 +1,19 @@
+package org.cwk.android.library.network.util;
+
+/**
+ * 可设置下载数据校验的工具接口
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface NetworkChecksumHandler {
+
+    /**
+     * 设置下载数据校验
+     *
+     * @param algorithm 摘要算法，取值为{@link org.cwk.android.library.network.factory.ChecksumAlgorithm}
+     * @param header    携带期望摘要的响应头名称，如"Content-MD5"，null表示不读取响应头
+     */
+    void setChecksum(int algorithm , String header);
+}
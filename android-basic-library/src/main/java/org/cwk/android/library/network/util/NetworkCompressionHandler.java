@@ -0,0 +1,18 @@
+package org.cwk.android.library.network.util;
+
+/**
+ * 可设置请求体压缩的工具接口
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface NetworkCompressionHandler {
+
+    /**
+     * 设置请求体gzip压缩阈值
+     *
+     * @param threshold 请求体达到该字节数时压缩，小于0表示不压缩
+     */
+    void setCompressThreshold(long threshold);
+}
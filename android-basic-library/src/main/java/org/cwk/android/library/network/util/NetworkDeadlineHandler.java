@@ -0,0 +1,18 @@
+package org.cwk.android.library.network.util;
+
+/**
+ * 可设置任务截止时间的网络请求工具接口
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface NetworkDeadlineHandler {
+
+    /**
+     * 设置下一次请求的截止时间
+     *
+     * @param deadline 截止时间，null表示不限制
+     */
+    void setDeadline(Deadline deadline);
+}
@@ -0,0 +1,20 @@
+package org.cwk.android.library.network.util;
+
+import org.cwk.android.library.network.factory.RequestPriority;
+
+/**
+ * 可设置异步请求优先级的工具接口
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface NetworkPriorityHandler {
+
+    /**
+     * 设置请求优先级
+     *
+     * @param priority 优先级，取值为{@link RequestPriority}
+     */
+    void setPriority(int priority);
+}
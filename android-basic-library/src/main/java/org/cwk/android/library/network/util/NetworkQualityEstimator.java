@@ -0,0 +1,351 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.global.Global;
+import org.cwk.android.library.network.factory.NetworkQuality;
+import org.cwk.android.library.util.CheckNetwork;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 网络质量估算器，
+ * 以{@link CheckNetwork#getNetWorkType()}的网络类型作为初始估计，
+ * 根据请求中观测到的往返时延和下行带宽持续修正(指数加权平均)，得到{@link NetworkQuality}等级，
+ * 往返时延只取自新连接的TCP握手，首字节耗时包含服务器处理时间，不作为往返时延，
+ * 通过{@link GlobalOkHttpClient#installQualityEstimator(NetworkQualityEstimator)}安装后，
+ * 全局网络工具的默认超时时间，并发数和重试次数会随等级自动调整，
+ * 网络切换时重新使用新网络类型的初始估计
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class NetworkQualityEstimator implements MetricsSink {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "NetworkQualityEstimator";
+
+    /**
+     * 新观测值的权重
+     */
+    private static final double WEIGHT = 0.3;
+
+    /**
+     * 参与带宽估算的最少响应体字节数，过小的响应主要反映时延
+     */
+    private static final long MIN_BANDWIDTH_BYTES = 16 * 1024;
+
+    /**
+     * 等级变化前需要连续得到相同新等级的次数，避免频繁抖动
+     */
+    private static final int CONFIRM_COUNT = 2;
+
+    /**
+     * 各等级的超时时间倍数，按{@link NetworkQuality}取值索引，网络好时不缩短调用方设置的超时
+     */
+    private static final double[] TIMEOUT_FACTOR = {1.0 , 2.0 , 1.5 , 1.0 , 1.0};
+
+    /**
+     * 各等级的最大并发请求数，按{@link NetworkQuality}取值索引
+     */
+    private static final int[] MAX_REQUESTS = {64 , 16 , 32 , 64 , 64};
+
+    /**
+     * 各等级的单主机最大并发请求数，按{@link NetworkQuality}取值索引
+     */
+    private static final int[] MAX_REQUESTS_PER_HOST = {5 , 2 , 4 , 5 , 6};
+
+    /**
+     * 网络差时的最大重试次数
+     */
+    private static final int POOR_MAX_RETRIES = 1;
+
+    /**
+     * 网络差时的退避等待倍数
+     */
+    private static final int POOR_BACKOFF_FACTOR = 2;
+
+    /**
+     * 等级变化监听器
+     */
+    private final List<OnNetworkQualityListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 往返时延估计毫秒数，NaN表示未知
+     */
+    private double rttMillis = Double.NaN;
+
+    /**
+     * 下行带宽估计kbps，NaN表示未知
+     */
+    private double bandwidthKbps = Double.NaN;
+
+    /**
+     * 当前等级
+     */
+    private volatile int quality = NetworkQuality.UNKNOWN;
+
+    /**
+     * 待确认的新等级
+     */
+    private int candidate = NetworkQuality.UNKNOWN;
+
+    /**
+     * 待确认的新等级已连续出现的次数
+     */
+    private int candidateCount = 0;
+
+    /**
+     * 构造函数，使用当前网络类型作为初始估计
+     */
+    public NetworkQualityEstimator() {
+        reset();
+    }
+
+    /**
+     * 丢弃观测数据，重新使用当前网络类型作为初始估计，网络切换时自动调用
+     */
+    public void reset() {
+        int type = Global.getApplication() == null ? CheckNetwork.NETWORK_UNKNOWN : CheckNetwork
+                .getNetWorkType();
+
+        int newQuality;
+
+        synchronized (this) {
+            switch (type) {
+                case CheckNetwork.NETWORK_WIFI:
+                    rttMillis = 50;
+                    bandwidthKbps = 10000;
+                    break;
+                case CheckNetwork.NETWORK_4G:
+                    rttMillis = 150;
+                    bandwidthKbps = 3000;
+                    break;
+                case CheckNetwork.NETWORK_3G:
+                    rttMillis = 500;
+                    bandwidthKbps = 500;
+                    break;
+                case CheckNetwork.NETWORK_2G:
+                    rttMillis = 1500;
+                    bandwidthKbps = 40;
+                    break;
+                default:
+                    rttMillis = Double.NaN;
+                    bandwidthKbps = Double.NaN;
+                    break;
+            }
+
+            candidateCount = 0;
+            newQuality = classify();
+        }
+
+        Log.v(TAG , "reset network type:" + type + " quality:" + newQuality);
+
+        setQuality(newQuality);
+    }
+
+    @Override
+    public void onMetrics(@NonNull RequestMetrics metrics) {
+        if (metrics.failed) {
+            return;
+        }
+
+        int newQuality;
+
+        synchronized (this) {
+            if (!metrics.connectionReused && metrics.connectMillis > metrics.tlsMillis) {
+                // TCP握手约为一个往返
+                rttMillis = average(rttMillis , metrics.connectMillis - metrics.tlsMillis);
+            }
+
+            if (metrics.bytesReceived >= MIN_BANDWIDTH_BYTES && metrics.bodyReadMillis > 0) {
+                // 比特数/毫秒即kbps
+                bandwidthKbps = average(bandwidthKbps , metrics.bytesReceived * 8.0 / metrics
+                        .bodyReadMillis);
+            }
+
+            int computed = classify();
+
+            if (computed == quality) {
+                candidateCount = 0;
+                return;
+            }
+
+            if (computed != candidate) {
+                candidate = computed;
+                candidateCount = 0;
+            }
+
+            if (++candidateCount < CONFIRM_COUNT) {
+                return;
+            }
+
+            candidateCount = 0;
+            newQuality = computed;
+        }
+
+        Log.v(TAG , "rtt:" + (long) rttMillis + "ms bandwidth:" + (long) bandwidthKbps + "kbps");
+
+        setQuality(newQuality);
+    }
+
+    /**
+     * 更新等级并通知监听器
+     *
+     * @param newQuality 新等级
+     */
+    private void setQuality(int newQuality) {
+        if (quality == newQuality) {
+            return;
+        }
+
+        Log.v(TAG , "quality changed " + quality + " -> " + newQuality);
+        quality = newQuality;
+
+        for (OnNetworkQualityListener listener : listeners) {
+            listener.onQualityChanged(newQuality);
+        }
+    }
+
+    /**
+     * 加权平均
+     *
+     * @param current 当前估计值，NaN表示未知
+     * @param sample  新观测值
+     *
+     * @return 新估计值
+     */
+    private static double average(double current , double sample) {
+        return Double.isNaN(current) ? sample : current + WEIGHT * (sample - current);
+    }
+
+    /**
+     * 根据时延和带宽估计值划分等级，未知的值不参与判断
+     *
+     * @return 等级
+     */
+    private int classify() {
+        boolean rttKnown = !Double.isNaN(rttMillis);
+        boolean bandwidthKnown = !Double.isNaN(bandwidthKbps);
+
+        if (!rttKnown && !bandwidthKnown) {
+            return NetworkQuality.UNKNOWN;
+        }
+
+        if ((rttKnown && rttMillis >= 1000) || (bandwidthKnown && bandwidthKbps < 150)) {
+            return NetworkQuality.POOR;
+        }
+
+        if ((rttKnown && rttMillis >= 300) || (bandwidthKnown && bandwidthKbps < 1500)) {
+            return NetworkQuality.MODERATE;
+        }
+
+        if ((rttKnown && rttMillis >= 100) || (bandwidthKnown && bandwidthKbps < 5000)) {
+            return NetworkQuality.GOOD;
+        }
+
+        return NetworkQuality.EXCELLENT;
+    }
+
+    /**
+     * 获取当前网络质量等级
+     *
+     * @return 取值为{@link NetworkQuality}
+     */
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * 获取往返时延估计
+     *
+     * @return 毫秒数，未知时为-1
+     */
+    public synchronized long getRttMillis() {
+        return Double.isNaN(rttMillis) ? -1 : (long) rttMillis;
+    }
+
+    /**
+     * 获取下行带宽估计
+     *
+     * @return kbps，未知时为-1
+     */
+    public synchronized long getBandwidthKbps() {
+        return Double.isNaN(bandwidthKbps) ? -1 : (long) bandwidthKbps;
+    }
+
+    /**
+     * 添加等级变化监听器
+     *
+     * @param listener 监听器
+     */
+    public void addListener(@NonNull OnNetworkQualityListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 移除等级变化监听器
+     *
+     * @param listener 监听器
+     */
+    public void removeListener(@NonNull OnNetworkQualityListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 按当前等级调整超时时间，网络差时延长等待
+     *
+     * @param timeout 调用方设置的超时毫秒数，0表示不超时
+     *
+     * @return 实际超时毫秒数
+     */
+    public int scaleTimeout(int timeout) {
+        return (int) Math.min(Integer.MAX_VALUE , (long) (timeout * TIMEOUT_FACTOR[quality]));
+    }
+
+    /**
+     * 获取当前等级对应的最大并发请求数
+     *
+     * @return 请求数
+     */
+    public int getMaxRequests() {
+        return MAX_REQUESTS[quality];
+    }
+
+    /**
+     * 获取当前等级对应的单主机最大并发请求数
+     *
+     * @return 请求数
+     */
+    public int getMaxRequestsPerHost() {
+        return MAX_REQUESTS_PER_HOST[quality];
+    }
+
+    /**
+     * 按当前等级限制重试次数，网络差时减少重试避免长时间占用连接
+     *
+     * @param maxRetries 重试策略的最大重试次数
+     *
+     * @return 实际的最大重试次数
+     */
+    public int capRetries(int maxRetries) {
+        return quality == NetworkQuality.POOR ? Math.min(maxRetries , POOR_MAX_RETRIES) :
+                maxRetries;
+    }
+
+    /**
+     * 按当前等级调整退避等待时间，网络差时延长等待
+     *
+     * @param delay 重试策略计算的等待毫秒数
+     *
+     * @return 实际等待毫秒数
+     */
+    public long scaleBackoff(long delay) {
+        return quality == NetworkQuality.POOR ? delay * POOR_BACKOFF_FACTOR : delay;
+    }
+}
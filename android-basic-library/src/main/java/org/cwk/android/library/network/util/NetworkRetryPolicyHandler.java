@@ -0,0 +1,18 @@
+package org.cwk.android.library.network.util;
+
+/**
+ * 可设置网络请求重试策略的工具接口
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface NetworkRetryPolicyHandler {
+
+    /**
+     * 设置重试策略，设置后{@link NetworkRetryHandler#setRetryTimes(int)}不再生效
+     *
+     * @param retryPolicy 重试策略
+     */
+    void setRetryPolicy(RetryPolicy retryPolicy);
+}
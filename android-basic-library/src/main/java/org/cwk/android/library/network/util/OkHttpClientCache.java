@@ -0,0 +1,261 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.NetworkQuality;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+
+/**
+ * 派生OkHttpClient缓存，
+ * 以超时配置，是否重试和拦截器集合为键复用由全局请求工具派生出的新请求工具，
+ * 避免每次请求都重新构建客户端，
+ * 按来源请求工具分别缓存，网络质量等级切换全局请求工具时各来源的缓存得以保留
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class OkHttpClientCache {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "OkHttpClientCache";
+
+    /**
+     * 每个来源最多缓存的派生请求工具数量
+     */
+    private static final int MAX_SIZE = 32;
+
+    /**
+     * 最多保留缓存的来源数量，与网络质量等级数相同
+     */
+    private static final int MAX_BASE_COUNT = NetworkQuality.EXCELLENT + 1;
+
+    /**
+     * 各来源的派生请求工具集合，来源和派生请求工具均按访问顺序淘汰
+     */
+    private static final Map<OkHttpClient, Map<Key, OkHttpClient>> CLIENTS = new
+            LinkedHashMap<OkHttpClient, Map<Key, OkHttpClient>>(8 , 0.75f , true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<OkHttpClient, Map<Key, OkHttpClient>>
+                                                    eldest) {
+            return size() > MAX_BASE_COUNT;
+        }
+    };
+
+    /**
+     * 获取一个满足配置的请求工具，
+     * 如果不需要任何额外配置则直接返回原请求工具
+     *
+     * @param okHttpClient        原请求工具
+     * @param networkTimeout      超时配置，可以为null
+     * @param retry               是否需要重试拦截器，重试策略由请求标签传递
+     * @param interceptors        附加的应用拦截器，应使用可复用的拦截器实例
+     * @param networkInterceptors 附加的网络拦截器，应使用可复用的拦截器实例
+     *
+     * @return 请求工具
+     */
+    @NonNull
+    public static OkHttpClient obtain(@NonNull OkHttpClient okHttpClient , NetworkTimeout
+            networkTimeout , boolean retry , @NonNull List<Interceptor> interceptors ,
+                                      @NonNull List<Interceptor> networkInterceptors) {
+        Key key = new Key(networkTimeout , retry , interceptors , networkInterceptors);
+
+        if (key.isEmpty()) {
+            return okHttpClient;
+        }
+
+        synchronized (CLIENTS) {
+            Map<Key, OkHttpClient> clients = CLIENTS.get(okHttpClient);
+
+            if (clients == null) {
+                clients = new LinkedHashMap<Key, OkHttpClient>(16 , 0.75f , true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Key, OkHttpClient> eldest) {
+                        return size() > MAX_SIZE;
+                    }
+                };
+
+                CLIENTS.put(okHttpClient , clients);
+            }
+
+            OkHttpClient client = clients.get(key);
+
+            if (client == null) {
+                Log.v(TAG , "obtain new client " + key);
+                client = key.build(okHttpClient);
+                clients.put(key , client);
+            }
+
+            return client;
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static void clear() {
+        synchronized (CLIENTS) {
+            CLIENTS.clear();
+        }
+    }
+
+    /**
+     * 派生请求工具的配置键
+     */
+    private static final class Key {
+
+        /**
+         * 连接超时时间
+         */
+        private final int connectTimeout;
+
+        /**
+         * 读取超时时间
+         */
+        private final int readTimeout;
+
+        /**
+         * 写入超时时间
+         */
+        private final int writeTimeout;
+
+        /**
+         * 是否需要重试拦截器
+         */
+        private final boolean retry;
+
+        /**
+         * 应用拦截器
+         */
+        private final List<Interceptor> interceptors;
+
+        /**
+         * 网络拦截器
+         */
+        private final List<Interceptor> networkInterceptors;
+
+        /**
+         * 构造函数
+         *
+         * @param networkTimeout      超时配置
+         * @param retry               是否需要重试拦截器
+         * @param interceptors        应用拦截器
+         * @param networkInterceptors 网络拦截器
+         */
+        Key(NetworkTimeout networkTimeout , boolean retry , List<Interceptor> interceptors ,
+            List<Interceptor> networkInterceptors) {
+            if (networkTimeout != null) {
+                this.connectTimeout = networkTimeout.getConnectTimeout();
+                this.readTimeout = networkTimeout.getReadTimeout();
+                this.writeTimeout = networkTimeout.getWriteTimeout();
+            } else {
+                this.connectTimeout = -1;
+                this.readTimeout = -1;
+                this.writeTimeout = -1;
+            }
+
+            this.retry = retry;
+            this.interceptors = Collections.unmodifiableList(new ArrayList<>(interceptors));
+            this.networkInterceptors = Collections.unmodifiableList(new ArrayList<>
+                    (networkInterceptors));
+        }
+
+        /**
+         * 判断是否无需任何额外配置
+         *
+         * @return true表示可以直接使用原请求工具
+         */
+        boolean isEmpty() {
+            return connectTimeout < 0 && readTimeout < 0 && writeTimeout < 0 && !retry
+                    && interceptors.isEmpty() && networkInterceptors.isEmpty();
+        }
+
+        /**
+         * 由原请求工具构建新的请求工具
+         *
+         * @param okHttpClient 原请求工具
+         *
+         * @return 新请求工具
+         */
+        OkHttpClient build(OkHttpClient okHttpClient) {
+            OkHttpClient.Builder builder = okHttpClient.newBuilder();
+
+            if (connectTimeout > -1) {
+                builder.connectTimeout(connectTimeout , TimeUnit.MILLISECONDS);
+            }
+
+            if (readTimeout > -1) {
+                builder.readTimeout(readTimeout , TimeUnit.MILLISECONDS);
+            }
+
+            if (writeTimeout > -1) {
+                builder.writeTimeout(writeTimeout , TimeUnit.MILLISECONDS);
+            }
+
+            for (Interceptor interceptor : interceptors) {
+                if (interceptor == DeadlineInterceptor.INSTANCE) {
+                    // 位于全局拦截器之前，覆盖所有拦截器的耗时
+                    builder.interceptors().add(0 , interceptor);
+                } else {
+                    builder.addInterceptor(interceptor);
+                }
+            }
+
+            if (retry) {
+                builder.addInterceptor(RetryInterceptor.INSTANCE);
+            }
+
+            builder.networkInterceptors().addAll(networkInterceptors);
+
+            return builder.build();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+
+            return connectTimeout == key.connectTimeout && readTimeout == key.readTimeout &&
+                    writeTimeout == key.writeTimeout && retry == key.retry &&
+                    interceptors.equals(key.interceptors) && networkInterceptors.equals(key
+                    .networkInterceptors);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = connectTimeout;
+            result = 31 * result + readTimeout;
+            result = 31 * result + writeTimeout;
+            result = 31 * result + (retry ? 1 : 0);
+            result = 31 * result + interceptors.hashCode();
+            result = 31 * result + networkInterceptors.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "connect:" + connectTimeout + " read:" + readTimeout + " write:" +
+                    writeTimeout + " retry:" + retry + " interceptors:" + interceptors
+                    .size() + " networkInterceptors:" + networkInterceptors.size();
+        }
+    }
+}
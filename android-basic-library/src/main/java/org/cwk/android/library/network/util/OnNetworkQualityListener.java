@@ -0,0 +1,18 @@
+package org.cwk.android.library.network.util;
+
+/**
+ * 网络质量等级变化监听器
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface OnNetworkQualityListener {
+
+    /**
+     * 网络质量等级变化，在网络线程中回调
+     *
+     * @param quality 新的等级，取值为{@link org.cwk.android.library.network.factory.NetworkQuality}
+     */
+    void onQualityChanged(int quality);
+}
@@ -0,0 +1,47 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * 下载进度拦截器，
+ * 从请求的{@link OnNetworkProgressListener}类型标签中读取进度监听器，
+ * 使进度监听器跟随单次请求而不是跟随请求工具，
+ * 所有请求共享同一个实例{@link #INSTANCE}
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class ProgressInterceptor implements Interceptor {
+
+    /**
+     * 共享实例
+     */
+    public static final ProgressInterceptor INSTANCE = new ProgressInterceptor();
+
+    /**
+     * 构造函数
+     */
+    private ProgressInterceptor() {
+    }
+
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Response originalResponse = chain.proceed(chain.request());
+
+        OnNetworkProgressListener listener = chain.request().tag(OnNetworkProgressListener
+                .class);
+
+        if (listener == null || originalResponse.body() == null) {
+            return originalResponse;
+        }
+
+        return originalResponse.newBuilder().body(new ProgressResponseBody(originalResponse.body
+                () , listener)).build();
+    }
+}
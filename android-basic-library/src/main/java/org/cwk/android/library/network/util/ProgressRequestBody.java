@@ -56,37 +56,64 @@ public class ProgressRequestBody extends RequestBody {
 
     @Override
     public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        // 总长度只计算一次，多表单请求体每次计算长度的开销较大
+        final long length = contentLength();
         // 包装
-        BufferedSink bufferedSink = Okio.buffer(sink(sink));
+        ProgressSink progressSink = new ProgressSink(sink, length);
+        BufferedSink bufferedSink = Okio.buffer(progressSink);
         // 写入
         requestBody.writeTo(bufferedSink);
         // 必须调用flush，否则最后一部分数据可能不会被写入
         bufferedSink.flush();
+
+        if (!progressSink.done) {
+            // 长度未知时在写入结束后回调完成
+            progressListener.onRefreshProgress(progressSink.bytesWritten, length, true);
+        }
+
         bufferedSink.close();
     }
 
     /**
      * 包装写入流回调进度接口
-     *
-     * @param sink Sink 原写入流
-     *
-     * @return Sink 包装后写入流
      */
-    private Sink sink(Sink sink) {
-        return new ForwardingSink(sink) {
-            // 当前写入字节数
-            long bytesWritten = 0L;
-
-            @Override
-            public void write(@NonNull Buffer source, long byteCount) throws IOException {
-                super.write(source, byteCount);
-
-                // 增加当前写入的字节数
-                bytesWritten += byteCount;
-                // 回调进度
-                progressListener.onRefreshProgress(bytesWritten, contentLength(), bytesWritten ==
-                        contentLength());
-            }
-        };
+    private class ProgressSink extends ForwardingSink {
+
+        /**
+         * 数据总长度
+         */
+        private final long length;
+
+        /**
+         * 当前写入字节数
+         */
+        private long bytesWritten = 0L;
+
+        /**
+         * 是否已回调完成
+         */
+        private boolean done = false;
+
+        /**
+         * 构造函数
+         *
+         * @param sink   原写入流
+         * @param length 数据总长度
+         */
+        ProgressSink(Sink sink, long length) {
+            super(sink);
+            this.length = length;
+        }
+
+        @Override
+        public void write(@NonNull Buffer source, long byteCount) throws IOException {
+            super.write(source, byteCount);
+
+            // 增加当前写入的字节数
+            bytesWritten += byteCount;
+            done = bytesWritten == length;
+            // 回调进度
+            progressListener.onRefreshProgress(bytesWritten, length, done);
+        }
     }
 }
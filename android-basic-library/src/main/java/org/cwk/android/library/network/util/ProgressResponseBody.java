@@ -78,6 +78,7 @@ public class ProgressResponseBody extends ResponseBody {
         return new ForwardingSource(source) {
             long totalBytesRead = 0L;
             long length = 0L;
+            boolean done = false;
 
             @Override
             public long read(@NonNull Buffer sink, long byteCount) throws IOException {
@@ -90,8 +91,12 @@ public class ProgressResponseBody extends ResponseBody {
                     length = contentLength();
                 }
 
-                onNetworkProgressListener.onRefreshProgress(totalBytesRead, length, bytesRead ==
-                        -1);
+                // 读取结束后可能被重复读取，完成进度只回调一次
+                if (!done) {
+                    done = bytesRead == -1;
+                    onNetworkProgressListener.onRefreshProgress(totalBytesRead, length, done);
+                }
+
                 return bytesRead;
             }
         };
@@ -140,8 +140,8 @@ public class RequestBodyBuilder {
                     FileInfo value = (FileInfo) dataEntry.getValue();
                     // 加入表单
                     builder.addFormDataPart(dataEntry.getKey() , value.getFileName() ,
-                            RequestBody.create(MediaType.parse(value.getMimeType()) , value
-                                    .getFile()));
+                            FileChannelRequestBody.create(MediaType.parse(value.getMimeType())
+                                    , value.getFile()));
                     continue;
                 }
 
@@ -149,8 +149,9 @@ public class RequestBodyBuilder {
                     // 参数是文件类型
                     File value = (File) dataEntry.getValue();
                     // 加入表单
-                    builder.addFormDataPart(dataEntry.getKey() , value.getName() , RequestBody
-                            .create(MediaType.parse(MIMEUtil.getMimeType(value)) , value));
+                    builder.addFormDataPart(dataEntry.getKey() , value.getName() ,
+                            FileChannelRequestBody.create(MediaType.parse(MIMEUtil.getMimeType
+                                    (value)) , value));
                     continue;
                 }
 
@@ -181,7 +182,8 @@ public class RequestBodyBuilder {
 
             if (file.exists()) {
                 Log.v(logTag , "onBuildUploadStream sendStream:" + path);
-                return RequestBody.create(MediaType.parse("application/octet-stream") , file);
+                return FileChannelRequestBody.create(MediaType.parse
+                        ("application/octet-stream") , file);
             } else {
                 Log.d(logTag , "no file " + path);
             }
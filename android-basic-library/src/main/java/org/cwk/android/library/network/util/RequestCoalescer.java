@@ -0,0 +1,330 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.RequestPriority;
+import org.cwk.android.library.work.Cancelable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 相同请求合并工具，
+ * 同时发起的相同请求(方法，最终地址，请求头，超时，重试策略和截止时间均相同)共享同一个网络请求，
+ * 响应数据以字符串形式分发给每个请求者，由请求者各自解析，
+ * 取消的请求者与直接请求一样在网络线程中收到失败回调，
+ * 仅适用于幂等的请求
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class RequestCoalescer {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "RequestCoalescer";
+
+    /**
+     * 正在执行的请求集合
+     */
+    private static final Map<String, Flight> FLIGHTS = new HashMap<>();
+
+    /**
+     * 生成请求的合并键，
+     * 超时取自请求工具，重试策略和截止时间取自请求标签
+     *
+     * @param okHttpClient 请求工具
+     * @param request      请求
+     *
+     * @return 合并键
+     */
+    @NonNull
+    public static String key(@NonNull OkHttpClient okHttpClient , @NonNull Request request) {
+        Deadline deadline = request.tag(Deadline.class);
+
+        return request.method() + " " + request.url() + "\n" + request.headers() + "timeout:" +
+                okHttpClient.connectTimeoutMillis() + "," + okHttpClient.readTimeoutMillis() +
+                "," + okHttpClient.writeTimeoutMillis() + "," + okHttpClient.callTimeoutMillis()
+                + "\nretry:" + request.tag(RetryPolicy.class) + "\ndeadline:" + (deadline ==
+                null ? null : deadline.getDeadlineAt());
+    }
+
+    /**
+     * 加入一个请求，
+     * 如果存在相同的正在执行的请求则直接等待其结果，否则发起新的请求
+     *
+     * @param okHttpClient 请求工具，仅在需要发起新请求时使用
+     * @param request      请求
+     * @param priority     优先级，取值为{@link RequestPriority}，仅在需要发起新请求时使用
+     * @param callback     结果回调，成功时响应数据为响应体字符串
+     *
+     * @return 本次加入的取消句柄，取消时仅移除当前请求者，所有请求者都取消后才会取消网络请求
+     */
+    @NonNull
+    public static Cancelable enqueue(@NonNull OkHttpClient okHttpClient , @NonNull Request
+            request , int priority , @NonNull NetworkCallback<String> callback) {
+        String key = key(okHttpClient , request);
+
+        Waiter waiter = new Waiter(callback);
+
+        Flight flight;
+        boolean start = false;
+
+        synchronized (FLIGHTS) {
+            flight = FLIGHTS.get(key);
+
+            if (flight == null) {
+                flight = new Flight(key , okHttpClient , Deadline.apply(okHttpClient.newCall
+                        (request)) , priority);
+                FLIGHTS.put(key , flight);
+                start = true;
+            } else {
+                Log.v(TAG , "join flight " + request.url());
+            }
+
+            flight.waiters.add(waiter);
+            waiter.flight = flight;
+        }
+
+        if (start) {
+            flight.start();
+        }
+
+        return waiter;
+    }
+
+    /**
+     * 获取当前正在执行的共享请求数量
+     *
+     * @return 请求数量
+     */
+    public static int getFlightCount() {
+        synchronized (FLIGHTS) {
+            return FLIGHTS.size();
+        }
+    }
+
+    /**
+     * 一个请求者
+     */
+    private static final class Waiter implements Cancelable {
+
+        /**
+         * 结果回调
+         */
+        private final NetworkCallback<String> callback;
+
+        /**
+         * 所属的共享请求
+         */
+        private Flight flight = null;
+
+        /**
+         * 取消标记
+         */
+        private volatile boolean canceled = false;
+
+        /**
+         * 构造函数
+         *
+         * @param callback 结果回调
+         */
+        Waiter(NetworkCallback<String> callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void cancel() {
+            if (flight.detach(this)) {
+                canceled = true;
+                // 保持与直接请求相同的行为，取消后依然在网络线程中回调失败
+                final int code = FastFailException.codeOf(new IOException("Canceled"));
+                flight.okHttpClient.dispatcher().executorService().execute(() -> callback
+                        .onFinish(false , code , null));
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+    }
+
+    /**
+     * 一个共享的网络请求
+     */
+    private static final class Flight implements Callback {
+
+        /**
+         * 合并键
+         */
+        private final String key;
+
+        /**
+         * 请求工具
+         */
+        private final OkHttpClient okHttpClient;
+
+        /**
+         * 实际的网络请求
+         */
+        private final Call call;
+
+        /**
+         * 优先级
+         */
+        private final int priority;
+
+        /**
+         * 等待结果的请求者，在{@link #FLIGHTS}锁内访问
+         */
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        /**
+         * 请求是否已结束，在{@link #FLIGHTS}锁内访问
+         */
+        private boolean done = false;
+
+        /**
+         * 构造函数
+         *
+         * @param key          合并键
+         * @param okHttpClient 请求工具
+         * @param call         网络请求
+         * @param priority     优先级
+         */
+        Flight(String key , OkHttpClient okHttpClient , Call call , int priority) {
+            this.key = key;
+            this.okHttpClient = okHttpClient;
+            this.call = call;
+            this.priority = priority;
+        }
+
+        /**
+         * 发起请求
+         */
+        void start() {
+            RequestScheduler.enqueue(okHttpClient , call , priority , this);
+        }
+
+        /**
+         * 移除一个请求者，没有请求者时取消网络请求
+         *
+         * @param waiter 请求者
+         *
+         * @return true表示移除成功，false表示请求已结束
+         */
+        boolean detach(Waiter waiter) {
+            boolean cancelCall;
+
+            synchronized (FLIGHTS) {
+                if (done || !waiters.remove(waiter)) {
+                    return false;
+                }
+
+                cancelCall = waiters.isEmpty();
+
+                if (cancelCall) {
+                    done = true;
+
+                    if (FLIGHTS.get(key) == this) {
+                        FLIGHTS.remove(key);
+                    }
+                }
+            }
+
+            if (cancelCall) {
+                Log.v(TAG , "all waiters gone, cancel " + call.request().url());
+                RequestScheduler.cancel(call);
+            }
+
+            return true;
+        }
+
+        /**
+         * 结束请求并取出所有请求者
+         *
+         * @return 请求者，已被取消时返回null
+         */
+        private List<Waiter> finish() {
+            synchronized (FLIGHTS) {
+                if (done) {
+                    return null;
+                }
+
+                done = true;
+                if (FLIGHTS.get(key) == this) {
+                    FLIGHTS.remove(key);
+                }
+
+                return new ArrayList<>(waiters);
+            }
+        }
+
+        @Override
+        public void onFailure(@NonNull Call call , @NonNull IOException e) {
+            Log.e(TAG , "call error" , e);
+
+            dispatch(finish() , false , FastFailException.codeOf(e) , null);
+        }
+
+        @Override
+        public void onResponse(@NonNull Call call , @NonNull Response response) {
+            // 先读取完整响应，避免新加入的请求者错过结果
+            boolean success = response.isSuccessful();
+            int code = response.code();
+            String data = null;
+
+            ResponseBody body = response.body();
+
+            try {
+                if (success && body != null) {
+                    data = body.string();
+                }
+            } catch (IOException e) {
+                Log.e(TAG , "read body error" , e);
+                success = false;
+                code = 0;
+            } finally {
+                response.close();
+            }
+
+            dispatch(finish() , success , code , data);
+        }
+
+        /**
+         * 分发结果
+         *
+         * @param waiters  请求者
+         * @param success  请求结果
+         * @param code     响应码
+         * @param response 响应数据
+         */
+        private void dispatch(List<Waiter> waiters , boolean success , int code , String
+                response) {
+            if (waiters == null) {
+                return;
+            }
+
+            Log.v(TAG , "dispatch " + call.request().url() + " to " + waiters.size() + " " +
+                    "waiters");
+
+            for (Waiter waiter : waiters) {
+                waiter.callback.onFinish(success , code , response);
+            }
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package org.cwk.android.library.network.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.RequestPriority;
+import org.cwk.android.library.work.Cancelable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 对冲请求工具，
+ * 请求发出后在等待时间内没有收到响应时再发出一个相同的请求，
+ * 使用先收到的响应并取消另一个请求，用于降低少数慢连接造成的长尾延迟，
+ * 等待时间可以固定，也可以使用该主机近期响应时间的95分位，
+ * 对冲请求数不超过{@link RequestScheduler}全部请求数的{@link #setBudgetPercent(int)}，
+ * 仅适用于幂等的请求
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class RequestHedger {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "RequestHedger";
+
+    /**
+     * 每个主机保留的响应时间样本数
+     */
+    private static final int WINDOW_SIZE = 64;
+
+    /**
+     * 使用95分位等待时间所需的最少样本数，不足时不对冲
+     */
+    private static final int MIN_SAMPLES = 20;
+
+    /**
+     * 计时器
+     */
+    private static final Handler HANDLER = new Handler(Looper.getMainLooper());
+
+    /**
+     * 各主机的响应时间样本
+     */
+    private static final Map<String, LatencyWindow> WINDOWS = new HashMap<>();
+
+    /**
+     * 对冲请求数预算，占全部请求的百分比
+     */
+    private static volatile int budgetPercent = 5;
+
+    /**
+     * 已发出的对冲请求数
+     */
+    private static long hedgedCount = 0;
+
+    /**
+     * 设置对冲请求数预算
+     *
+     * @param percent 对冲请求最多占{@link RequestScheduler}全部请求的百分比，默认为5，0表示禁止对冲
+     */
+    public static void setBudgetPercent(int percent) {
+        budgetPercent = Math.max(0 , percent);
+    }
+
+    /**
+     * 获取已发出的对冲请求数
+     *
+     * @return 请求数
+     */
+    public static synchronized long getHedgedCount() {
+        return hedgedCount;
+    }
+
+    /**
+     * 获取主机近期响应时间的95分位
+     *
+     * @param host 主机
+     *
+     * @return 毫秒数，样本不足时为-1
+     */
+    public static long getP95Millis(@NonNull String host) {
+        LatencyWindow window;
+
+        synchronized (WINDOWS) {
+            window = WINDOWS.get(host);
+        }
+
+        return window == null ? -1 : window.p95();
+    }
+
+    /**
+     * 发起一个可对冲的请求
+     *
+     * @param okHttpClient 请求工具
+     * @param request      请求
+     * @param priority     优先级，取值为{@link RequestPriority}
+     * @param delay        发出对冲请求前的等待毫秒数，0表示使用主机近期响应时间的95分位
+     * @param callback     结果回调，成功时响应数据为响应体字符串
+     *
+     * @return 取消句柄，取消时两个请求都会被取消
+     */
+    @NonNull
+    public static Cancelable enqueue(@NonNull OkHttpClient okHttpClient , @NonNull Request
+            request , int priority , long delay , @NonNull NetworkCallback<String> callback) {
+        Hedge hedge = new Hedge(okHttpClient , request , priority , callback);
+
+        if (delay <= 0) {
+            delay = getP95Millis(request.url().host());
+        }
+
+        hedge.start();
+
+        if (delay > 0) {
+            HANDLER.postDelayed(hedge , delay);
+        }
+
+        return hedge;
+    }
+
+    /**
+     * 尝试占用一个对冲预算
+     *
+     * @return true表示可以发出对冲请求
+     */
+    private static synchronized boolean acquireBudget() {
+        if ((hedgedCount + 1) * 100 > budgetPercent * RequestScheduler.getEnqueuedCount()) {
+            return false;
+        }
+
+        hedgedCount++;
+        return true;
+    }
+
+    /**
+     * 记录一次响应时间
+     *
+     * @param host   主机
+     * @param millis 毫秒数
+     */
+    private static void record(String host , long millis) {
+        LatencyWindow window;
+
+        synchronized (WINDOWS) {
+            window = WINDOWS.get(host);
+
+            if (window == null) {
+                window = new LatencyWindow();
+                WINDOWS.put(host , window);
+            }
+        }
+
+        window.add(millis);
+    }
+
+    /**
+     * 一个主机的响应时间样本
+     */
+    private static final class LatencyWindow {
+
+        /**
+         * 样本环
+         */
+        private final long[] samples = new long[WINDOW_SIZE];
+
+        /**
+         * 样本数
+         */
+        private int count = 0;
+
+        /**
+         * 下一个写入位置
+         */
+        private int index = 0;
+
+        /**
+         * 加入样本
+         *
+         * @param millis 毫秒数
+         */
+        synchronized void add(long millis) {
+            samples[index] = millis;
+            index = (index + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1 , WINDOW_SIZE);
+        }
+
+        /**
+         * 计算95分位
+         *
+         * @return 毫秒数，样本不足时为-1
+         */
+        synchronized long p95() {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+
+            long[] sorted = Arrays.copyOf(samples , count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(count * 0.95) - 1];
+        }
+    }
+
+    /**
+     * 一个可对冲的请求
+     */
+    private static final class Hedge implements Cancelable, Runnable {
+
+        /**
+         * 请求工具
+         */
+        private final OkHttpClient okHttpClient;
+
+        /**
+         * 请求
+         */
+        private final Request request;
+
+        /**
+         * 优先级
+         */
+        private final int priority;
+
+        /**
+         * 结果回调
+         */
+        private final NetworkCallback<String> callback;
+
+        /**
+         * 首个请求
+         */
+        private Call primary = null;
+
+        /**
+         * 对冲请求
+         */
+        private Call secondary = null;
+
+        /**
+         * 首个请求的发出时间
+         */
+        private long startedAt = 0;
+
+        /**
+         * 未结束的请求数
+         */
+        private int running = 0;
+
+        /**
+         * 是否已回调
+         */
+        private boolean done = false;
+
+        /**
+         * 取消标记
+         */
+        private volatile boolean canceled = false;
+
+        /**
+         * 构造函数
+         *
+         * @param okHttpClient 请求工具
+         * @param request      请求
+         * @param priority     优先级
+         * @param callback     结果回调
+         */
+        Hedge(OkHttpClient okHttpClient , Request request , int priority ,
+              NetworkCallback<String> callback) {
+            this.okHttpClient = okHttpClient;
+            this.request = request;
+            this.priority = priority;
+            this.callback = callback;
+        }
+
+        /**
+         * 发出首个请求
+         */
+        void start() {
+            Call call = Deadline.apply(okHttpClient.newCall(request));
+
+            synchronized (this) {
+                primary = call;
+                startedAt = SystemClock.elapsedRealtime();
+                running++;
+            }
+
+            send(call);
+        }
+
+        /**
+         * 等待时间到达，发出对冲请求
+         */
+        @Override
+        public void run() {
+            Call call;
+
+            synchronized (this) {
+                if (done || canceled || secondary != null || !acquireBudget()) {
+                    return;
+                }
+
+                // 对冲请求只使用剩余的截止时间
+                call = Deadline.apply(primary.clone());
+                secondary = call;
+                running++;
+            }
+
+            Log.v(TAG , "hedge " + request.url());
+            send(call);
+        }
+
+        /**
+         * 发送请求
+         *
+         * @param call 请求
+         */
+        private void send(Call call) {
+            RequestScheduler.enqueue(okHttpClient , call , priority , new Callback() {
+                @Override
+                public void onFailure(@NonNull Call call , @NonNull IOException e) {
+                    boolean last;
+
+                    synchronized (Hedge.this) {
+                        running--;
+                        last = running == 0 && !done;
+
+                        if (last) {
+                            done = true;
+                        }
+                    }
+
+                    if (last) {
+                        // 所有请求均失败
+                        Log.e(TAG , "call error" , e);
+                        HANDLER.removeCallbacks(Hedge.this);
+                        callback.onFinish(false , FastFailException.codeOf(e) , null);
+                    }
+                }
+
+                @Override
+                public void onResponse(@NonNull Call call , @NonNull Response response) {
+                    Call other;
+                    long latency;
+
+                    synchronized (Hedge.this) {
+                        running--;
+
+                        if (done) {
+                            response.close();
+                            return;
+                        }
+
+                        done = true;
+                        other = call == primary ? secondary : primary;
+                        latency = SystemClock.elapsedRealtime() - startedAt;
+                    }
+
+                    HANDLER.removeCallbacks(Hedge.this);
+
+                    if (other != null) {
+                        // 取消较慢的请求
+                        Log.v(TAG , (call == primary ? "primary" : "hedge") + " won " + request
+                                .url());
+                        RequestScheduler.cancel(other);
+                    }
+
+                    // 从首个请求发出时计时，对冲请求获胜时首个请求的响应时间不小于此值，
+                    // 以该下限作为首个请求的样本，避免只记录较快的对冲请求使95分位偏小
+                    record(request.url().host() , latency);
+
+                    boolean success = response.isSuccessful();
+                    int code = response.code();
+                    String data = null;
+
+                    ResponseBody body = response.body();
+
+                    try {
+                        if (success && body != null) {
+                            data = body.string();
+                        }
+                    } catch (IOException e) {
+                        Log.e(TAG , "read body error" , e);
+                        success = false;
+                        code = 0;
+                    } finally {
+                        response.close();
+                    }
+
+                    callback.onFinish(success , code , data);
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            Call first;
+            Call second;
+
+            synchronized (this) {
+                canceled = true;
+                first = primary;
+                second = secondary;
+            }
+
+            HANDLER.removeCallbacks(this);
+
+            // 请求的失败回调会通知结果
+            if (first != null) {
+                RequestScheduler.cancel(first);
+            }
+
+            if (second != null) {
+                RequestScheduler.cancel(second);
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * 单次网络请求的耗时指标，
+ * 由{@link MetricsEventListener}填写，
+ * 各阶段在重试或多次连接时累计，未经历的阶段为0
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class RequestMetrics {
+
+    /**
+     * 发起请求的任务名称
+     */
+    String workName = null;
+
+    /**
+     * 任务请求地址
+     */
+    String taskUri = null;
+
+    /**
+     * 请求方法
+     */
+    String method = null;
+
+    /**
+     * 实际请求地址
+     */
+    String url = null;
+
+    /**
+     * 最终响应码，未收到响应时为0
+     */
+    int code = 0;
+
+    /**
+     * 请求是否以异常结束
+     */
+    boolean failed = false;
+
+    /**
+     * 失败原因
+     */
+    String failure = null;
+
+    /**
+     * 是否复用了连接池中的连接
+     */
+    boolean connectionReused = true;
+
+    /**
+     * DNS解析毫秒数
+     */
+    long dnsMillis = 0;
+
+    /**
+     * 建立连接毫秒数，包含TLS握手
+     */
+    long connectMillis = 0;
+
+    /**
+     * TLS握手毫秒数
+     */
+    long tlsMillis = 0;
+
+    /**
+     * 写出请求毫秒数
+     */
+    long requestWriteMillis = 0;
+
+    /**
+     * 请求写出后到开始接收响应的毫秒数
+     */
+    long firstByteMillis = 0;
+
+    /**
+     * 读取响应体毫秒数
+     */
+    long bodyReadMillis = 0;
+
+    /**
+     * 请求总毫秒数
+     */
+    long totalMillis = 0;
+
+    /**
+     * 发送的请求体字节数
+     */
+    long bytesSent = 0;
+
+    /**
+     * 接收的响应体字节数
+     */
+    long bytesReceived = 0;
+
+    /**
+     * 获取发起请求的任务名称
+     *
+     * @return 任务类名，非任务发起的请求为null
+     */
+    @Nullable
+    public String getWorkName() {
+        return workName;
+    }
+
+    /**
+     * 获取任务请求地址，即任务的onTaskUri
+     *
+     * @return 请求地址，非任务发起的请求为null
+     */
+    @Nullable
+    public String getTaskUri() {
+        return taskUri;
+    }
+
+    /**
+     * 获取请求方法
+     *
+     * @return 请求方法
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * 获取实际请求地址，包含get参数
+     *
+     * @return 请求地址
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * 获取最终响应码
+     *
+     * @return 响应码，未收到响应时为0
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * 判断请求是否以异常结束
+     *
+     * @return true表示异常结束
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * 获取失败原因
+     *
+     * @return 异常描述，成功时为null
+     */
+    @Nullable
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * 判断是否复用了连接池中的连接
+     *
+     * @return true表示未新建连接
+     */
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    /**
+     * 获取DNS解析毫秒数
+     *
+     * @return 毫秒数
+     */
+    public long getDnsMillis() {
+        return dnsMillis;
+    }
+
+    /**
+     * 获取建立连接毫秒数，包含TLS握手
+     *
+     * @return 毫秒数
+     */
+    public long getConnectMillis() {
+        return connectMillis;
+    }
+
+    /**
+     * 获取TLS握手毫秒数
+     *
+     * @return 毫秒数
+     */
+    public long getTlsMillis() {
+        return tlsMillis;
+    }
+
+    /**
+     * 获取写出请求头和请求体的毫秒数
+     *
+     * @return 毫秒数
+     */
+    public long getRequestWriteMillis() {
+        return requestWriteMillis;
+    }
+
+    /**
+     * 获取请求写出后到开始接收响应的毫秒数
+     *
+     * @return 毫秒数
+     */
+    public long getFirstByteMillis() {
+        return firstByteMillis;
+    }
+
+    /**
+     * 获取读取响应体的毫秒数
+     *
+     * @return 毫秒数
+     */
+    public long getBodyReadMillis() {
+        return bodyReadMillis;
+    }
+
+    /**
+     * 获取请求总毫秒数，包含重试等待
+     *
+     * @return 毫秒数
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * 获取发送的请求体字节数
+     *
+     * @return 字节数
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * 获取接收的响应体字节数
+     *
+     * @return 字节数
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * 填写请求来源
+     *
+     * @param source 请求来源
+     */
+    void setSource(@Nullable Source source) {
+        if (source != null) {
+            this.workName = source.workName;
+            this.taskUri = source.taskUri;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return workName + " " + method + " " + url + " code:" + code + " total:" + totalMillis +
+                "ms dns:" + dnsMillis + "ms connect:" + connectMillis + "ms tls:" + tlsMillis +
+                "ms write:" + requestWriteMillis + "ms ttfb:" + firstByteMillis + "ms read:" +
+                bodyReadMillis + "ms sent:" + bytesSent + " received:" + bytesReceived;
+    }
+
+    /**
+     * 请求来源，作为请求标签由任务的网络请求工具添加
+     */
+    public static final class Source {
+
+        /**
+         * 任务名称
+         */
+        private final String workName;
+
+        /**
+         * 任务请求地址
+         */
+        private final String taskUri;
+
+        /**
+         * 构造函数
+         *
+         * @param workName 任务名称
+         * @param taskUri  任务请求地址
+         */
+        public Source(@NonNull String workName , @Nullable String taskUri) {
+            this.workName = workName;
+            this.taskUri = taskUri;
+        }
+    }
+}
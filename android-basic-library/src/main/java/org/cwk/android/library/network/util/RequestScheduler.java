@@ -0,0 +1,682 @@
+package org.cwk.android.library.network.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.network.factory.NetworkErrorCode;
+import org.cwk.android.library.network.factory.RequestPriority;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * 按优先级放行异步请求的调度器，
+ * 异步请求先进入对应优先级的等待队列，
+ * 在不超过请求工具{@link Dispatcher}的总并发数和单主机并发数的前提下按优先级顺序交给{@link Dispatcher}执行，
+ * 使{@link RequestPriority#IMMEDIATE}请求不会排在大量后台请求之后，
+ * {@link RequestPriority#BACKGROUND}请求最多占用一半的并发数，
+ * 安装{@link ConcurrencyLimiter}后单主机并发数由其自适应调整，单主机等待队列满时请求立即失败
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class RequestScheduler {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "RequestScheduler";
+
+    /**
+     * 优先级数量
+     */
+    private static final int PRIORITY_COUNT = 3;
+
+    /**
+     * 全局锁
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * 各优先级的等待队列
+     */
+    private static final List<ArrayDeque<Task>> QUEUES = new ArrayList<>();
+
+    /**
+     * 正在执行的请求
+     */
+    private static final Map<Call, Task> RUNNING = new HashMap<>();
+
+    /**
+     * 各主机正在执行的请求数
+     */
+    private static final Map<String, Integer> RUNNING_PER_HOST = new HashMap<>();
+
+    /**
+     * 各主机等待中的请求数
+     */
+    private static final Map<String, Integer> WAITING_PER_HOST = new HashMap<>();
+
+    /**
+     * 正在执行的后台请求数
+     */
+    private static int runningBackground = 0;
+
+    /**
+     * 各优先级已放行的请求数
+     */
+    private static final long[] ADMITTED = new long[PRIORITY_COUNT];
+
+    /**
+     * 各优先级累计等待毫秒数
+     */
+    private static final long[] TOTAL_WAIT = new long[PRIORITY_COUNT];
+
+    /**
+     * 各优先级最长等待毫秒数
+     */
+    private static final long[] MAX_WAIT = new long[PRIORITY_COUNT];
+
+    /**
+     * 累计加入的请求数
+     */
+    private static long enqueuedCount = 0;
+
+    static {
+        for (int i = 0 ; i < PRIORITY_COUNT ; i++) {
+            QUEUES.add(new ArrayDeque<Task>());
+        }
+    }
+
+    /**
+     * 加入一个异步请求
+     *
+     * @param okHttpClient 发起请求的请求工具，使用其{@link Dispatcher}的并发限制
+     * @param call         尚未执行的请求
+     * @param priority     优先级，取值为{@link RequestPriority}
+     * @param callback     结果回调
+     */
+    public static void enqueue(@NonNull OkHttpClient okHttpClient , @NonNull Call call , int
+            priority , @NonNull Callback callback) {
+        enqueue(okHttpClient , call , priority , callback , false);
+    }
+
+    /**
+     * 加入一个异步请求
+     *
+     * @param okHttpClient    发起请求的请求工具，使用其{@link Dispatcher}的并发限制
+     * @param call            尚未执行的请求
+     * @param priority        优先级，取值为{@link RequestPriority}
+     * @param callback        结果回调
+     * @param holdUntilClosed true表示响应体关闭时才释放并发数，false表示回调结束时释放
+     */
+    private static void enqueue(OkHttpClient okHttpClient , Call call , int priority , Callback
+            callback , boolean holdUntilClosed) {
+        if (priority < RequestPriority.IMMEDIATE || priority > RequestPriority.BACKGROUND) {
+            priority = RequestPriority.NORMAL;
+        }
+
+        Task task = new Task(okHttpClient.dispatcher() , call , priority , callback ,
+                holdUntilClosed);
+
+        ConcurrencyLimiter limiter = GlobalOkHttpClient.getConcurrencyLimiter();
+
+        synchronized (LOCK) {
+            enqueuedCount++;
+
+            Integer waiting = WAITING_PER_HOST.get(task.host);
+
+            if (limiter == null || waiting == null || waiting < limiter.getMaxQueue() ||
+                    canAdmit(task)) {
+                QUEUES.get(priority).add(task);
+                WAITING_PER_HOST.put(task.host , waiting == null ? 1 : waiting + 1);
+                task = null;
+            }
+        }
+
+        if (task != null) {
+            // 等待队列已满
+            Log.v(TAG , "queue full, reject " + call.request().url());
+            callback.onFailure(call , new FastFailException(NetworkErrorCode.QUEUE_FULL ,
+                    "queue full for " + task.host));
+            return;
+        }
+
+        promote();
+    }
+
+    /**
+     * 按优先级调度并同步等待一个请求，
+     * 用于已在后台线程中执行的多请求传输(如分块上传和分段下载)，
+     * 请求同样受并发数和{@link ConcurrencyLimiter}约束，
+     * 返回的响应被关闭前请求继续占用并发数，调用方必须关闭响应
+     *
+     * @param okHttpClient 发起请求的请求工具
+     * @param call         尚未执行的请求
+     * @param priority     优先级，取值为{@link RequestPriority}
+     *
+     * @return 响应
+     *
+     * @throws IOException 请求失败，被取消或等待被中断
+     */
+    @NonNull
+    public static Response execute(@NonNull OkHttpClient okHttpClient , @NonNull Call call ,
+                                   int priority) throws IOException {
+        BlockingCallback callback = new BlockingCallback();
+        enqueue(okHttpClient , call , priority , callback , true);
+        return callback.await(call);
+    }
+
+    /**
+     * 取消请求，
+     * 仍在等待的请求会被移出队列并立即回调失败
+     *
+     * @param call 请求
+     */
+    public static void cancel(@NonNull Call call) {
+        Task removed = null;
+
+        synchronized (LOCK) {
+            for (ArrayDeque<Task> queue : QUEUES) {
+                Iterator<Task> iterator = queue.iterator();
+
+                while (iterator.hasNext()) {
+                    Task task = iterator.next();
+
+                    if (task.call == call) {
+                        iterator.remove();
+                        onDequeue(task);
+                        removed = task;
+                        break;
+                    }
+                }
+            }
+        }
+
+        call.cancel();
+
+        if (removed != null) {
+            Log.v(TAG , "cancel waiting call " + call.request().url());
+            removed.callback.onFailure(call , new IOException("Canceled"));
+        }
+    }
+
+    /**
+     * 获取等待中的请求数
+     *
+     * @param priority 优先级，取值为{@link RequestPriority}
+     *
+     * @return 请求数
+     */
+    public static int getQueueDepth(int priority) {
+        synchronized (LOCK) {
+            return QUEUES.get(priority).size();
+        }
+    }
+
+    /**
+     * 获取主机等待中的请求数
+     *
+     * @param host 主机
+     *
+     * @return 请求数
+     */
+    public static int getHostQueueDepth(@NonNull String host) {
+        synchronized (LOCK) {
+            Integer waiting = WAITING_PER_HOST.get(host);
+            return waiting == null ? 0 : waiting;
+        }
+    }
+
+    /**
+     * 获取主机正在执行的请求数
+     *
+     * @param host 主机
+     *
+     * @return 请求数
+     */
+    public static int getHostRunningCount(@NonNull String host) {
+        synchronized (LOCK) {
+            Integer running = RUNNING_PER_HOST.get(host);
+            return running == null ? 0 : running;
+        }
+    }
+
+    /**
+     * 获取正在执行的请求数
+     *
+     * @return 请求数
+     */
+    public static int getRunningCount() {
+        synchronized (LOCK) {
+            return RUNNING.size();
+        }
+    }
+
+    /**
+     * 获取累计加入的请求数
+     *
+     * @return 请求数
+     */
+    public static long getEnqueuedCount() {
+        synchronized (LOCK) {
+            return enqueuedCount;
+        }
+    }
+
+    /**
+     * 获取已放行请求的平均等待时间
+     *
+     * @param priority 优先级，取值为{@link RequestPriority}
+     *
+     * @return 平均等待毫秒数
+     */
+    public static long getAverageWaitMillis(int priority) {
+        synchronized (LOCK) {
+            return ADMITTED[priority] == 0 ? 0 : TOTAL_WAIT[priority] / ADMITTED[priority];
+        }
+    }
+
+    /**
+     * 获取已放行请求的最长等待时间
+     *
+     * @param priority 优先级，取值为{@link RequestPriority}
+     *
+     * @return 最长等待毫秒数
+     */
+    public static long getMaxWaitMillis(int priority) {
+        synchronized (LOCK) {
+            return MAX_WAIT[priority];
+        }
+    }
+
+    /**
+     * 清空等待时间统计
+     */
+    public static void resetStatistics() {
+        synchronized (LOCK) {
+            for (int i = 0 ; i < PRIORITY_COUNT ; i++) {
+                ADMITTED[i] = 0;
+                TOTAL_WAIT[i] = 0;
+                MAX_WAIT[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * 按优先级放行满足并发限制的请求
+     */
+    private static void promote() {
+        List<Task> admitted = new ArrayList<>();
+
+        synchronized (LOCK) {
+            long now = SystemClock.elapsedRealtime();
+
+            for (ArrayDeque<Task> queue : QUEUES) {
+                Iterator<Task> iterator = queue.iterator();
+
+                while (iterator.hasNext()) {
+                    Task task = iterator.next();
+
+                    if (!canAdmit(task)) {
+                        continue;
+                    }
+
+                    iterator.remove();
+                    onDequeue(task);
+                    onAdmit(task , now);
+                    admitted.add(task);
+                }
+            }
+        }
+
+        for (Task task : admitted) {
+            task.call.enqueue(task);
+        }
+    }
+
+    /**
+     * 判断请求是否可以放行
+     *
+     * @param task 请求
+     *
+     * @return true表示可以放行
+     */
+    private static boolean canAdmit(Task task) {
+        int maxRequests = task.dispatcher.getMaxRequests();
+        int maxPerHost = task.dispatcher.getMaxRequestsPerHost();
+
+        ConcurrencyLimiter limiter = GlobalOkHttpClient.getConcurrencyLimiter();
+        if (limiter != null) {
+            maxPerHost = Math.min(maxPerHost , limiter.getLimit(task.host));
+        }
+
+        if (RUNNING.size() >= maxRequests) {
+            return false;
+        }
+
+        Integer hostCount = RUNNING_PER_HOST.get(task.host);
+
+        if (hostCount != null && hostCount >= maxPerHost) {
+            return false;
+        }
+
+        return task.priority != RequestPriority.BACKGROUND || runningBackground < Math.max(1 ,
+                maxRequests / 2);
+    }
+
+    /**
+     * 记录请求离开等待队列
+     *
+     * @param task 请求
+     */
+    private static void onDequeue(Task task) {
+        Integer waiting = WAITING_PER_HOST.get(task.host);
+
+        if (waiting == null || waiting <= 1) {
+            WAITING_PER_HOST.remove(task.host);
+        } else {
+            WAITING_PER_HOST.put(task.host , waiting - 1);
+        }
+    }
+
+    /**
+     * 记录请求放行
+     *
+     * @param task 请求
+     * @param now  当前时间
+     */
+    private static void onAdmit(Task task , long now) {
+        RUNNING.put(task.call , task);
+        task.admittedAt = now;
+
+        Integer hostCount = RUNNING_PER_HOST.get(task.host);
+        RUNNING_PER_HOST.put(task.host , hostCount == null ? 1 : hostCount + 1);
+
+        if (task.priority == RequestPriority.BACKGROUND) {
+            runningBackground++;
+        }
+
+        long wait = now - task.enqueuedAt;
+        ADMITTED[task.priority]++;
+        TOTAL_WAIT[task.priority] += wait;
+        MAX_WAIT[task.priority] = Math.max(MAX_WAIT[task.priority] , wait);
+
+        if (wait > 0) {
+            Log.v(TAG , "admit priority:" + task.priority + " wait:" + wait + "ms " + task.call
+                    .request().url());
+        }
+    }
+
+    /**
+     * 将请求结果交给并发限制器
+     *
+     * @param task    请求
+     * @param dropped 是否为过载信号
+     */
+    private static void onSample(Task task , boolean dropped) {
+        ConcurrencyLimiter limiter = GlobalOkHttpClient.getConcurrencyLimiter();
+
+        if (limiter == null || task.admittedAt < 0) {
+            return;
+        }
+
+        RetryRecord record = task.call.request().tag(RetryRecord.class);
+
+        if (!dropped && record != null && record.getAttempts() > 1) {
+            // 重试过的请求耗时包含多次尝试和退避等待，不能反映单次响应时间
+            return;
+        }
+
+        int inflight;
+
+        synchronized (LOCK) {
+            Integer running = RUNNING_PER_HOST.get(task.host);
+            inflight = running == null ? 0 : running;
+        }
+
+        limiter.onSample(task.host , SystemClock.elapsedRealtime() - task.admittedAt , dropped ,
+                inflight);
+    }
+
+    /**
+     * 请求结束，释放并发数，重复调用无效
+     *
+     * @param task 请求
+     */
+    private static void onFinished(Task task) {
+        synchronized (LOCK) {
+            if (RUNNING.remove(task.call) == null) {
+                return;
+            }
+
+            Integer hostCount = RUNNING_PER_HOST.get(task.host);
+
+            if (hostCount == null || hostCount <= 1) {
+                RUNNING_PER_HOST.remove(task.host);
+            } else {
+                RUNNING_PER_HOST.put(task.host , hostCount - 1);
+            }
+
+            if (task.priority == RequestPriority.BACKGROUND) {
+                runningBackground--;
+            }
+        }
+
+        promote();
+    }
+
+    /**
+     * 同步等待请求结果的回调，
+     * 并发数由响应体的关闭释放，回调线程不被阻塞
+     */
+    private static final class BlockingCallback implements Callback {
+
+        /**
+         * 响应
+         */
+        private Response response = null;
+
+        /**
+         * 请求异常
+         */
+        private IOException error = null;
+
+        /**
+         * 等待方是否已放弃结果
+         */
+        private boolean abandoned = false;
+
+        @Override
+        public synchronized void onFailure(@NonNull Call call , @NonNull IOException e) {
+            error = e;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void onResponse(@NonNull Call call , @NonNull Response response) {
+            if (abandoned) {
+                // 等待已被中断，关闭响应以释放并发数
+                response.close();
+                return;
+            }
+
+            this.response = response;
+            notifyAll();
+        }
+
+        /**
+         * 等待请求结果
+         *
+         * @param call 请求，等待被中断时取消
+         *
+         * @return 响应
+         *
+         * @throws IOException 请求失败或等待被中断
+         */
+        synchronized Response await(Call call) throws IOException {
+            try {
+                while (response == null && error == null) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandoned = true;
+                cancel(call);
+
+                if (response != null) {
+                    response.close();
+                }
+
+                throw new InterruptedIOException("Interrupted");
+            }
+
+            if (error != null) {
+                throw error;
+            }
+
+            return response;
+        }
+    }
+
+    /**
+     * 一个等待调度的请求
+     */
+    private static final class Task implements Callback {
+
+        /**
+         * 请求工具的调度器，提供并发限制
+         */
+        private final Dispatcher dispatcher;
+
+        /**
+         * 请求
+         */
+        private final Call call;
+
+        /**
+         * 请求主机
+         */
+        private final String host;
+
+        /**
+         * 优先级
+         */
+        private final int priority;
+
+        /**
+         * 结果回调
+         */
+        private final Callback callback;
+
+        /**
+         * 进入队列的时间
+         */
+        private final long enqueuedAt = SystemClock.elapsedRealtime();
+
+        /**
+         * 是否在响应体关闭时才释放并发数
+         */
+        private final boolean holdUntilClosed;
+
+        /**
+         * 放行的时间，-1表示尚未放行
+         */
+        private long admittedAt = -1;
+
+        /**
+         * 构造函数
+         *
+         * @param dispatcher      请求工具的调度器
+         * @param call            请求
+         * @param priority        优先级
+         * @param callback        结果回调
+         * @param holdUntilClosed 是否在响应体关闭时才释放并发数
+         */
+        Task(Dispatcher dispatcher , Call call , int priority , Callback callback , boolean
+                holdUntilClosed) {
+            this.dispatcher = dispatcher;
+            this.call = call;
+            this.host = call.request().url().host();
+            this.priority = priority;
+            this.callback = callback;
+            this.holdUntilClosed = holdUntilClosed;
+        }
+
+        @Override
+        public void onFailure(@NonNull Call call , @NonNull IOException e) {
+            if (!call.isCanceled() && !(e instanceof FastFailException)) {
+                // 被取消和本地拒绝的请求不反映主机负载
+                onSample(this , true);
+            }
+
+            try {
+                callback.onFailure(call , e);
+            } finally {
+                onFinished(this);
+            }
+        }
+
+        @Override
+        public void onResponse(@NonNull Call call , @NonNull Response response) throws
+                IOException {
+            onSample(this , response.code() == 429 || response.code() == 503);
+
+            ResponseBody body = response.body();
+
+            if (!holdUntilClosed || body == null) {
+                // 响应体可能在回调中被完整读取，并发数在回调结束后释放
+                try {
+                    callback.onResponse(call , response);
+                } finally {
+                    onFinished(this);
+                }
+                return;
+            }
+
+            // 响应体在其他线程中读取，关闭时释放并发数
+            Source source = new ForwardingSource(body.source()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        onFinished(Task.this);
+                    }
+                }
+            };
+
+            Response held = response.newBuilder().body(ResponseBody.create(body.contentType() ,
+                    body.contentLength() , Okio.buffer(source))).build();
+
+            boolean delivered = false;
+
+            try {
+                callback.onResponse(call , held);
+                delivered = true;
+            } finally {
+                if (!delivered) {
+                    held.close();
+                }
+            }
+        }
+    }
+}
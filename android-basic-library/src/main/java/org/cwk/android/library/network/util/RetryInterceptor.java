@@ -4,65 +4,226 @@ import android.support.annotation.NonNull;
 import android.util.Log;
 
 import java.io.IOException;
+import java.util.Date;
 
 import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
 
 /**
- * 网络请求重试拦截器
+ * 网络请求重试拦截器，
+ * 优先使用请求的{@link RetryPolicy}类型标签中的重试策略，
+ * 重试情况记录到请求的{@link RetryRecord}类型标签中，
+ * 请求带有{@link Deadline}类型标签时，剩余时间不足以完成退避等待则不再重试
  *
  * @author 超悟空
- * @version 1.0 2018/1/11
+ * @version 2.0 2026/10/18
  * @since 1.0 2018/1/11
  **/
 public class RetryInterceptor implements Interceptor {
 
+    /**
+     * 共享实例，仅对带有{@link RetryPolicy}标签的请求重试
+     */
+    public static final RetryInterceptor INSTANCE = new RetryInterceptor("RetryInterceptor" , 0);
+
+    /**
+     * 退避等待时检查取消状态的间隔毫秒数
+     */
+    private static final long SLEEP_STEP = 100;
+
     /**
      * 跟踪日志
      */
     private final String logTag;
 
     /**
-     * 最大重试次数
+     * 请求未携带重试策略时使用的默认策略
      */
-    private int maxRetryTimes = 0;
+    private final RetryPolicy defaultPolicy;
 
     /**
      * 构造函数
      *
      * @param tag   标签，用于跟踪日志
-     * @param times 重试次数
+     * @param times 请求未携带重试策略时的重试次数
      */
     public RetryInterceptor(String tag, int times) {
         this.logTag = tag;
-        this.maxRetryTimes = times;
+        this.defaultPolicy = new RetryPolicy.Builder().maxRetries(times).build();
     }
 
     @Override
     public Response intercept(@NonNull Chain chain) throws IOException {
         Request request = chain.request();
 
+        RetryPolicy policy = request.tag(RetryPolicy.class);
+        if (policy == null) {
+            policy = defaultPolicy;
+        }
+
+        RetryRecord record = request.tag(RetryRecord.class);
+
+        Deadline deadline = request.tag(Deadline.class);
+
+        int maxRetries = policy.isRetryable(request) ? policy.getMaxRetries() : 0;
+
+        // 按网络质量调整重试次数
+        NetworkQualityEstimator estimator = GlobalOkHttpClient.getQualityEstimator();
+        if (estimator != null) {
+            maxRetries = estimator.capRetries(maxRetries);
+        }
+
         int tryCount = 0;
-        boolean isSuccessful = false;
-        Response response = null;
 
-        do {
+        while (true) {
+            tryCount++;
+            Log.v(logTag, "request try:" + tryCount);
+
+            if (record != null) {
+                record.onAttempt();
+            }
+
+            long delay;
+
             try {
-                tryCount++;
-                Log.v(logTag, "request try:" + tryCount);
+                Response response = chain.proceed(request);
+
+                if (tryCount > maxRetries || !policy.isRetryableCode(response.code())) {
+                    return response;
+                }
 
-                response = chain.proceed(request);
-                isSuccessful = response.isSuccessful();
+                delay = retryAfter(policy , response);
+
+                if (delay > policy.getMaxDelay()) {
+                    // 服务器要求的等待时间过长，放弃重试
+                    Log.v(logTag, "retry after " + delay + "ms exceeds max delay");
+                    return response;
+                }
+
+                if (delay < 0) {
+                    delay = backoff(policy , estimator , tryCount);
+                }
+
+                if (!hasBudget(deadline , delay)) {
+                    return response;
+                }
+
+                Log.v(logTag, "request try:" + tryCount + ", response code:" + response.code());
+                response.close();
             } catch (IOException e) {
                 Log.e(logTag, "request try:" + tryCount + "," + e.toString());
 
-                if (tryCount > maxRetryTimes) {
+                if (tryCount > maxRetries || chain.call().isCanceled()) {
+                    throw e;
+                }
+
+                delay = backoff(policy , estimator , tryCount);
+
+                if (!hasBudget(deadline , delay)) {
                     throw e;
                 }
             }
-        } while (!isSuccessful && tryCount <= maxRetryTimes);
 
-        return response;
+            sleep(chain , delay);
+
+            if (record != null) {
+                record.onBackoff(delay);
+            }
+        }
+    }
+
+    /**
+     * 计算退避等待时间
+     *
+     * @param policy    重试策略
+     * @param estimator 网络质量估算器，可以为null
+     * @param tryCount  已请求次数
+     *
+     * @return 等待毫秒数
+     */
+    private static long backoff(RetryPolicy policy , NetworkQualityEstimator estimator , int
+            tryCount) {
+        long delay = policy.backoff(tryCount);
+
+        return estimator == null ? delay : estimator.scaleBackoff(delay);
+    }
+
+    /**
+     * 判断截止时间前是否还能完成退避等待并再次请求
+     *
+     * @param deadline 截止时间，可以为null
+     * @param delay    退避等待毫秒数
+     *
+     * @return true表示可以重试
+     */
+    private boolean hasBudget(Deadline deadline , long delay) {
+        if (deadline == null || delay < deadline.remainingMillis()) {
+            return true;
+        }
+
+        Log.v(logTag, "retry after " + delay + "ms exceeds deadline " + deadline);
+        return false;
+    }
+
+    /**
+     * 读取响应要求的重试等待时间
+     *
+     * @param policy   重试策略
+     * @param response 响应
+     *
+     * @return 等待毫秒数，未要求时返回-1
+     */
+    private static long retryAfter(RetryPolicy policy , Response response) {
+        if (!policy.isHonorRetryAfter() || (response.code() != 429 && response.code() != 503)) {
+            return -1;
+        }
+
+        String value = response.header("Retry-After");
+
+        if (value == null) {
+            return -1;
+        }
+
+        try {
+            return Math.max(0 , Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+
+            return date == null ? -1 : Math.max(0 , date.getTime() - System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 退避等待，请求被取消时提前结束
+     *
+     * @param chain 拦截链
+     * @param delay 等待毫秒数
+     *
+     * @throws IOException 请求被取消或线程被中断
+     */
+    private void sleep(Chain chain , long delay) throws IOException {
+        Log.v(logTag, "retry after " + delay + "ms");
+
+        long remaining = delay;
+
+        try {
+            while (remaining > 0) {
+                if (chain.call().isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+
+                long step = Math.min(remaining , SLEEP_STEP);
+                Thread.sleep(step);
+                remaining -= step;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted");
+        }
+
+        if (chain.call().isCanceled()) {
+            throw new IOException("Canceled");
+        }
     }
 }
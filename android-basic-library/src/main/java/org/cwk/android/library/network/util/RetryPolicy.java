@@ -0,0 +1,300 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import okhttp3.Request;
+
+/**
+ * 网络请求重试策略，
+ * 重试间隔使用带完全随机抖动的指数退避，即在[0 , min(最大间隔 , 基础间隔*2^n))中随机取值，
+ * 响应码为429或503且带有Retry-After时优先使用服务器指定的间隔，
+ * 默认只重试幂等请求，
+ * 通过{@link Builder}构建
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class RetryPolicy {
+
+    /**
+     * 默认基础间隔毫秒数
+     */
+    public static final long DEFAULT_BASE_DELAY = 500;
+
+    /**
+     * 默认最大间隔毫秒数
+     */
+    public static final long DEFAULT_MAX_DELAY = 10000;
+
+    /**
+     * 默认可重试的响应码
+     */
+    private static final Integer[] DEFAULT_RETRYABLE_CODES = {408 , 429 , 500 , 502 , 503 ,
+            504};
+
+    /**
+     * 幂等的请求方法
+     */
+    private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(Arrays.asList("GET" ,
+            "HEAD" , "PUT" , "DELETE" , "OPTIONS" , "TRACE"));
+
+    /**
+     * 随机抖动生成器
+     */
+    private static final Random RANDOM = new Random();
+
+    /**
+     * 最大重试次数
+     */
+    private final int maxRetries;
+
+    /**
+     * 基础间隔毫秒数
+     */
+    private final long baseDelay;
+
+    /**
+     * 最大间隔毫秒数
+     */
+    private final long maxDelay;
+
+    /**
+     * 可重试的响应码
+     */
+    private final Set<Integer> retryableCodes;
+
+    /**
+     * 是否允许重试非幂等请求
+     */
+    private final boolean retryNonIdempotent;
+
+    /**
+     * 是否遵循Retry-After
+     */
+    private final boolean honorRetryAfter;
+
+    /**
+     * 构造函数
+     *
+     * @param builder 构建器
+     */
+    private RetryPolicy(Builder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.baseDelay = builder.baseDelay;
+        this.maxDelay = builder.maxDelay;
+        this.retryableCodes = Collections.unmodifiableSet(new HashSet<>(builder.retryableCodes));
+        this.retryNonIdempotent = builder.retryNonIdempotent;
+        this.honorRetryAfter = builder.honorRetryAfter;
+    }
+
+    /**
+     * 获取最大重试次数
+     *
+     * @return 重试次数
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * 获取最大间隔毫秒数
+     *
+     * @return 最大间隔
+     */
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * 是否遵循Retry-After
+     *
+     * @return true表示遵循
+     */
+    public boolean isHonorRetryAfter() {
+        return honorRetryAfter;
+    }
+
+    /**
+     * 判断请求是否允许重试
+     *
+     * @param request 请求
+     *
+     * @return true表示允许
+     */
+    public boolean isRetryable(@NonNull Request request) {
+        return retryNonIdempotent || IDEMPOTENT_METHODS.contains(request.method());
+    }
+
+    /**
+     * 判断响应码是否需要重试
+     *
+     * @param code 响应码
+     *
+     * @return true表示需要重试
+     */
+    public boolean isRetryableCode(int code) {
+        return retryableCodes.contains(code);
+    }
+
+    /**
+     * 计算第n次重试前的等待时间
+     *
+     * @param retry 重试序号，从1开始
+     *
+     * @return 等待毫秒数
+     */
+    public long backoff(int retry) {
+        if (baseDelay <= 0 || maxDelay <= 0) {
+            return 0;
+        }
+
+        // 避免移位溢出
+        int shift = Math.min(retry - 1 , 30);
+        long ceiling = Math.min(maxDelay , baseDelay << shift);
+
+        if (ceiling <= 0) {
+            ceiling = maxDelay;
+        }
+
+        synchronized (RANDOM) {
+            return (long) (RANDOM.nextDouble() * ceiling);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "maxRetries:" + maxRetries + " baseDelay:" + baseDelay + " maxDelay:" + maxDelay +
+                " codes:" + new TreeSet<>(retryableCodes) + " nonIdempotent:" +
+                retryNonIdempotent + " retryAfter:" + honorRetryAfter;
+    }
+
+    /**
+     * 重试策略构建器
+     */
+    public static class Builder {
+
+        /**
+         * 最大重试次数
+         */
+        private int maxRetries = 0;
+
+        /**
+         * 基础间隔毫秒数
+         */
+        private long baseDelay = DEFAULT_BASE_DELAY;
+
+        /**
+         * 最大间隔毫秒数
+         */
+        private long maxDelay = DEFAULT_MAX_DELAY;
+
+        /**
+         * 可重试的响应码
+         */
+        private Set<Integer> retryableCodes = new HashSet<>(Arrays.asList
+                (DEFAULT_RETRYABLE_CODES));
+
+        /**
+         * 是否允许重试非幂等请求
+         */
+        private boolean retryNonIdempotent = false;
+
+        /**
+         * 是否遵循Retry-After
+         */
+        private boolean honorRetryAfter = true;
+
+        /**
+         * 设置最大重试次数
+         *
+         * @param maxRetries 重试次数，默认为0即不重试
+         *
+         * @return 构建器
+         */
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * 设置基础间隔
+         *
+         * @param baseDelay 基础间隔毫秒数，默认为{@link #DEFAULT_BASE_DELAY}，0表示立即重试
+         *
+         * @return 构建器
+         */
+        public Builder baseDelay(long baseDelay) {
+            this.baseDelay = baseDelay;
+            return this;
+        }
+
+        /**
+         * 设置最大间隔，同时是可接受的Retry-After上限，
+         * 服务器要求的等待时间超过此值时不再重试
+         *
+         * @param maxDelay 最大间隔毫秒数，默认为{@link #DEFAULT_MAX_DELAY}
+         *
+         * @return 构建器
+         */
+        public Builder maxDelay(long maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * 设置可重试的响应码，网络异常总是可以重试
+         *
+         * @param codes 响应码，默认为408，429，500，502，503和504
+         *
+         * @return 构建器
+         */
+        public Builder retryableCodes(int... codes) {
+            this.retryableCodes = new HashSet<>();
+            for (int code : codes) {
+                this.retryableCodes.add(code);
+            }
+            return this;
+        }
+
+        /**
+         * 设置是否允许重试非幂等请求(如post)
+         *
+         * @param retryNonIdempotent true表示允许，默认为false
+         *
+         * @return 构建器
+         */
+        public Builder retryNonIdempotent(boolean retryNonIdempotent) {
+            this.retryNonIdempotent = retryNonIdempotent;
+            return this;
+        }
+
+        /**
+         * 设置是否遵循429和503响应的Retry-After
+         *
+         * @param honorRetryAfter true表示遵循，默认为true
+         *
+         * @return 构建器
+         */
+        public Builder honorRetryAfter(boolean honorRetryAfter) {
+            this.honorRetryAfter = honorRetryAfter;
+            return this;
+        }
+
+        /**
+         * 构建重试策略
+         *
+         * @return 重试策略
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.cwk.android.library.network.util;
+
+/**
+ * 单次请求的重试记录，
+ * 由{@link RetryInterceptor}填写
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class RetryRecord {
+
+    /**
+     * 实际发起的请求次数
+     */
+    private volatile int attempts = 0;
+
+    /**
+     * 累计退避等待的毫秒数
+     */
+    private volatile long backoffMillis = 0;
+
+    /**
+     * 记录一次请求
+     */
+    void onAttempt() {
+        attempts++;
+    }
+
+    /**
+     * 记录一次退避等待
+     *
+     * @param millis 等待毫秒数
+     */
+    void onBackoff(long millis) {
+        backoffMillis += millis;
+    }
+
+    /**
+     * 获取实际发起的请求次数
+     *
+     * @return 请求次数，包含首次请求
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * 获取累计退避等待的毫秒数
+     *
+     * @return 等待毫秒数
+     */
+    public long getBackoffMillis() {
+        return backoffMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "attempts:" + attempts + " backoff:" + backoffMillis + "ms";
+    }
+}
@@ -0,0 +1,74 @@
+package org.cwk.android.library.network.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+
+/**
+ * 限流的进度监听器，
+ * 两次进度回调之间至少间隔指定的时间且进度至少增加指定的字节数，
+ * 不满足条件的进度被丢弃，完成进度总是会被回调，
+ * 可以被多个线程同时调用
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class ThrottledProgressListener implements OnNetworkProgressListener {
+
+    /**
+     * 实际的进度监听器
+     */
+    private final OnNetworkProgressListener listener;
+
+    /**
+     * 最小回调间隔毫秒数
+     */
+    private final long minInterval;
+
+    /**
+     * 最小回调字节增量
+     */
+    private final long minBytes;
+
+    /**
+     * 上次回调的时间
+     */
+    private long lastTime = 0;
+
+    /**
+     * 上次回调的进度，-1表示尚未回调
+     */
+    private long lastBytes = -1;
+
+    /**
+     * 构造函数
+     *
+     * @param listener    实际的进度监听器
+     * @param minInterval 最小回调间隔毫秒数，0表示不限制
+     * @param minBytes    最小回调字节增量，0表示不限制
+     */
+    public ThrottledProgressListener(@NonNull OnNetworkProgressListener listener , long
+            minInterval , long minBytes) {
+        this.listener = listener;
+        this.minInterval = minInterval;
+        this.minBytes = minBytes;
+    }
+
+    @Override
+    public void onRefreshProgress(long current , long total , boolean done) {
+        synchronized (this) {
+            long now = SystemClock.elapsedRealtime();
+
+            // 进度回退说明传输重新开始
+            if (!done && lastBytes >= 0 && current >= lastBytes && (now - lastTime <
+                    minInterval || current - lastBytes < minBytes)) {
+                return;
+            }
+
+            lastTime = now;
+            lastBytes = done ? -1 : current;
+        }
+
+        listener.onRefreshProgress(current , total , done);
+    }
+}
@@ -0,0 +1,279 @@
+package org.cwk.android.library.network.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import java.io.IOException;
+
+import okhttp3.Authenticator;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * 访问令牌认证器，
+ * 通过{@link GlobalOkHttpClient#installTokenAuthenticator(TokenAuthenticator)}安装，
+ * 作为应用拦截器为没有认证头的请求附加{@link TokenProvider}的当前令牌，
+ * 作为{@link Authenticator}在服务器返回401时刷新令牌并使用新令牌重发请求，
+ * 同一时间只有一个刷新在进行，并发收到401的请求等待该次刷新的结果，
+ * 已被其它请求刷新过的令牌直接使用新令牌重发，
+ * 两次刷新之间至少间隔{@link Builder#minRefreshInterval(long)}，
+ * 已通过{@link org.cwk.android.library.network.factory.CommunicationBuilder#header(String , String)}
+ * 等方式自行设置认证头的请求保持原样，不会被附加或刷新令牌，
+ * 通过{@link Builder}构建
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class TokenAuthenticator implements Authenticator, Interceptor {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "TokenAuthenticator";
+
+    /**
+     * 同一请求最多发出的次数，包含首次请求，即刷新令牌后最多重发一次，
+     * 避免新令牌依然被拒绝时反复重发
+     */
+    private static final int MAX_ATTEMPTS = 2;
+
+    /**
+     * 令牌提供者
+     */
+    private final TokenProvider provider;
+
+    /**
+     * 认证头名称
+     */
+    private final String headerName;
+
+    /**
+     * 认证头中令牌的前缀
+     */
+    private final String prefix;
+
+    /**
+     * 两次刷新的最小间隔毫秒数
+     */
+    private final long minRefreshInterval;
+
+    /**
+     * 刷新锁
+     */
+    private final Object refreshLock = new Object();
+
+    /**
+     * 上次刷新的时间，0表示未刷新过
+     */
+    private long refreshedAt = 0;
+
+    /**
+     * 构造函数
+     *
+     * @param builder 构建器
+     */
+    private TokenAuthenticator(Builder builder) {
+        this.provider = builder.provider;
+        this.headerName = builder.headerName;
+        this.prefix = builder.prefix;
+        this.minRefreshInterval = builder.minRefreshInterval;
+    }
+
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        if (request.header(headerName) != null) {
+            // 请求自行设置了认证头
+            return chain.proceed(request);
+        }
+
+        Request.Builder builder = request.newBuilder().tag(TokenAuthenticator.class , this);
+
+        String token = provider.getToken();
+
+        if (token != null) {
+            builder.header(headerName , prefix + token);
+        }
+
+        return chain.proceed(builder.build());
+    }
+
+    @Nullable
+    @Override
+    public Request authenticate(@Nullable Route route , @NonNull Response response) throws
+            IOException {
+        Request request = response.request();
+
+        if (request.tag(TokenAuthenticator.class) != this) {
+            // 不是由本认证器附加的令牌
+            return null;
+        }
+
+        if (attempts(response) >= MAX_ATTEMPTS) {
+            Log.v(TAG , "give up " + request.url());
+            return null;
+        }
+
+        String expired = tokenOf(request);
+
+        synchronized (refreshLock) {
+            String current = provider.getToken();
+
+            if (current != null && !current.equals(expired)) {
+                // 等待期间已被其它请求刷新
+                Log.v(TAG , "token refreshed by another request " + request.url());
+                return withToken(request , current);
+            }
+
+            long now = SystemClock.elapsedRealtime();
+
+            if (refreshedAt > 0 && now - refreshedAt < minRefreshInterval) {
+                Log.v(TAG , "refresh rate limited " + request.url());
+                return null;
+            }
+
+            refreshedAt = now;
+
+            Log.v(TAG , "refresh token for " + request.url());
+
+            String token;
+
+            try {
+                token = provider.refreshToken(expired);
+            } catch (IOException e) {
+                Log.e(TAG , "refresh token error" , e);
+                return null;
+            }
+
+            if (token == null) {
+                Log.v(TAG , "refresh token failed");
+                return null;
+            }
+
+            return withToken(request , token);
+        }
+    }
+
+    /**
+     * 读取请求携带的令牌
+     *
+     * @param request 请求
+     *
+     * @return 令牌，没有认证头时为null
+     */
+    private String tokenOf(Request request) {
+        String value = request.header(headerName);
+
+        if (value == null) {
+            return null;
+        }
+
+        return value.startsWith(prefix) ? value.substring(prefix.length()) : value;
+    }
+
+    /**
+     * 使用新令牌重建请求，其它请求头和标签保持不变
+     *
+     * @param request 原请求
+     * @param token   新令牌
+     *
+     * @return 新请求
+     */
+    private Request withToken(Request request , String token) {
+        return request.newBuilder().header(headerName , prefix + token).build();
+    }
+
+    /**
+     * 计算请求已被认证的次数
+     *
+     * @param response 响应
+     *
+     * @return 次数，包含本次
+     */
+    private static int attempts(Response response) {
+        int count = 1;
+
+        while ((response = response.priorResponse()) != null) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * 令牌认证器构建器
+     */
+    public static class Builder {
+
+        /**
+         * 令牌提供者
+         */
+        private final TokenProvider provider;
+
+        /**
+         * 认证头名称
+         */
+        private String headerName = "Authorization";
+
+        /**
+         * 认证头中令牌的前缀
+         */
+        private String prefix = "Bearer ";
+
+        /**
+         * 两次刷新的最小间隔毫秒数
+         */
+        private long minRefreshInterval = 10000;
+
+        /**
+         * 构造函数
+         *
+         * @param provider 令牌提供者
+         */
+        public Builder(@NonNull TokenProvider provider) {
+            this.provider = provider;
+        }
+
+        /**
+         * 设置认证头
+         *
+         * @param headerName 认证头名称，默认为"Authorization"
+         * @param prefix     令牌前缀，默认为"Bearer "
+         *
+         * @return 构建器
+         */
+        public Builder header(@NonNull String headerName , @NonNull String prefix) {
+            this.headerName = headerName;
+            this.prefix = prefix;
+            return this;
+        }
+
+        /**
+         * 设置两次刷新的最小间隔，
+         * 间隔内再次被拒绝的令牌不再刷新，请求直接以401结束
+         *
+         * @param minRefreshInterval 毫秒数，默认为10000
+         *
+         * @return 构建器
+         */
+        public Builder minRefreshInterval(long minRefreshInterval) {
+            this.minRefreshInterval = Math.max(0 , minRefreshInterval);
+            return this;
+        }
+
+        /**
+         * 构建令牌认证器
+         *
+         * @return 令牌认证器
+         */
+        public TokenAuthenticator build() {
+            return new TokenAuthenticator(this);
+        }
+    }
+}
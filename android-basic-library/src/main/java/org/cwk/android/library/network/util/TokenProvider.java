@@ -0,0 +1,38 @@
+package org.cwk.android.library.network.util;
+
+import android.support.annotation.Nullable;
+
+import java.io.IOException;
+
+/**
+ * 访问令牌提供者，
+ * 由{@link TokenAuthenticator}读取当前令牌，并在服务器返回401时刷新令牌
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface TokenProvider {
+
+    /**
+     * 获取当前令牌
+     *
+     * @return 令牌，未登录时为null
+     */
+    @Nullable
+    String getToken();
+
+    /**
+     * 刷新令牌，在请求线程中同步执行，同一时间只有一个刷新在进行，
+     * 刷新成功后{@link #getToken()}应返回新令牌，
+     * 刷新请求应使用不经过{@link TokenAuthenticator}的请求工具或自行携带认证头
+     *
+     * @param expiredToken 服务器拒绝的令牌，可能为null
+     *
+     * @return 新令牌，无法刷新(如需要重新登录)时返回null
+     *
+     * @throws IOException 刷新请求失败
+     */
+    @Nullable
+    String refreshToken(@Nullable String expiredToken) throws IOException;
+}
@@ -0,0 +1,417 @@
+package org.cwk.android.library.util;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import org.cwk.android.library.global.Global;
+import org.cwk.android.library.network.factory.NetworkQuality;
+import org.cwk.android.library.network.util.GlobalOkHttpClient;
+import org.cwk.android.library.network.util.NetworkQualityEstimator;
+import org.cwk.android.library.struct.FileInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * 根据网络状况自动选择压缩参数的上传图片压缩工具，
+ * 按当前网络质量等级确定最长边，编码质量和体积上限，
+ * 网络质量优先取自已安装的{@link NetworkQualityEstimator}的实测结果，
+ * 否则按{@link CheckNetwork#getNetWorkType()}的网络类型估计，
+ * 压缩结果写入文件并包装为{@link FileInfo}，可以直接作为上传任务的参数，
+ * 2G/3G网络下自动上传更小的图片，WIFI下保持较高质量
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class AdaptiveImageCompression {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "AdaptiveImageCompression";
+
+    /**
+     * 压缩体积超限时的最低编码质量
+     */
+    private static final int MIN_QUALITY = 40;
+
+    /**
+     * 每次降低的编码质量
+     */
+    private static final int QUALITY_STEP = 10;
+
+    /**
+     * 获取当前网络对应的压缩参数
+     *
+     * @return 压缩参数
+     */
+    @NonNull
+    public static Profile currentProfile() {
+        return Profile.of(currentQuality());
+    }
+
+    /**
+     * 获取当前网络质量等级
+     *
+     * @return 取值为{@link NetworkQuality}
+     */
+    public static int currentQuality() {
+        NetworkQualityEstimator estimator = GlobalOkHttpClient.getQualityEstimator();
+
+        if (estimator != null && estimator.getQuality() != NetworkQuality.UNKNOWN) {
+            return estimator.getQuality();
+        }
+
+        if (Global.getApplication() == null) {
+            return NetworkQuality.UNKNOWN;
+        }
+
+        switch (CheckNetwork.getNetWorkType()) {
+            case CheckNetwork.NETWORK_WIFI:
+                return NetworkQuality.EXCELLENT;
+            case CheckNetwork.NETWORK_4G:
+                return NetworkQuality.GOOD;
+            case CheckNetwork.NETWORK_3G:
+                return NetworkQuality.MODERATE;
+            case CheckNetwork.NETWORK_2G:
+                return NetworkQuality.POOR;
+            default:
+                return NetworkQuality.UNKNOWN;
+        }
+    }
+
+    /**
+     * 按当前网络压缩图片
+     *
+     * @param source 原图
+     * @param target 压缩结果文件，已存在时被覆盖
+     *
+     * @return 上传文件，原图已满足要求时直接返回原图
+     *
+     * @throws IOException 读取或写入失败
+     */
+    @NonNull
+    public static FileInfo compress(@NonNull File source , @NonNull File target) throws
+            IOException {
+        return compress(source , target , currentProfile());
+    }
+
+    /**
+     * 按指定参数压缩图片，
+     * 先按2的幂采样解码，再缩放到最长边以内并按EXIF方向旋转，
+     * 编码后超出体积上限时逐步降低编码质量
+     *
+     * @param source  原图
+     * @param target  压缩结果文件，已存在时被覆盖
+     * @param profile 压缩参数
+     *
+     * @return 上传文件，原图已满足要求时直接返回原图
+     *
+     * @throws IOException 读取或写入失败
+     */
+    @NonNull
+    public static FileInfo compress(@NonNull File source , @NonNull File target , @NonNull
+            Profile profile) throws IOException {
+        Log.v(TAG , "compress " + source + " " + profile);
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(source.getPath() , options);
+
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("decode image failed " + source);
+        }
+
+        int longEdge = Math.max(options.outWidth , options.outHeight);
+        int degree = ImageCompression.readPictureDegree(source.getPath());
+
+        if (longEdge <= profile.maxEdge && degree == 0 && (profile.maxBytes() == 0 || source
+                .length() <= profile.maxBytes()) && profile.format.equals(formatOf(options
+                .outMimeType))) {
+            // 原图已满足要求
+            Log.v(TAG , "source image fits profile");
+            return new FileInfo(source , source.getName() , options.outMimeType);
+        }
+
+        // 采样后最长边不小于目标值
+        int sampleSize = 1;
+        while (longEdge / (sampleSize * 2) >= profile.maxEdge) {
+            sampleSize *= 2;
+        }
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+
+        Bitmap bitmap = BitmapFactory.decodeFile(source.getPath() , options);
+
+        if (bitmap == null) {
+            throw new IOException("decode image failed " + source);
+        }
+
+        bitmap = scale(bitmap , profile.maxEdge);
+
+        if (degree != 0) {
+            Bitmap rotated = ImageCompression.rotateImage(degree , bitmap);
+            if (rotated != bitmap) {
+                bitmap.recycle();
+            }
+            bitmap = rotated;
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try {
+            int quality = profile.quality;
+            bitmap.compress(profile.format , quality , outputStream);
+
+            while (profile.maxBytes() > 0 && outputStream.size() > profile.maxBytes() &&
+                    quality > MIN_QUALITY) {
+                quality = Math.max(MIN_QUALITY , quality - QUALITY_STEP);
+                outputStream.reset();
+                bitmap.compress(profile.format , quality , outputStream);
+            }
+
+            Log.v(TAG , "compress result " + bitmap.getWidth() + "x" + bitmap.getHeight() +
+                    " quality:" + quality + " size:" + outputStream.size() / 1024 + "KB");
+        } finally {
+            bitmap.recycle();
+        }
+
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("make dirs failed " + parent);
+        }
+
+        try (FileOutputStream fileOutputStream = new FileOutputStream(target)) {
+            outputStream.writeTo(fileOutputStream);
+        }
+
+        return new FileInfo(target , renameExtension(source.getName() , profile.format) ,
+                mimeTypeOf(profile.format));
+    }
+
+    /**
+     * 等比缩放到最长边以内
+     *
+     * @param bitmap  图片
+     * @param maxEdge 最长边像素数
+     *
+     * @return 缩放后的图片，不需要缩放时返回原图
+     */
+    private static Bitmap scale(Bitmap bitmap , int maxEdge) {
+        int longEdge = Math.max(bitmap.getWidth() , bitmap.getHeight());
+
+        if (longEdge <= maxEdge) {
+            return bitmap;
+        }
+
+        float ratio = (float) maxEdge / longEdge;
+
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap , Math.max(1 , Math.round(bitmap
+                .getWidth() * ratio)) , Math.max(1 , Math.round(bitmap.getHeight() * ratio)) ,
+                true);
+
+        if (scaled != bitmap) {
+            bitmap.recycle();
+        }
+
+        return scaled;
+    }
+
+    /**
+     * 获取mime类型对应的编码格式
+     *
+     * @param mimeType mime类型
+     *
+     * @return 编码格式，不支持的类型返回null
+     */
+    private static Bitmap.CompressFormat formatOf(String mimeType) {
+        if ("image/jpeg".equals(mimeType)) {
+            return Bitmap.CompressFormat.JPEG;
+        }
+
+        if ("image/webp".equals(mimeType)) {
+            return Bitmap.CompressFormat.WEBP;
+        }
+
+        if ("image/png".equals(mimeType)) {
+            return Bitmap.CompressFormat.PNG;
+        }
+
+        return null;
+    }
+
+    /**
+     * 获取编码格式对应的mime类型
+     *
+     * @param format 编码格式
+     *
+     * @return mime类型
+     */
+    private static String mimeTypeOf(Bitmap.CompressFormat format) {
+        switch (format) {
+            case WEBP:
+                return "image/webp";
+            case PNG:
+                return "image/png";
+            default:
+                return "image/jpeg";
+        }
+    }
+
+    /**
+     * 将文件扩展名替换为编码格式对应的扩展名
+     *
+     * @param name   原文件名
+     * @param format 编码格式
+     *
+     * @return 新文件名
+     */
+    private static String renameExtension(String name , Bitmap.CompressFormat format) {
+        int index = name.lastIndexOf('.');
+        String base = index > 0 ? name.substring(0 , index) : name;
+
+        switch (format) {
+            case WEBP:
+                return base + ".webp";
+            case PNG:
+                return base + ".png";
+            default:
+                return base + ".jpg";
+        }
+    }
+
+    /**
+     * 压缩参数
+     */
+    public static final class Profile {
+
+        /**
+         * 最长边像素数
+         */
+        private final int maxEdge;
+
+        /**
+         * 初始编码质量
+         */
+        private final int quality;
+
+        /**
+         * 体积上限KB，0表示不限制
+         */
+        private final int maxSize;
+
+        /**
+         * 编码格式
+         */
+        private final Bitmap.CompressFormat format;
+
+        /**
+         * 构造函数
+         *
+         * @param maxEdge 最长边像素数
+         * @param quality 初始编码质量，0-100
+         * @param maxSize 体积上限KB，0表示不限制
+         * @param format  编码格式，JPEG或WEBP
+         */
+        public Profile(int maxEdge , int quality , int maxSize , @NonNull Bitmap.CompressFormat
+                format) {
+            this.maxEdge = maxEdge;
+            this.quality = quality;
+            this.maxSize = maxSize;
+            this.format = format;
+        }
+
+        /**
+         * 获取网络质量等级对应的默认压缩参数，使用JPEG编码
+         *
+         * @param quality 网络质量等级，取值为{@link NetworkQuality}
+         *
+         * @return 压缩参数
+         */
+        @NonNull
+        public static Profile of(int quality) {
+            switch (quality) {
+                case NetworkQuality.EXCELLENT:
+                    return new Profile(2560 , 90 , 2048 , Bitmap.CompressFormat.JPEG);
+                case NetworkQuality.GOOD:
+                    return new Profile(1920 , 85 , 800 , Bitmap.CompressFormat.JPEG);
+                case NetworkQuality.MODERATE:
+                    return new Profile(1280 , 75 , 300 , Bitmap.CompressFormat.JPEG);
+                case NetworkQuality.POOR:
+                    return new Profile(800 , 60 , 100 , Bitmap.CompressFormat.JPEG);
+                default:
+                    return new Profile(1600 , 80 , 500 , Bitmap.CompressFormat.JPEG);
+            }
+        }
+
+        /**
+         * 使用其它编码格式，
+         * WEBP在相同质量下体积通常更小，需要服务器支持
+         *
+         * @param format 编码格式
+         *
+         * @return 新压缩参数
+         */
+        @NonNull
+        public Profile withFormat(@NonNull Bitmap.CompressFormat format) {
+            return new Profile(maxEdge , quality , maxSize , format);
+        }
+
+        /**
+         * 获取最长边像素数
+         *
+         * @return 像素数
+         */
+        public int getMaxEdge() {
+            return maxEdge;
+        }
+
+        /**
+         * 获取初始编码质量
+         *
+         * @return 0-100
+         */
+        public int getQuality() {
+            return quality;
+        }
+
+        /**
+         * 获取体积上限
+         *
+         * @return KB，0表示不限制
+         */
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * 获取编码格式
+         *
+         * @return 编码格式
+         */
+        public Bitmap.CompressFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * 获取体积上限字节数
+         *
+         * @return 字节数，0表示不限制
+         */
+        private long maxBytes() {
+            return maxSize * 1024L;
+        }
+
+        @Override
+        public String toString() {
+            return "maxEdge:" + maxEdge + " quality:" + quality + " maxSize:" + maxSize + "KB " +
+                    "format:" + format;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.cwk.android.library.work;
+
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+import okhttp3.RequestBody;
+
+/**
+ * 批量请求的协议封装接口，
+ * 负责将多个任务的请求合并为一个请求体，并将批量响应拆分为各任务的响应
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface BatchEnvelope {
+
+    /**
+     * 创建批量请求的请求体
+     *
+     * @param items 各任务的请求，顺序与加入批量请求的顺序相同
+     *
+     * @return 请求体，使用post方式发送
+     *
+     * @throws Exception 处理过程中可能出现的异常
+     */
+    @NonNull
+    RequestBody onCreateRequestBody(@NonNull List<WorkBatch.Item> items) throws Exception;
+
+    /**
+     * 拆分批量响应
+     *
+     * @param response 批量请求的响应字符串
+     * @param items    各任务的请求
+     *
+     * @return 各任务的响应，数量和顺序必须与items一致
+     *
+     * @throws Exception 处理过程中可能出现的异常
+     */
+    @NonNull
+    List<WorkBatch.Result> onSplitResponse(@NonNull String response , @NonNull List<WorkBatch
+            .Item> items) throws Exception;
+}
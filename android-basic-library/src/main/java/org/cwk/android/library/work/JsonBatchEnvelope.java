@@ -0,0 +1,66 @@
+package org.cwk.android.library.work;
+
+import android.support.annotation.NonNull;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+
+/**
+ * 默认的Json批量请求协议，<br>
+ * 请求体为{"requests":[{"method":"POST","url":"...","params":{...}}]}，<br>
+ * 响应为{"responses":[{"code":200,"body":...}]}，
+ * body可以是json对象，数组或字符串，会以字符串形式交给各任务解析
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class JsonBatchEnvelope implements BatchEnvelope {
+
+    /**
+     * 请求体类型
+     */
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    @NonNull
+    @Override
+    public RequestBody onCreateRequestBody(@NonNull List<WorkBatch.Item> items) throws
+            Exception {
+        JSONArray requests = new JSONArray();
+
+        for (WorkBatch.Item item : items) {
+            JSONObject request = new JSONObject();
+            request.put("method" , item.getMethod());
+            request.put("url" , item.getUrl());
+            request.put("params" , new JSONObject(item.getParams()));
+            requests.put(request);
+        }
+
+        return RequestBody.create(JSON , new JSONObject().put("requests" , requests).toString());
+    }
+
+    @NonNull
+    @Override
+    public List<WorkBatch.Result> onSplitResponse(@NonNull String response , @NonNull
+            List<WorkBatch.Item> items) throws Exception {
+        JSONArray responses = new JSONObject(response).getJSONArray("responses");
+
+        List<WorkBatch.Result> results = new ArrayList<>();
+
+        for (int i = 0 ; i < responses.length() ; i++) {
+            JSONObject item = responses.getJSONObject(i);
+            Object body = item.opt("body");
+
+            results.add(new WorkBatch.Result(item.getInt("code") , body == null || body ==
+                    JSONObject.NULL ? null : body.toString()));
+        }
+
+        return results;
+    }
+}
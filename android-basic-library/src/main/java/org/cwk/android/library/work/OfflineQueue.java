@@ -0,0 +1,1044 @@
+package org.cwk.android.library.work;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import org.cwk.android.library.global.Global;
+import org.cwk.android.library.network.communication.ICommunication;
+import org.cwk.android.library.network.communication.OkHttpCommunication;
+import org.cwk.android.library.network.communication.OkHttpDeleteCommunication;
+import org.cwk.android.library.network.communication.OkHttpGetCommunication;
+import org.cwk.android.library.network.communication.OkHttpPostCommunication;
+import org.cwk.android.library.network.communication.OkHttpPutCommunication;
+import org.cwk.android.library.network.factory.RequestPriority;
+import org.cwk.android.library.network.util.AtomicFileWriter;
+import org.cwk.android.library.network.util.GlobalOkHttpClient;
+import org.cwk.android.library.network.util.RequestBodyBuilder;
+import org.cwk.android.library.network.util.RequestScheduler;
+import org.cwk.android.library.util.CheckNetwork;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 持久化的离线请求队列，
+ * 无网络时将选择加入的任务请求(请求方式，地址，请求头和序列化后的参数)追加写入队列文件，
+ * 网络恢复后按加入顺序以有限并发重放，重放暂时失败时按指数退避稍后重试，
+ * 队列文件在单独的线程中按顺序写入，
+ * 相同key的请求只保留最后一次，
+ * 重放结果通过按任务类型注册的{@link OnOfflineReplayListener}回调，
+ * 因为发起请求的任务和监听器可能已经不存在。<br>
+ * 通过{@link #install(File , int)}安装后，
+ * 任务重写{@link WorkModel#onOfflineQueueKey(Object[])}返回非空key即可加入，
+ * 只应对幂等的请求使用，仅支持参数为字符串的get，post，put和delete任务
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class OfflineQueue {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "OfflineQueue";
+
+    /**
+     * 记录类型，加入请求
+     */
+    private static final int RECORD_ADD = 1;
+
+    /**
+     * 记录类型，移除请求
+     */
+    private static final int RECORD_REMOVE = 2;
+
+    /**
+     * 触发压缩的最少失效记录数
+     */
+    private static final int COMPACT_THRESHOLD = 64;
+
+    /**
+     * 重放失败后首次重试的等待毫秒数
+     */
+    private static final long MIN_RETRY_DELAY = 5000;
+
+    /**
+     * 重放失败后重试的最长等待毫秒数
+     */
+    private static final long MAX_RETRY_DELAY = 5 * 60 * 1000;
+
+    /**
+     * 字符编码
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * 队列文件的写入线程，记录按提交顺序写入，同步到存储设备时不阻塞调用线程(通常为主线程)
+     */
+    private static final ExecutorService DISK_EXECUTOR = Executors.newSingleThreadExecutor
+            (runnable -> {
+                Thread thread = new Thread(runnable , "OfflineQueue disk");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * 已安装的队列
+     */
+    private static volatile OfflineQueue instance = null;
+
+    /**
+     * 队列文件
+     */
+    private final File file;
+
+    /**
+     * 最大并发重放数
+     */
+    private final int concurrency;
+
+    /**
+     * 等待重放的请求，按加入顺序排列
+     */
+    private final LinkedHashMap<Long, Entry> pending = new LinkedHashMap<>();
+
+    /**
+     * 等待重放的请求key
+     */
+    private final Map<String, Long> keys = new HashMap<>();
+
+    /**
+     * 重放中的请求
+     */
+    private final Set<Long> running = new HashSet<>();
+
+    /**
+     * 按任务类名注册的回调
+     */
+    private final Map<String, OnOfflineReplayListener> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * 未注册任务类型时使用的回调
+     */
+    private volatile OnOfflineReplayListener defaultListener = null;
+
+    /**
+     * 下一个请求编号
+     */
+    private long nextId = 1;
+
+    /**
+     * 文件中已失效的记录数
+     */
+    private int obsolete = 0;
+
+    /**
+     * 是否因网络异常暂停重放，等待下次{@link #replay()}或退避重试
+     */
+    private boolean suspended = false;
+
+    /**
+     * 下次退避重试的等待毫秒数
+     */
+    private long retryDelay = MIN_RETRY_DELAY;
+
+    /**
+     * 是否已安排退避重试
+     */
+    private boolean retryScheduled = false;
+
+    /**
+     * 退避重试任务
+     */
+    private final Runnable retryTask = this::resume;
+
+    /**
+     * 文件输出流
+     */
+    private FileOutputStream fileOutput = null;
+
+    /**
+     * 记录输出流
+     */
+    private DataOutputStream output = null;
+
+    /**
+     * 构造函数
+     *
+     * @param file        队列文件
+     * @param concurrency 最大并发重放数
+     */
+    private OfflineQueue(File file , int concurrency) {
+        this.file = file;
+        this.concurrency = Math.max(1 , concurrency);
+    }
+
+    /**
+     * 安装离线队列，
+     * 读取队列文件中未完成的请求并监听网络变化，网络可用时自动重放，
+     * 通常在Application中调用一次
+     *
+     * @param file        队列文件，如"filesDir/offline.queue"
+     * @param concurrency 最大并发重放数
+     *
+     * @return 离线队列
+     */
+    @NonNull
+    public static synchronized OfflineQueue install(@NonNull File file , int concurrency) {
+        if (instance != null) {
+            return instance;
+        }
+
+        OfflineQueue queue = open(file , concurrency);
+
+        instance = queue;
+
+        Context context = Global.getApplication();
+
+        if (context != null) {
+            // 注册时会立即收到当前网络状态
+            context.registerReceiver(new BroadcastReceiver() {
+                @Override
+                public void onReceive(Context context , Intent intent) {
+                    if (CheckNetwork.isOpenNetwork()) {
+                        queue.replay();
+                    }
+                }
+            } , new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+        }
+
+        return queue;
+    }
+
+    /**
+     * 打开队列文件并读取未完成的请求，不监听网络变化
+     *
+     * @param file        队列文件
+     * @param concurrency 最大并发重放数
+     *
+     * @return 离线队列
+     */
+    static OfflineQueue open(File file , int concurrency) {
+        OfflineQueue queue = new OfflineQueue(file , concurrency);
+
+        synchronized (queue) {
+            queue.load();
+        }
+
+        return queue;
+    }
+
+    /**
+     * 获取已安装的离线队列
+     *
+     * @return 离线队列，未安装时为null
+     */
+    @Nullable
+    public static OfflineQueue getInstance() {
+        return instance;
+    }
+
+    /**
+     * 注册任务类型的重放回调
+     *
+     * @param workClass 任务类型
+     * @param listener  回调
+     */
+    public void register(@NonNull Class<?> workClass , @NonNull OnOfflineReplayListener
+            listener) {
+        listeners.put(workClass.getName() , listener);
+    }
+
+    /**
+     * 注销任务类型的重放回调
+     *
+     * @param workClass 任务类型
+     */
+    public void unregister(@NonNull Class<?> workClass) {
+        listeners.remove(workClass.getName());
+    }
+
+    /**
+     * 设置未注册任务类型时使用的回调
+     *
+     * @param listener 回调，null表示不回调
+     */
+    public void setDefaultListener(@Nullable OnOfflineReplayListener listener) {
+        this.defaultListener = listener;
+    }
+
+    /**
+     * 获取等待重放的请求
+     *
+     * @return 按加入顺序排列的请求
+     */
+    @NonNull
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * 获取等待重放的请求数
+     *
+     * @return 请求数
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * 移除所有等待重放的请求，重放中的请求依然会回调，
+     * 等待队列文件写入完成后返回
+     */
+    public void clear() {
+        synchronized (this) {
+            pending.clear();
+            keys.clear();
+        }
+
+        try {
+            DISK_EXECUTOR.submit(() -> {
+                synchronized (this) {
+                    compact();
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.e(TAG , "clear queue error" , e);
+        }
+    }
+
+    /**
+     * 开始重放，网络恢复时自动调用，同时重置退避等待
+     */
+    public void replay() {
+        synchronized (this) {
+            retryDelay = MIN_RETRY_DELAY;
+        }
+
+        resume();
+    }
+
+    /**
+     * 恢复重放，取消已安排的退避重试
+     */
+    private void resume() {
+        WorkModel.MAIN_HANDLER.removeCallbacks(retryTask);
+
+        List<Entry> starting;
+
+        synchronized (this) {
+            retryScheduled = false;
+            suspended = false;
+            starting = next();
+        }
+
+        send(starting);
+    }
+
+    /**
+     * 加入一个任务请求，由任务在无网络时调用，
+     * 记录在写入线程中追加到队列文件，写入失败时仅保留在内存中
+     *
+     * @param communication 任务的网络请求工具，用于判断请求方式和读取请求头
+     * @param workName      任务类名
+     * @param key           合并key
+     * @param uri           任务请求地址
+     * @param data          任务序列化后的请求参数
+     *
+     * @return true表示已加入，false表示不支持该请求
+     */
+    @SuppressWarnings("unchecked")
+    boolean offer(ICommunication communication , String workName , String key , String uri ,
+                  Object data) {
+        String method;
+
+        if (communication instanceof OkHttpPostCommunication) {
+            method = "POST";
+        } else if (communication instanceof OkHttpGetCommunication) {
+            method = "GET";
+        } else if (communication instanceof OkHttpPutCommunication) {
+            method = "PUT";
+        } else if (communication instanceof OkHttpDeleteCommunication) {
+            method = "DELETE";
+        } else {
+            return false;
+        }
+
+        if (uri == null || (data != null && !(data instanceof Map))) {
+            return false;
+        }
+
+        OkHttpCommunication okHttpCommunication = (OkHttpCommunication) communication;
+
+        Map<String, String> params = new LinkedHashMap<>();
+        if (data != null) {
+            params.putAll((Map<String, String>) data);
+        }
+
+        synchronized (this) {
+            Entry entry = new Entry(nextId++ , key , workName , method , uri ,
+                    okHttpCommunication.getEncoded() , okHttpCommunication.getHeaders() ,
+                    params , System.currentTimeMillis());
+
+            Long old = keys.get(key);
+
+            if (old != null) {
+                // 合并相同的请求
+                Log.v(TAG , "coalesce " + key);
+                pending.remove(old);
+                writeRemove(old);
+            }
+
+            writeAdd(entry);
+            pending.put(entry.id , entry);
+            keys.put(key , entry.id);
+
+            Log.v(TAG , "offer " + method + " " + uri + " size:" + pending.size());
+        }
+
+        return true;
+    }
+
+    /**
+     * 取出可以开始重放的请求并标记为重放中
+     *
+     * @return 请求列表
+     */
+    private List<Entry> next() {
+        List<Entry> starting = new ArrayList<>();
+
+        if (suspended) {
+            return starting;
+        }
+
+        for (Entry entry : pending.values()) {
+            if (running.size() >= concurrency) {
+                break;
+            }
+
+            if (running.add(entry.id)) {
+                starting.add(entry);
+            }
+        }
+
+        return starting;
+    }
+
+    /**
+     * 发送请求
+     *
+     * @param entries 请求列表
+     */
+    private void send(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        OkHttpClient okHttpClient = GlobalOkHttpClient.getOkHttpClient();
+
+        for (Entry entry : entries) {
+            Log.v(TAG , "replay " + entry);
+
+            Request request;
+
+            try {
+                request = entry.onCreateRequest();
+            } catch (Exception e) {
+                Log.e(TAG , "create request error " + entry , e);
+                onComplete(entry , false , 0 , null);
+                continue;
+            }
+
+            Call call = okHttpClient.newCall(request);
+
+            RequestScheduler.enqueue(okHttpClient , call , RequestPriority.BACKGROUND , new
+                    Callback() {
+                @Override
+                public void onFailure(@NonNull Call call , @NonNull IOException e) {
+                    Log.d(TAG , "replay failed " + entry + " " + e);
+                    onSuspend(entry);
+                }
+
+                @Override
+                public void onResponse(@NonNull Call call , @NonNull Response response) {
+                    int code = response.code();
+                    String body = null;
+
+                    try (ResponseBody responseBody = response.body()) {
+                        if (responseBody != null) {
+                            body = responseBody.string();
+                        }
+                    } catch (IOException e) {
+                        Log.d(TAG , "read response failed " + entry + " " + e);
+                        onSuspend(entry);
+                        return;
+                    }
+
+                    if (response.isSuccessful() || (code >= 400 && code < 500 && code != 408 &&
+                            code != 429)) {
+                        onComplete(entry , response.isSuccessful() , code , body);
+                    } else {
+                        Log.d(TAG , "replay failed " + entry + " code:" + code);
+                        onSuspend(entry);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 请求暂时失败，保留在队列中并暂停重放，
+     * 等待网络变化或退避时间结束后重试
+     *
+     * @param entry 请求
+     */
+    private void onSuspend(Entry entry) {
+        long delay;
+
+        synchronized (this) {
+            running.remove(entry.id);
+            suspended = true;
+
+            if (retryScheduled) {
+                return;
+            }
+
+            retryScheduled = true;
+            delay = retryDelay;
+            retryDelay = Math.min(MAX_RETRY_DELAY , retryDelay * 2);
+        }
+
+        Log.v(TAG , "retry replay after " + delay + "ms");
+        WorkModel.MAIN_HANDLER.postDelayed(retryTask , delay);
+    }
+
+    /**
+     * 请求结束，移出队列，回调并继续重放
+     *
+     * @param entry    请求
+     * @param success  请求是否成功
+     * @param code     http响应码
+     * @param response 响应数据
+     */
+    private void onComplete(Entry entry , boolean success , int code , String response) {
+        List<Entry> starting;
+
+        synchronized (this) {
+            running.remove(entry.id);
+            // 服务器已响应，下次暂停时重新开始退避
+            retryDelay = MIN_RETRY_DELAY;
+
+            if (pending.remove(entry.id) != null) {
+                if (Long.valueOf(entry.id).equals(keys.get(entry.key))) {
+                    keys.remove(entry.key);
+                }
+
+                writeRemove(entry.id);
+            }
+
+            starting = next();
+        }
+
+        OnOfflineReplayListener listener = listeners.get(entry.workName);
+
+        if (listener == null) {
+            listener = defaultListener;
+        }
+
+        if (listener != null) {
+            OnOfflineReplayListener target = listener;
+            WorkModel.MAIN_HANDLER.post(() -> target.onReplay(entry , success , code , response));
+        }
+
+        send(starting);
+    }
+
+    /**
+     * 读取队列文件，丢弃末尾不完整的记录后压缩
+     */
+    private void load() {
+        if (file.exists()) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(new
+                    FileInputStream(file)))) {
+                while (true) {
+                    int type = input.read();
+
+                    if (type == -1) {
+                        break;
+                    }
+
+                    long id = input.readLong();
+
+                    if (type == RECORD_ADD) {
+                        Entry entry = readEntry(id , input);
+                        pending.put(id , entry);
+                        keys.put(entry.key , id);
+                    } else if (type == RECORD_REMOVE) {
+                        Entry entry = pending.remove(id);
+                        if (entry != null && Long.valueOf(id).equals(keys.get(entry.key))) {
+                            keys.remove(entry.key);
+                        }
+                    } else {
+                        throw new IOException("unknown record " + type);
+                    }
+
+                    nextId = Math.max(nextId , id + 1);
+                }
+            } catch (EOFException e) {
+                Log.d(TAG , "drop truncated record");
+            } catch (IOException e) {
+                Log.e(TAG , "read queue error" , e);
+            }
+        }
+
+        Log.v(TAG , "load " + pending.size() + " requests from " + file);
+
+        compact();
+    }
+
+    /**
+     * 用等待重放的请求重写队列文件
+     */
+    private void compact() {
+        closeOutput();
+
+        File tempFile = new File(file.getPath() + AtomicFileWriter.TEMP_SUFFIX);
+
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException("make dirs failed " + parent);
+            }
+
+            try (FileOutputStream fileOutput = new FileOutputStream(tempFile)) {
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream
+                        (fileOutput));
+
+                for (Entry entry : pending.values()) {
+                    writeEntry(output , entry);
+                }
+
+                output.flush();
+                fileOutput.getFD().sync();
+            }
+
+            AtomicFileWriter.replace(tempFile , file , true);
+            obsolete = 0;
+        } catch (IOException e) {
+            Log.e(TAG , "compact queue error" , e);
+        }
+    }
+
+    /**
+     * 在写入线程中追加一条加入记录
+     *
+     * @param entry 请求
+     */
+    private void writeAdd(Entry entry) {
+        DISK_EXECUTOR.execute(() -> {
+            synchronized (this) {
+                try {
+                    writeEntry(openOutput() , entry);
+                    sync();
+                } catch (IOException e) {
+                    Log.e(TAG , "write queue error" , e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 在写入线程中追加一条移除记录，失效记录过多时压缩文件，
+     * 压缩后仍在排队的记录重复写入不影响读取结果
+     *
+     * @param id 请求编号
+     */
+    private void writeRemove(long id) {
+        DISK_EXECUTOR.execute(() -> {
+            synchronized (this) {
+                obsolete += 2;
+
+                if (obsolete >= COMPACT_THRESHOLD && obsolete > pending.size()) {
+                    compact();
+                    return;
+                }
+
+                try {
+                    DataOutputStream output = openOutput();
+                    output.write(RECORD_REMOVE);
+                    output.writeLong(id);
+                    sync();
+                } catch (IOException e) {
+                    Log.e(TAG , "write queue error" , e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 打开追加输出流
+     *
+     * @return 记录输出流
+     *
+     * @throws IOException 打开异常
+     */
+    private DataOutputStream openOutput() throws IOException {
+        if (output == null) {
+            fileOutput = new FileOutputStream(file , true);
+            output = new DataOutputStream(new BufferedOutputStream(fileOutput));
+        }
+
+        return output;
+    }
+
+    /**
+     * 同步已写入的记录到存储设备
+     *
+     * @throws IOException 写入异常
+     */
+    private void sync() throws IOException {
+        output.flush();
+        fileOutput.getFD().sync();
+    }
+
+    /**
+     * 关闭追加输出流
+     */
+    private void closeOutput() {
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                Log.e(TAG , "close queue error" , e);
+            }
+
+            output = null;
+            fileOutput = null;
+        }
+    }
+
+    /**
+     * 写入一条加入记录
+     *
+     * @param output 记录输出流
+     * @param entry  请求
+     *
+     * @throws IOException 写入异常
+     */
+    private static void writeEntry(DataOutputStream output , Entry entry) throws IOException {
+        output.write(RECORD_ADD);
+        output.writeLong(entry.id);
+        writeString(output , entry.key);
+        writeString(output , entry.workName);
+        writeString(output , entry.method);
+        writeString(output , entry.url);
+        writeString(output , entry.encoded);
+        output.writeLong(entry.createTime);
+
+        int headerCount = entry.headers == null ? 0 : entry.headers.size();
+        output.writeInt(headerCount);
+        for (int i = 0 ; i < headerCount ; i++) {
+            writeString(output , entry.headers.name(i));
+            writeString(output , entry.headers.value(i));
+        }
+
+        output.writeInt(entry.params.size());
+        for (Map.Entry<String, String> param : entry.params.entrySet()) {
+            writeString(output , param.getKey());
+            writeString(output , param.getValue());
+        }
+    }
+
+    /**
+     * 读取一条加入记录
+     *
+     * @param id    请求编号
+     * @param input 记录输入流
+     *
+     * @return 请求
+     *
+     * @throws IOException 读取异常
+     */
+    private static Entry readEntry(long id , DataInputStream input) throws IOException {
+        String key = readString(input);
+        String workName = readString(input);
+        String method = readString(input);
+        String url = readString(input);
+        String encoded = readString(input);
+        long createTime = input.readLong();
+
+        int headerCount = input.readInt();
+        Headers.Builder headers = new Headers.Builder();
+        for (int i = 0 ; i < headerCount ; i++) {
+            headers.add(readString(input) , readString(input));
+        }
+
+        int paramCount = input.readInt();
+        Map<String, String> params = new LinkedHashMap<>();
+        for (int i = 0 ; i < paramCount ; i++) {
+            params.put(readString(input) , readString(input));
+        }
+
+        return new Entry(id , key , workName , method , url , encoded , headerCount == 0 ? null
+                : headers.build() , params , createTime);
+    }
+
+    /**
+     * 写入可为null的字符串
+     *
+     * @param output 记录输出流
+     * @param value  字符串
+     *
+     * @throws IOException 写入异常
+     */
+    private static void writeString(DataOutputStream output , String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * 读取可为null的字符串
+     *
+     * @param input 记录输入流
+     *
+     * @return 字符串
+     *
+     * @throws IOException 读取异常
+     */
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes , UTF_8);
+    }
+
+    /**
+     * 队列中的一个请求
+     */
+    public static final class Entry {
+
+        /**
+         * 请求编号
+         */
+        private final long id;
+
+        /**
+         * 合并key
+         */
+        private final String key;
+
+        /**
+         * 任务类名
+         */
+        private final String workName;
+
+        /**
+         * 请求方式
+         */
+        private final String method;
+
+        /**
+         * 请求地址
+         */
+        private final String url;
+
+        /**
+         * 请求数据编码
+         */
+        private final String encoded;
+
+        /**
+         * 请求头
+         */
+        private final Headers headers;
+
+        /**
+         * 请求参数
+         */
+        private final Map<String, String> params;
+
+        /**
+         * 加入时间
+         */
+        private final long createTime;
+
+        /**
+         * 构造函数
+         *
+         * @param id         请求编号
+         * @param key        合并key
+         * @param workName   任务类名
+         * @param method     请求方式
+         * @param url        请求地址
+         * @param encoded    请求数据编码
+         * @param headers    请求头
+         * @param params     请求参数
+         * @param createTime 加入时间
+         */
+        Entry(long id , String key , String workName , String method , String url , String
+                encoded , Headers headers , Map<String, String> params , long createTime) {
+            this.id = id;
+            this.key = key;
+            this.workName = workName;
+            this.method = method;
+            this.url = url;
+            this.encoded = encoded;
+            this.headers = headers;
+            this.params = Collections.unmodifiableMap(params);
+            this.createTime = createTime;
+        }
+
+        /**
+         * 创建重放请求
+         *
+         * @return 请求
+         */
+        Request onCreateRequest() {
+            Request.Builder builder = new Request.Builder();
+
+            if (headers != null) {
+                builder.headers(headers);
+            }
+
+            switch (method) {
+                case "GET":
+                    String query = RequestBodyBuilder.onBuildParameter(TAG , params , encoded);
+                    builder.url(query.length() == 0 ? url : url + "?" + query);
+                    break;
+                case "POST":
+                    builder.url(url).post(RequestBodyBuilder.onBuildPostForm(TAG , params ,
+                            encoded));
+                    break;
+                case "PUT":
+                    builder.url(url).put(RequestBodyBuilder.onBuildPostForm(TAG , params ,
+                            encoded));
+                    break;
+                case "DELETE":
+                    builder.url(url).delete(RequestBodyBuilder.onBuildPostForm(TAG , params ,
+                            encoded));
+                    break;
+                default:
+                    throw new IllegalStateException("unknown method " + method);
+            }
+
+            return builder.build();
+        }
+
+        /**
+         * 获取合并key
+         *
+         * @return 加入时任务返回的key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * 获取发起请求的任务类名
+         *
+         * @return 任务类名
+         */
+        public String getWorkName() {
+            return workName;
+        }
+
+        /**
+         * 获取请求方式
+         *
+         * @return "GET"，"POST"，"PUT"或"DELETE"
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * 获取请求地址
+         *
+         * @return 请求地址
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * 获取请求头
+         *
+         * @return 请求头，没有时为null
+         */
+        @Nullable
+        public Headers getHeaders() {
+            return headers;
+        }
+
+        /**
+         * 获取请求参数，已经过数据模型签名
+         *
+         * @return 请求参数
+         */
+        public Map<String, String> getParams() {
+            return params;
+        }
+
+        /**
+         * 获取加入队列的时间
+         *
+         * @return 毫秒时间戳
+         */
+        public long getCreateTime() {
+            return createTime;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + id + " " + method + " " + url + " key:" + key;
+        }
+    }
+}
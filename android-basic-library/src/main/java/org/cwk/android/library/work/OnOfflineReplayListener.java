@@ -0,0 +1,25 @@
+package org.cwk.android.library.work;
+
+/**
+ * 离线队列请求重放结果回调接口，
+ * 通过{@link OfflineQueue#register(Class , OnOfflineReplayListener)}按任务类型注册，
+ * 不依赖发起请求时的任务实例和监听器
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public interface OnOfflineReplayListener {
+
+    /**
+     * 重放结束回调方法，在主线程中被调用，
+     * 请求成功或服务器明确拒绝(4xx)时回调，之后请求移出队列，
+     * 网络异常和服务器错误时请求保留在队列中等待下次重放，不回调
+     *
+     * @param entry    队列中的请求
+     * @param success  请求是否成功
+     * @param code     http响应码
+     * @param response 响应数据
+     */
+    void onReplay(OfflineQueue.Entry entry , boolean success , int code , String response);
+}
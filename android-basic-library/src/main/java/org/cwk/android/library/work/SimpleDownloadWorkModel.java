@@ -4,7 +4,15 @@ import android.support.annotation.NonNull;
 
 import org.cwk.android.library.annotation.Download;
 import org.cwk.android.library.data.SimpleDownloadDataModel;
+import org.cwk.android.library.network.communication.ICommunication;
+import org.cwk.android.library.network.communication.OkHttpDownloadCommunication;
+import org.cwk.android.library.network.factory.ChecksumAlgorithm;
+import org.cwk.android.library.network.factory.CommunicationBuilder;
+import org.cwk.android.library.network.factory.DurabilityPolicy;
+import org.cwk.android.library.network.util.AtomicFileWriter;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
 
@@ -25,7 +33,16 @@ public abstract class SimpleDownloadWorkModel<Parameters, Result> extends
 
             @Override
             protected Result onRequestSuccess(@NonNull InputStream handleResult) throws Exception {
-                return onSuccessExtract(handleResult);
+                Result result = onSuccessExtract(handleResult);
+
+                ICommunication communication = getCommunication();
+
+                if (communication instanceof OkHttpDownloadCommunication) {
+                    // 处理数据时可能忽略了校验异常或没有读取到末尾
+                    ((OkHttpDownloadCommunication) communication).verifyChecksum(handleResult);
+                }
+
+                return result;
             }
 
             @SafeVarargs
@@ -33,6 +50,12 @@ public abstract class SimpleDownloadWorkModel<Parameters, Result> extends
             protected final void onFillRequestParameters(@NonNull Map<String, String> dataMap ,
                                                          @NonNull Parameters... parameters) {
                 onFill(dataMap , parameters);
+
+                String expected = onExpectedChecksum(parameters);
+
+                if (expected != null) {
+                    dataMap.put(OkHttpDownloadCommunication.EXPECTED_CHECKSUM_TAG , expected);
+                }
             }
 
             @Override
@@ -53,6 +76,45 @@ public abstract class SimpleDownloadWorkModel<Parameters, Result> extends
     protected abstract void onFill(@NonNull Map<String, String> dataMap , @NonNull Parameters...
             parameters);
 
+    @Override
+    protected void onCreateCommunication(@NonNull CommunicationBuilder builder) {
+        super.onCreateCommunication(builder);
+        builder.checksum(onChecksumAlgorithm() , onChecksumHeader());
+    }
+
+    /**
+     * 设置下载数据校验的摘要算法，
+     * 摘要在{@link #onSuccessExtract(InputStream)}读取数据流的同时计算，
+     * 读取到末尾时与期望值不一致会抛出异常，任务按解析失败处理
+     *
+     * @return 摘要算法，取值为{@link ChecksumAlgorithm}，默认为{@link ChecksumAlgorithm#NONE}
+     */
+    protected int onChecksumAlgorithm() {
+        return ChecksumAlgorithm.NONE;
+    }
+
+    /**
+     * 设置携带期望摘要的响应头名称，
+     * 仅在{@link #onExpectedChecksum(Object[])}返回null时使用
+     *
+     * @return 响应头名称，如"Content-MD5"，默认为null即不读取响应头
+     */
+    protected String onChecksumHeader() {
+        return null;
+    }
+
+    /**
+     * 设置期望的下载数据摘要
+     *
+     * @param parameters 任务传入参数
+     *
+     * @return 十六进制或base64字符串，默认为null即使用响应头中的值
+     */
+    @SuppressWarnings("unchecked")
+    protected String onExpectedChecksum(@NonNull Parameters... parameters) {
+        return null;
+    }
+
     /**
      * 处理下载数据<br>
      * 仅网络请求成功建立连接时该方法才会被调用，
@@ -65,7 +127,9 @@ public abstract class SimpleDownloadWorkModel<Parameters, Result> extends
      * 如果该任务通过异步启动，
      * 则该方法本身就会运行在新线程中，
      * 如果任务通过同步启动，
-     * 则该方法会在用户建立的任务执行线程中运行。
+     * 则该方法会在用户建立的任务执行线程中运行。<br>
+     * 启用{@link #onChecksumAlgorithm()}时读取到末尾即完成校验，
+     * 方法返回后未读取的数据会被读取并校验，校验失败时任务按解析失败处理。
      *
      * @param inputStream 响应的下载数据流
      *
@@ -73,6 +137,33 @@ public abstract class SimpleDownloadWorkModel<Parameters, Result> extends
      */
     protected abstract Result onSuccessExtract(@NonNull InputStream inputStream) throws Exception;
 
+    /**
+     * 将下载数据流直接写入文件，
+     * 可以在{@link #onSuccessExtract(InputStream)}中调用并将返回的文件作为任务结果，
+     * 数据先写入"目标文件.tmp"，完成后按{@link #onDurabilityPolicy()}同步并重命名为目标文件
+     *
+     * @param inputStream 响应的下载数据流
+     * @param target      目标文件，已存在时被覆盖
+     *
+     * @return 目标文件
+     *
+     * @throws IOException 读取或写入异常
+     */
+    @NonNull
+    protected final File saveToFile(@NonNull InputStream inputStream , @NonNull File target)
+            throws IOException {
+        return AtomicFileWriter.write(inputStream , target , onDurabilityPolicy() , 0);
+    }
+
+    /**
+     * 设置{@link #saveToFile(InputStream , File)}写入磁盘的持久化策略
+     *
+     * @return 持久化策略，取值为{@link DurabilityPolicy}，默认为{@link DurabilityPolicy#NONE}
+     */
+    protected int onDurabilityPolicy() {
+        return DurabilityPolicy.NONE;
+    }
+
     @Override
     @Download
     protected final String onTaskUri() {
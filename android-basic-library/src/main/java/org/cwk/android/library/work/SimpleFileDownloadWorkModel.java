@@ -0,0 +1,185 @@
+package org.cwk.android.library.work;
+
+import android.support.annotation.NonNull;
+
+import org.cwk.android.library.annotation.DownloadFile;
+import org.cwk.android.library.data.SimpleFileDownloadDataModel;
+import org.cwk.android.library.network.communication.OkHttpDownloadCommunication;
+import org.cwk.android.library.network.communication.OkHttpFileDownloadCommunication;
+import org.cwk.android.library.network.factory.ChecksumAlgorithm;
+import org.cwk.android.library.network.factory.CommunicationBuilder;
+import org.cwk.android.library.network.factory.DurabilityPolicy;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * 极简的一体化集成式可续传文件下载任务模型基类，
+ * 内置{@link SimpleFileDownloadDataModel}的默认实现，
+ * 与{@link SimpleDownloadWorkModel}不同，响应数据由框架直接写入目标文件，
+ * 下载中断后再次执行相同目标文件的任务会从中断位置继续下载，
+ * 任务结果为下载完成的文件
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ **/
+public abstract class SimpleFileDownloadWorkModel<Parameters> extends
+        StandardWorkModel<Parameters, SimpleFileDownloadDataModel<Parameters>> {
+
+    @NonNull
+    @Override
+    protected SimpleFileDownloadDataModel<Parameters> onCreateDataModel() {
+        return new SimpleFileDownloadDataModel<Parameters>(TAG) {
+
+            @Override
+            protected File onRequestSuccess(@NonNull File handleResult) throws Exception {
+                return onSuccessExtract(handleResult);
+            }
+
+            @SafeVarargs
+            @Override
+            protected final void onFillRequestParameters(@NonNull Map<String, String> dataMap ,
+                                                         @NonNull Parameters... parameters) {
+                onFill(dataMap , parameters);
+
+                dataMap.put(OkHttpFileDownloadCommunication.TARGET_FILE_TAG , onTargetFile
+                        (parameters).getAbsolutePath());
+
+                String expected = onExpectedChecksum(parameters);
+
+                if (expected != null) {
+                    dataMap.put(OkHttpDownloadCommunication.EXPECTED_CHECKSUM_TAG , expected);
+                }
+            }
+
+            @Override
+            protected String onRequestSuccessMessage(@NonNull File handleResult) throws
+                    Exception {
+                return onDownloadSuccessMessage();
+            }
+        };
+    }
+
+    /**
+     * 填充服务请求所需的参数
+     *
+     * @param dataMap    将要填充的参数数据集(参数名,参数值)
+     * @param parameters 任务传入的参数
+     */
+    @SuppressWarnings("unchecked")
+    protected abstract void onFill(@NonNull Map<String, String> dataMap , @NonNull Parameters...
+            parameters);
+
+    /**
+     * 设置下载的目标文件，
+     * 相同的目标文件可以续传之前中断的下载
+     *
+     * @param parameters 任务传入参数，即{@link #onCheckParameters(Object[])}检测通过后的参数列表
+     *
+     * @return 目标文件，下载完成后会覆盖已存在的同名文件
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    protected abstract File onTargetFile(@NonNull Parameters... parameters);
+
+    /**
+     * 处理下载完成的文件，运行于网络线程或同步任务的执行线程
+     *
+     * @param file 下载完成的文件
+     *
+     * @return 任务结果文件，默认直接返回下载的文件
+     *
+     * @throws Exception 处理过程中可能出现的异常
+     */
+    protected File onSuccessExtract(@NonNull File file) throws Exception {
+        return file;
+    }
+
+    @Override
+    protected void onCreateCommunication(@NonNull CommunicationBuilder builder) {
+        super.onCreateCommunication(builder);
+        builder.downloadSegments(onMaxSegments()).downloadDurability(onDurabilityPolicy() , 0)
+                .checksum(onChecksumAlgorithm() , onChecksumHeader());
+    }
+
+    /**
+     * 设置下载数据校验的摘要算法，
+     * 下载完成后覆盖目标文件前校验完整文件，不一致时丢弃已下载的数据，任务失败
+     *
+     * @return 摘要算法，取值为{@link ChecksumAlgorithm}，默认为{@link ChecksumAlgorithm#NONE}
+     */
+    protected int onChecksumAlgorithm() {
+        return ChecksumAlgorithm.NONE;
+    }
+
+    /**
+     * 设置携带期望摘要的响应头名称，
+     * 仅在{@link #onExpectedChecksum(Object[])}返回null时使用
+     *
+     * @return 响应头名称，默认为null即不读取响应头
+     */
+    protected String onChecksumHeader() {
+        return null;
+    }
+
+    /**
+     * 设置期望的下载数据摘要
+     *
+     * @param parameters 任务传入参数
+     *
+     * @return 十六进制或base64字符串，默认为null即使用响应头中的值
+     */
+    @SuppressWarnings("unchecked")
+    protected String onExpectedChecksum(@NonNull Parameters... parameters) {
+        return null;
+    }
+
+    /**
+     * 设置下载文件写入磁盘的持久化策略
+     *
+     * @return 持久化策略，取值为{@link DurabilityPolicy}，默认为{@link DurabilityPolicy#NONE}
+     */
+    protected int onDurabilityPolicy() {
+        return DurabilityPolicy.NONE;
+    }
+
+    /**
+     * 设置最大并发分段数，
+     * 服务器支持Range的大文件会被拆分为多个分段同时下载，
+     * 服务器不支持或文件较小时自动使用单线程下载
+     *
+     * @return 最大分段数，默认为1即不分段
+     */
+    protected int onMaxSegments() {
+        return 1;
+    }
+
+    @Override
+    @DownloadFile
+    protected final String onTaskUri() {
+        return onTaskUri(mParameters);
+    }
+
+    /**
+     * 设置文件下载地址
+     *
+     * @param parameters 任务传入参数，即{@link #onCheckParameters(Object[])}检测通过后的参数列表
+     *
+     * @return 下载地址
+     */
+    @SuppressWarnings("unchecked")
+    protected abstract String onTaskUri(@NonNull Parameters... parameters);
+
+    /**
+     * 提取或设置下载成功的结果消息<br>
+     * 在{@link #onSuccessExtract(File)}之后被调<br>
+     *
+     * @return 消息字符串
+     *
+     * @throws Exception 处理过程中可能出现的异常
+     */
+    protected String onDownloadSuccessMessage() throws Exception {
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package org.cwk.android.library.work;
+
+import android.support.annotation.NonNull;
+import android.util.JsonReader;
+
+import org.cwk.android.library.data.SimpleStreamDataModel;
+import org.cwk.android.library.network.factory.CommunicationBuilder;
+
+import java.util.Map;
+
+/**
+ * 极简的一体化集成式流式网络任务模型基类，
+ * 内置{@link SimpleStreamDataModel}的默认实现，
+ * 与{@link SimpleWorkModel}协议相同，适用于响应数据量较大的get或post请求，
+ * 结果数据直接从响应流中读取
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public abstract class SimpleStreamWorkModel<Parameters, Result> extends
+        StandardWorkModel<Parameters, SimpleStreamDataModel<Parameters, Result>> {
+
+    @NonNull
+    @Override
+    protected SimpleStreamDataModel<Parameters, Result> onCreateDataModel() {
+        return new SimpleStreamDataModel<Parameters, Result>(TAG) {
+            @Override
+            protected Result onExtractData(@NonNull JsonReader reader) throws Exception {
+                return onSuccessExtract(reader);
+            }
+
+            @Override
+            protected Result onRequestFailed(@NonNull Envelope<Result> handleResult) throws
+                    Exception {
+                super.onRequestFailed(handleResult);
+                return onFailedExtract(handleResult);
+            }
+
+            @SafeVarargs
+            @Override
+            protected final void onFillRequestParameters(@NonNull Map<String, String> dataMap ,
+                                                         @NonNull Parameters... parameters) {
+                onFill(dataMap , parameters);
+            }
+
+            @Override
+            protected Result onDefaultData() throws Exception {
+                return onSuccessDefault();
+            }
+        };
+    }
+
+    @Override
+    protected void onCreateCommunication(@NonNull CommunicationBuilder builder) {
+        super.onCreateCommunication(builder);
+        builder.streamResponse(true);
+    }
+
+    /**
+     * 填充服务请求所需的参数
+     *
+     * @param dataMap    将要填充的参数数据集(参数名,参数值)
+     * @param parameters 任务传入的参数
+     */
+    @SuppressWarnings("unchecked")
+    protected abstract void onFill(@NonNull Map<String, String> dataMap , @NonNull Parameters...
+            parameters);
+
+    /**
+     * 从响应流中读取"result"字段的值，
+     * 必须完整读取该值，运行于网络线程或同步任务的执行线程
+     *
+     * @param reader 响应流，位于"result"字段的值之前
+     *
+     * @return 处理后的任务传出结果
+     *
+     * @throws Exception 处理过程抛出的异常
+     */
+    protected abstract Result onSuccessExtract(@NonNull JsonReader reader) throws Exception;
+
+    /**
+     * 当请求失败时设置一个特殊的返回值，
+     * 此时{@link SimpleStreamDataModel#getErrorCode()}已经有值
+     *
+     * @param envelope 从响应流中读取的协议字段
+     *
+     * @return 处理后的任务传出结果
+     *
+     * @throws Exception 处理过程抛出的异常
+     */
+    protected Result onFailedExtract(@NonNull SimpleStreamDataModel.Envelope<Result> envelope)
+            throws Exception {
+        return null;
+    }
+
+    /**
+     * 当请求成功且返回结果不存在"result"标签的数据时被调用，默认实现为null
+     *
+     * @return 处理后的任务传出结果
+     *
+     * @throws Exception 处理过程抛出的异常
+     */
+    protected Result onSuccessDefault() throws Exception {
+        return null;
+    }
+}
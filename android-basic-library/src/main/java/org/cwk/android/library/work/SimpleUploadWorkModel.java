@@ -4,8 +4,12 @@ import android.support.annotation.NonNull;
 
 import org.cwk.android.library.annotation.Upload;
 import org.cwk.android.library.data.SimpleUploadDataModel;
+import org.cwk.android.library.global.Global;
+import org.cwk.android.library.network.communication.OkHttpChunkedUploadCommunication;
+import org.cwk.android.library.network.factory.CommunicationBuilder;
 import org.json.JSONObject;
 
+import java.io.File;
 import java.util.Map;
 
 /**
@@ -70,6 +74,47 @@ public abstract class SimpleUploadWorkModel<Parameters, Result> extends
         };
     }
 
+    @Override
+    protected void onCreateCommunication(@NonNull CommunicationBuilder builder) {
+        super.onCreateCommunication(builder);
+
+        long chunkSize = onChunkSize();
+
+        if (chunkSize > 0) {
+            builder.uploadChunks(chunkSize , onUploadParallelism() , onUploadStateDirectory());
+        }
+    }
+
+    /**
+     * 设置分块上传的分块字节数，
+     * 大于0时文件被拆分为分块并发上传，中断后再次执行任务只上传未完成的分块，
+     * 需要服务器支持{@link OkHttpChunkedUploadCommunication}描述的分块协议
+     *
+     * @return 分块字节数，默认为0即不分块
+     */
+    protected long onChunkSize() {
+        return 0;
+    }
+
+    /**
+     * 设置分块上传的并发数，仅在{@link #onChunkSize()}大于0时有效
+     *
+     * @return 并发数，默认为2
+     */
+    protected int onUploadParallelism() {
+        return 2;
+    }
+
+    /**
+     * 设置分块上传的状态保存目录，仅在{@link #onChunkSize()}大于0时有效
+     *
+     * @return 状态目录，默认为应用缓存目录下的"upload"
+     */
+    @NonNull
+    protected File onUploadStateDirectory() {
+        return new File(Global.getApplication().getCacheDir() , "upload");
+    }
+
     @Override
     @Upload
     protected final String onTaskUri() {
@@ -11,9 +11,13 @@ import android.util.Log;
 
 import org.cwk.android.library.data.WorkDataModel;
 import org.cwk.android.library.network.factory.CommunicationBuilder;
+import org.cwk.android.library.network.factory.RequestPriority;
 import org.cwk.android.library.network.util.AsyncCommunication;
+import org.cwk.android.library.network.util.CoalescedProgressListener;
 import org.cwk.android.library.network.util.OnNetworkProgressListener;
+import org.cwk.android.library.network.util.RetryPolicy;
 import org.cwk.android.library.network.util.SyncCommunication;
+import org.cwk.android.library.network.util.ThrottledProgressListener;
 
 import io.reactivex.Completable;
 import io.reactivex.Maybe;
@@ -83,6 +87,36 @@ public abstract class StandardWorkModel<Parameters, DataModel extends WorkDataMo
      */
     private int retryTimes = 0;
 
+    /**
+     * 任务请求重试策略
+     */
+    private RetryPolicy retryPolicy = null;
+
+    /**
+     * 任务请求优先级
+     */
+    private int priority = RequestPriority.NORMAL;
+
+    /**
+     * 对冲请求的等待毫秒数
+     */
+    private long hedgeDelay = -1;
+
+    /**
+     * 任务截止时间毫秒数
+     */
+    private long deadlineMillis = 0;
+
+    /**
+     * 进度回调的最小间隔毫秒数
+     */
+    private long progressInterval = 0;
+
+    /**
+     * 进度回调的最小字节增量
+     */
+    private long progressBytes = 0;
+
     @NonNull
     @Override
     public LiveData<DataModel> getLiveData() {
@@ -135,7 +169,8 @@ public abstract class StandardWorkModel<Parameters, DataModel extends WorkDataMo
     @CallSuper
     @Override
     protected void onCreateCommunication(@NonNull CommunicationBuilder builder) {
-        builder.retryTimes(retryTimes).networkRefreshProgressListener(onCreateProgressListener());
+        builder.retryTimes(retryTimes).retryPolicy(retryPolicy).priority(priority).hedge(hedgeDelay)
+                .networkRefreshProgressListener(onCreateProgressListener());
     }
 
     /**
@@ -146,15 +181,20 @@ public abstract class StandardWorkModel<Parameters, DataModel extends WorkDataMo
     protected OnNetworkProgressListener onCreateProgressListener() {
         if (onNetworkProgressListener != null) {
             // 开始绑定
+            OnNetworkProgressListener listener = onNetworkProgressListener;
+
             if (isProgressUiThread) {
-                // 发送到UI线程
-                return (current , total , done) -> MAIN_HANDLER.post(() ->
-                        onNetworkProgressListener.onRefreshProgress(current , total , done));
-            } else {
-                // 在当前线程
-                // 直接绑定
-                return onNetworkProgressListener;
+                // 发送到UI线程，合并尚未执行的进度
+                listener = new CoalescedProgressListener(MAIN_HANDLER , listener);
             }
+
+            if (progressInterval > 0 || progressBytes > 0) {
+                // 丢弃过于频繁的进度
+                listener = new ThrottledProgressListener(listener , progressInterval ,
+                        progressBytes);
+            }
+
+            return listener;
         } else {
             return null;
         }
@@ -324,6 +364,83 @@ public abstract class StandardWorkModel<Parameters, DataModel extends WorkDataMo
         return this;
     }
 
+    /**
+     * 设置任务的请求重试策略<br>
+     * 设置后{@link #setRetryTimes(int)}不再生效，需要在任务首次执行前设置
+     *
+     * @param retryPolicy 重试策略
+     *
+     * @return 当前任务实例
+     */
+    public final StandardWorkModel<Parameters, DataModel> setRetryPolicy(RetryPolicy
+                                                                                 retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * 设置任务的请求优先级<br>
+     * 异步执行时按优先级排队，需要在任务首次执行前设置
+     *
+     * @param priority 优先级，取值为{@link RequestPriority}，默认为{@link RequestPriority#NORMAL}
+     *
+     * @return 当前任务实例
+     */
+    public final StandardWorkModel<Parameters, DataModel> setPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 设置任务的对冲请求<br>
+     * 仅对异步执行的GET请求有效，仅应对幂等的请求使用，
+     * 等待时间内没有收到响应时发出相同的请求，使用先收到的响应，需要在任务首次执行前设置
+     *
+     * @param delay 等待毫秒数，小于0表示不对冲(默认)，0表示使用该主机近期响应时间的95分位
+     *
+     * @return 当前任务实例
+     */
+    public final StandardWorkModel<Parameters, DataModel> setHedge(long delay) {
+        this.hedgeDelay = delay;
+        return this;
+    }
+
+    /**
+     * 设置任务的截止时间<br>
+     * 覆盖请求排队，重试，退避等待和解析前的全部耗时，超时后请求被取消，
+     * 任务进入{@link #onDeadlineExceeded()}流程，每次执行时重新计时
+     *
+     * @param millis 截止时间毫秒数，默认为0表示不限制
+     *
+     * @return 当前任务实例
+     */
+    public final StandardWorkModel<Parameters, DataModel> setDeadline(long millis) {
+        this.deadlineMillis = millis;
+        return this;
+    }
+
+    @Override
+    protected long onDeadline() {
+        return deadlineMillis;
+    }
+
+    /**
+     * 设置进度回调的限流条件<br>
+     * 两次进度回调之间至少间隔minInterval毫秒且进度至少增加minBytes字节，
+     * 完成进度总是会被回调，需要在任务首次执行前设置
+     *
+     * @param minInterval 最小间隔毫秒数，默认为0表示不限制
+     * @param minBytes    最小字节增量，默认为0表示不限制
+     *
+     * @return 当前任务实例
+     */
+    public final StandardWorkModel<Parameters, DataModel> setProgressThrottle(long minInterval ,
+                                                                             long minBytes) {
+        this.progressInterval = minInterval;
+        this.progressBytes = minBytes;
+        return this;
+    }
+
     @SafeVarargs
     @Override
     public final Observable<DataModel> observable(final Parameters... parameters) {
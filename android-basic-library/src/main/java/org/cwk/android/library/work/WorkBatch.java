@@ -0,0 +1,574 @@
+package org.cwk.android.library.work;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import org.cwk.android.library.network.communication.ICommunication;
+import org.cwk.android.library.network.communication.OkHttpCommunication;
+import org.cwk.android.library.network.communication.OkHttpGetCommunication;
+import org.cwk.android.library.network.communication.OkHttpPostCommunication;
+import org.cwk.android.library.network.factory.RequestPriority;
+import org.cwk.android.library.network.util.FastFailException;
+import org.cwk.android.library.network.util.GlobalOkHttpClient;
+import org.cwk.android.library.network.util.NetworkCallback;
+import org.cwk.android.library.network.util.RequestScheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 批量请求，
+ * 将多个任务的get或post请求合并为一个发往批量接口的请求，
+ * 请求和响应格式由{@link BatchEnvelope}决定，默认为{@link JsonBatchEnvelope}，
+ * 响应被拆分后交给各任务的数据模型解析，
+ * 每个任务保持独立的成功，失败和取消流程，
+ * 仅支持响应数据为字符串的get和post任务，其它任务会直接单独执行，
+ * 合并的请求只使用批量请求的请求头和优先级，设置了请求头，超时，重试或截止时间的任务也会直接单独执行<br>
+ * 通过{@link #add(WorkModel , Object[])}加入任务，
+ * 在{@link #commit()}时或设置的收集窗口结束后发送，
+ * 发送后加入的任务会直接单独执行
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class WorkBatch {
+
+    /**
+     * 日志标签前缀
+     */
+    private static final String TAG = "WorkBatch";
+
+    /**
+     * 批量接口地址
+     */
+    private final String url;
+
+    /**
+     * 批量协议
+     */
+    private final BatchEnvelope envelope;
+
+    /**
+     * 收集窗口毫秒数
+     */
+    private long window = 0;
+
+    /**
+     * 批量请求的请求头
+     */
+    private Headers headers = null;
+
+    /**
+     * 批量请求的优先级
+     */
+    private int priority = RequestPriority.NORMAL;
+
+    /**
+     * 已加入的任务请求
+     */
+    private final List<Member> members = new ArrayList<>();
+
+    /**
+     * 是否已发送
+     */
+    private boolean committed = false;
+
+    /**
+     * 批量网络请求
+     */
+    private Call call = null;
+
+    /**
+     * 收集窗口结束时的发送任务
+     */
+    private final Runnable commitTask = this::commit;
+
+    /**
+     * 构造函数，使用默认的{@link JsonBatchEnvelope}
+     *
+     * @param url 批量接口地址
+     */
+    public WorkBatch(@NonNull String url) {
+        this(url , new JsonBatchEnvelope());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param url      批量接口地址
+     * @param envelope 批量协议
+     */
+    public WorkBatch(@NonNull String url , @NonNull BatchEnvelope envelope) {
+        this.url = url;
+        this.envelope = envelope;
+    }
+
+    /**
+     * 设置收集窗口，第一个任务加入后经过该时间自动发送
+     *
+     * @param window 窗口毫秒数，默认为0表示只在{@link #commit()}时发送
+     *
+     * @return 当前批量请求
+     */
+    public WorkBatch window(long window) {
+        this.window = window;
+        return this;
+    }
+
+    /**
+     * 设置批量请求的请求头
+     *
+     * @param headers 请求头
+     *
+     * @return 当前批量请求
+     */
+    public WorkBatch headers(@Nullable Headers headers) {
+        this.headers = headers;
+        return this;
+    }
+
+    /**
+     * 设置批量请求的优先级
+     *
+     * @param priority 优先级，取值为{@link RequestPriority}
+     *
+     * @return 当前批量请求
+     */
+    public WorkBatch priority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 异步启动任务并加入批量请求，
+     * 任务的执行流程与{@link WorkModel#beginExecute(Object[])}相同，
+     * 只是网络请求被合并发送
+     *
+     * @param work       任务
+     * @param parameters 任务参数
+     * @param <P>        任务参数类型
+     *
+     * @return 当前批量请求
+     */
+    @SafeVarargs
+    public final <P> WorkBatch add(@NonNull WorkModel<P, ?> work , @Nullable P... parameters) {
+        work.setWorkBatch(this);
+        work.beginExecute(parameters);
+        // 参数校验失败等情况下任务不会加入
+        work.setWorkBatch(null);
+        return this;
+    }
+
+    /**
+     * 立即发送批量请求
+     */
+    public void commit() {
+        WorkModel.MAIN_HANDLER.removeCallbacks(commitTask);
+
+        List<Member> sending = new ArrayList<>();
+
+        synchronized (members) {
+            if (committed) {
+                return;
+            }
+
+            committed = true;
+
+            for (Member member : members) {
+                if (!member.done) {
+                    // 已取消的任务不再发送
+                    sending.add(member);
+                }
+            }
+        }
+
+        if (sending.isEmpty()) {
+            Log.v(TAG , "empty batch");
+            return;
+        }
+
+        List<Item> items = new ArrayList<>();
+        for (Member member : sending) {
+            items.add(member.item);
+        }
+
+        Request.Builder builder = new Request.Builder().url(url);
+
+        if (headers != null) {
+            builder.headers(headers);
+        }
+
+        try {
+            builder.post(envelope.onCreateRequestBody(items));
+        } catch (Exception e) {
+            Log.e(TAG , "create batch body error" , e);
+            dispatchFailure(sending , 0);
+            return;
+        }
+
+        Log.v(TAG , "commit " + sending.size() + " requests to " + url);
+
+        OkHttpClient okHttpClient = GlobalOkHttpClient.getOkHttpClient();
+
+        Call batchCall = okHttpClient.newCall(builder.build());
+
+        synchronized (members) {
+            call = batchCall;
+        }
+
+        RequestScheduler.enqueue(okHttpClient , batchCall , priority , new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call , @NonNull IOException e) {
+                Log.e(TAG , "batch call error" , e);
+                dispatchFailure(sending , FastFailException.codeOf(e));
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call , @NonNull Response response) {
+                onBatchResponse(sending , items , response);
+            }
+        });
+    }
+
+    /**
+     * 取消批量请求中的所有任务
+     */
+    public void cancel() {
+        WorkModel.MAIN_HANDLER.removeCallbacks(commitTask);
+
+        List<Member> all;
+
+        synchronized (members) {
+            all = new ArrayList<>(members);
+        }
+
+        for (Member member : all) {
+            member.cancel();
+        }
+    }
+
+    /**
+     * 加入一个任务请求，由任务在异步执行时调用
+     *
+     * @param communication 任务的网络请求工具，用于判断请求方式
+     * @param uri           任务请求地址
+     * @param data          任务序列化后的请求参数
+     * @param callback      任务的网络请求回调
+     *
+     * @return 取消句柄，无法加入时返回null，此时任务应单独发送请求
+     */
+    @SuppressWarnings("unchecked")
+    Cancelable enqueue(ICommunication communication , String uri , Object data ,
+                       NetworkCallback callback) {
+        String method;
+
+        if (communication instanceof OkHttpPostCommunication) {
+            method = "POST";
+        } else if (communication instanceof OkHttpGetCommunication) {
+            method = "GET";
+        } else {
+            return null;
+        }
+
+        if (data != null && !(data instanceof Map)) {
+            return null;
+        }
+
+        if (((OkHttpCommunication) communication).hasRequestOptions()) {
+            // 单个请求的选项无法应用到合并的请求中
+            Log.v(TAG , "work has request options, send alone " + uri);
+            return null;
+        }
+
+        Member member = new Member(new Item(method , uri , data == null ? Collections
+                .<String, String>emptyMap() : (Map<String, String>) data) , callback);
+
+        boolean first;
+
+        synchronized (members) {
+            if (committed) {
+                return null;
+            }
+
+            first = members.isEmpty();
+            members.add(member);
+        }
+
+        if (first && window > 0) {
+            WorkModel.MAIN_HANDLER.postDelayed(commitTask , window);
+        }
+
+        return member;
+    }
+
+    /**
+     * 处理批量响应
+     *
+     * @param sending  已发送的任务
+     * @param items    已发送的请求
+     * @param response 批量响应
+     */
+    private void onBatchResponse(List<Member> sending , List<Item> items , Response response) {
+        int code = response.code();
+
+        Log.v(TAG , "batch response code:" + code);
+
+        List<Result> results = null;
+
+        try (ResponseBody body = response.body()) {
+            if (response.isSuccessful() && body != null) {
+                results = envelope.onSplitResponse(body.string() , items);
+            }
+        } catch (Exception e) {
+            Log.e(TAG , "split batch response error" , e);
+        }
+
+        if (results == null || results.size() != sending.size()) {
+            Log.d(TAG , "batch response invalid");
+            dispatchFailure(sending , code);
+            return;
+        }
+
+        for (int i = 0 ; i < sending.size() ; i++) {
+            Result result = results.get(i);
+            boolean success = result.code >= 200 && result.code < 300;
+            sending.get(i).finish(success , result.code , success ? result.body : null);
+        }
+    }
+
+    /**
+     * 所有任务失败
+     *
+     * @param sending 已发送的任务
+     * @param code    响应码
+     */
+    private void dispatchFailure(List<Member> sending , int code) {
+        for (Member member : sending) {
+            member.finish(false , code , null);
+        }
+    }
+
+    /**
+     * 任务已取消，
+     * 尚未发送时移出批量请求，已发送且所有任务均已取消时取消批量网络请求
+     *
+     * @param canceled 已取消的任务
+     */
+    private void onMemberCanceled(Member canceled) {
+        Call batchCall;
+
+        synchronized (members) {
+            if (!committed) {
+                members.remove(canceled);
+
+                if (members.isEmpty()) {
+                    // 没有任务需要发送
+                    WorkModel.MAIN_HANDLER.removeCallbacks(commitTask);
+                }
+                return;
+            }
+
+            for (Member member : members) {
+                if (!member.done) {
+                    return;
+                }
+            }
+
+            batchCall = call;
+        }
+
+        if (batchCall != null) {
+            Log.v(TAG , "all members canceled, cancel batch");
+            RequestScheduler.cancel(batchCall);
+        }
+    }
+
+    /**
+     * 批量请求中的一个任务请求
+     */
+    public static final class Item {
+
+        /**
+         * 请求方式
+         */
+        private final String method;
+
+        /**
+         * 请求地址
+         */
+        private final String url;
+
+        /**
+         * 请求参数
+         */
+        private final Map<String, String> params;
+
+        /**
+         * 构造函数
+         *
+         * @param method 请求方式
+         * @param url    请求地址
+         * @param params 请求参数
+         */
+        Item(String method , String url , Map<String, String> params) {
+            this.method = method;
+            this.url = url;
+            this.params = params;
+        }
+
+        /**
+         * 获取请求方式
+         *
+         * @return "GET"或"POST"
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * 获取任务的请求地址
+         *
+         * @return 请求地址
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * 获取任务的请求参数，已经过数据模型签名
+         *
+         * @return 请求参数
+         */
+        public Map<String, String> getParams() {
+            return params;
+        }
+    }
+
+    /**
+     * 批量响应中的一个任务响应
+     */
+    public static final class Result {
+
+        /**
+         * 响应码
+         */
+        private final int code;
+
+        /**
+         * 响应数据
+         */
+        private final String body;
+
+        /**
+         * 构造函数
+         *
+         * @param code 任务的http响应码
+         * @param body 任务的响应数据
+         */
+        public Result(int code , @Nullable String body) {
+            this.code = code;
+            this.body = body;
+        }
+
+        /**
+         * 获取任务的http响应码
+         *
+         * @return 响应码
+         */
+        public int getCode() {
+            return code;
+        }
+
+        /**
+         * 获取任务的响应数据
+         *
+         * @return 响应数据
+         */
+        public String getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * 已加入的任务
+     */
+    private final class Member implements Cancelable {
+
+        /**
+         * 任务请求
+         */
+        private final Item item;
+
+        /**
+         * 任务的网络请求回调
+         */
+        private final NetworkCallback callback;
+
+        /**
+         * 是否已回调，在{@link #members}锁内访问
+         */
+        private boolean done = false;
+
+        /**
+         * 是否已取消
+         */
+        private volatile boolean canceled = false;
+
+        /**
+         * 构造函数
+         *
+         * @param item     任务请求
+         * @param callback 任务的网络请求回调
+         */
+        Member(Item item , NetworkCallback callback) {
+            this.item = item;
+            this.callback = callback;
+        }
+
+        /**
+         * 回调任务结果，仅第一次有效
+         *
+         * @param success  请求结果
+         * @param code     响应码
+         * @param response 响应数据
+         */
+        @SuppressWarnings("unchecked")
+        void finish(boolean success , int code , String response) {
+            synchronized (members) {
+                if (done) {
+                    return;
+                }
+
+                done = true;
+            }
+
+            callback.onFinish(success , code , response);
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            // 保持与直接请求相同的行为，取消后依然回调失败
+            finish(false , 0 , null);
+            onMemberCanceled(this);
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+    }
+}
@@ -11,7 +11,12 @@ import org.cwk.android.library.data.DataModelHandle;
 import org.cwk.android.library.data.WorkDataModel;
 import org.cwk.android.library.network.communication.ICommunication;
 import org.cwk.android.library.network.factory.CommunicationBuilder;
+import org.cwk.android.library.network.factory.NetworkErrorCode;
 import org.cwk.android.library.network.factory.NetworkType;
+import org.cwk.android.library.network.util.Deadline;
+import org.cwk.android.library.network.util.NetworkCallback;
+import org.cwk.android.library.network.util.NetworkDeadlineHandler;
+import org.cwk.android.library.util.CheckNetwork;
 
 /**
  * 任务流程的基本模型
@@ -67,6 +72,26 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
      */
     protected boolean isStart = false;
 
+    /**
+     * 所属的批量请求，仅对下一次异步执行有效
+     */
+    private WorkBatch workBatch = null;
+
+    /**
+     * 批量请求中本任务的取消句柄
+     */
+    private Cancelable batchHandle = null;
+
+    /**
+     * 本次执行的截止时间
+     */
+    private volatile Deadline deadline = null;
+
+    /**
+     * 异步执行的截止时间计时器
+     */
+    private final Runnable deadlineTimer = this::onDeadlineTimeout;
+
     @SafeVarargs
     @Override
     public final void beginExecute(@Nullable Parameters... parameters) {
@@ -78,6 +103,7 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
         isStart = true;
         cancelMark = false;
         isAsync = true;
+        startDeadline();
 
         // 是否继续执行
         boolean next = true;
@@ -124,6 +150,7 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
         isStart = true;
         cancelMark = false;
         isAsync = false;
+        startDeadline();
 
         // 是否继续执行
         boolean next = true;
@@ -173,6 +200,9 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
             return;
         }
         cancelMark = true;
+        if (batchHandle != null) {
+            batchHandle.cancel();
+        }
         if (communication != null) {
             communication.cancel();
         }
@@ -183,6 +213,34 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
         return this.cancelMark;
     }
 
+    /**
+     * 开始本次执行的截止时间计时
+     */
+    private void startDeadline() {
+        long millis = onDeadline();
+        deadline = millis > 0 ? new Deadline(millis) : null;
+    }
+
+    /**
+     * 异步执行超过截止时间，取消网络请求，
+     * 请求的失败回调会进入{@link #onDeadlineExceeded()}流程
+     */
+    private void onDeadlineTimeout() {
+        if (!isStart || cancelMark) {
+            return;
+        }
+
+        Log.v(TAG , "deadline exceeded, cancel request");
+
+        if (batchHandle != null) {
+            batchHandle.cancel();
+        }
+
+        if (communication != null) {
+            communication.cancel();
+        }
+    }
+
     /**
      * 任务启动前置方法<br>
      * 运行于当前线程
@@ -241,12 +299,14 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
             Log.v(TAG , "onAsyncDoWork invoked");
 
             // 设置请求地址
-            communication.setTaskName(onTaskUri());
+            String uri = onTaskUri();
+            communication.setTaskName(uri);
+
+            Object data = DataModelHandle.serialization(mData);
+
+            NetworkCallback callback = (result , code , response) -> {
+                MAIN_HANDLER.removeCallbacks(deadlineTimer);
 
-            // 发送请求
-            //noinspection unchecked
-            communication.request(DataModelHandle.serialization(mData) , (result , code ,
-                                                                          response) -> {
                 if (!cancelMark) {
                     // 解析响应数据
                     onParseResult(result , code , response);
@@ -271,10 +331,54 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
 
                 isStart = false;
                 Log.v(TAG , "work end");
-            });
+            };
+
+            if (offerOfflineQueue(uri , data)) {
+                // 已存入离线队列
+                callback.onFinish(false , NetworkErrorCode.OFFLINE_QUEUED , null);
+                return;
+            }
+
+            if (communication instanceof NetworkDeadlineHandler) {
+                ((NetworkDeadlineHandler) communication).setDeadline(deadline);
+            }
+
+            if (deadline != null) {
+                MAIN_HANDLER.postDelayed(deadlineTimer , deadline.remainingMillis());
+            }
+
+            // 尝试加入批量请求
+            WorkBatch batch = workBatch;
+            workBatch = null;
+            batchHandle = batch == null ? null : batch.enqueue(communication , uri , data ,
+                    callback);
+
+            if (batchHandle == null) {
+                // 发送请求
+                //noinspection unchecked
+                communication.request(data , callback);
+            }
         }
     }
 
+    /**
+     * 获取任务的网络请求工具
+     *
+     * @return 网络请求工具，任务尚未执行时为null
+     */
+    final ICommunication getCommunication() {
+        return communication;
+    }
+
+    /**
+     * 设置所属的批量请求，仅对下一次异步执行有效
+     *
+     * @param workBatch 批量请求
+     */
+    final void setWorkBatch(WorkBatch workBatch) {
+        this.workBatch = workBatch;
+    }
+
     /**
      * 同步执行任务逻辑核心方法<br>
      * 任务主要逻辑应该在该方法中被实现
@@ -285,11 +389,24 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
             Log.v(TAG , "onSyncDoWork invoked");
 
             // 设置请求地址
-            communication.setTaskName(onTaskUri());
+            String uri = onTaskUri();
+            communication.setTaskName(uri);
+
+            Object data = DataModelHandle.serialization(mData);
+
+            if (offerOfflineQueue(uri , data)) {
+                // 已存入离线队列
+                onParseResult(false , NetworkErrorCode.OFFLINE_QUEUED , null);
+                return;
+            }
+
+            if (communication instanceof NetworkDeadlineHandler) {
+                ((NetworkDeadlineHandler) communication).setDeadline(deadline);
+            }
 
             // 发送请求
             //noinspection unchecked
-            communication.request(DataModelHandle.serialization(mData));
+            communication.request(data);
 
             if (!cancelMark) {
                 // 解析响应数据
@@ -302,6 +419,32 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
         }
     }
 
+    /**
+     * 无网络时尝试将请求存入离线队列
+     *
+     * @param uri  请求地址
+     * @param data 序列化后的请求参数
+     *
+     * @return true表示已存入，不再发送请求
+     */
+    private boolean offerOfflineQueue(String uri , Object data) {
+        OfflineQueue queue = OfflineQueue.getInstance();
+
+        if (queue == null) {
+            return false;
+        }
+
+        String key = onOfflineQueueKey(mParameters);
+
+        if (key == null || CheckNetwork.isOpenNetwork()) {
+            return false;
+        }
+
+        Log.v(TAG , "offline queue key:" + key);
+
+        return queue.offer(communication , getClass().getName() , key , uri , data);
+    }
+
     /**
      * 解析响应数据
      *
@@ -311,11 +454,24 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
      */
     private void onParseResult(boolean result , int code , Object response) {
         Log.v(TAG , "onParseResult result parse start");
+
+        if (checkDeadline()) {
+            // 超过截止时间，不再解析
+            return;
+        }
+
         DataModelHandle.setCode(mData , code);
         if (result) {
             // 解析数据
             //noinspection unchecked
-            if (DataModelHandle.parse(mData , response)) {
+            boolean parsed = DataModelHandle.parse(mData , response);
+
+            if (checkDeadline()) {
+                // 解析期间超过截止时间，丢弃解析结果
+                return;
+            }
+
+            if (parsed) {
                 // 解析成功
                 Log.v(TAG , "onParseResult result parse success onParseSuccess invoked");
                 // 解析成功回调
@@ -346,6 +502,24 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
         }
     }
 
+    /**
+     * 检查是否超过截止时间，超过时进入{@link #onDeadlineExceeded()}流程
+     *
+     * @return true表示已超过截止时间
+     */
+    private boolean checkDeadline() {
+        if (deadline == null || !deadline.isExceeded()) {
+            return false;
+        }
+
+        Log.v(TAG , "onParseResult deadline exceeded onDeadlineExceeded invoked");
+        DataModelHandle.setCode(mData , NetworkErrorCode.DEADLINE_EXCEEDED);
+
+        // 超时回调
+        DataModelHandle.setMessage(mData , onDeadlineExceeded());
+        return true;
+    }
+
     /**
      * 任务完成后置方法<br>
      */
@@ -472,6 +646,46 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
     protected void onCreateCommunication(@NonNull CommunicationBuilder builder) {
     }
 
+    /**
+     * 设置离线队列的合并key<br>
+     * 安装{@link OfflineQueue}后，返回非空key的任务在无网络时请求会存入离线队列，
+     * 网络恢复后重放，重放结果通过{@link OfflineQueue#register(Class , OnOfflineReplayListener)}注册的回调获取，
+     * 本次任务以{@link NetworkErrorCode#OFFLINE_QUEUED}错误码进入{@link #onNetworkError()}流程，
+     * 队列中相同key的请求只保留最后一次，只应对幂等的请求使用
+     *
+     * @param parameters 任务传入参数
+     *
+     * @return 合并key，默认为null即不加入离线队列
+     */
+    @SuppressWarnings("unchecked")
+    protected String onOfflineQueueKey(Parameters... parameters) {
+        return null;
+    }
+
+    /**
+     * 设置任务的截止时间<br>
+     * 从任务开始执行时计时，覆盖排队，网络请求，重试，退避等待和解析前的全部耗时，
+     * 异步执行超时时网络请求被取消，任务以{@link NetworkErrorCode#DEADLINE_EXCEEDED}错误码
+     * 进入{@link #onDeadlineExceeded()}流程，同步执行超时时网络请求以相同方式结束
+     *
+     * @return 截止时间毫秒数，默认为0即不限制
+     */
+    protected long onDeadline() {
+        return 0;
+    }
+
+    /**
+     * 任务超过截止时间时调用，
+     * 即{@link #onDeadline()}设置的时间内网络请求和解析未完成，
+     * 同时设置超时时的返回消息，
+     * 即{@link WorkDataModel#getMessage()}的消息字段
+     *
+     * @return 消息内容，默认为null
+     */
+    protected String onDeadlineExceeded() {
+        return null;
+    }
+
     /**
      * 服务器响应数据解析成功后调用，
      * 即在{@link WorkDataModel#parse(Object)}返回true时调用
@@ -505,7 +719,8 @@ public abstract class WorkModel<Parameters, DataModel extends WorkDataModel> imp
     /**
      * 网络连接建立失败时调用，即网络不可用
      * 同时设置网络无效时的返回消息，
-     * 即{@link WorkDataModel#getMessage()}的消息字段
+     * 即{@link WorkDataModel#getMessage()}的消息字段，
+     * 请求在本地被快速拒绝时{@link WorkDataModel#getCode()}为{@link org.cwk.android.library.network.factory.NetworkErrorCode}中的错误码
      *
      * @return 消息内容，默认为null
      */
@@ -0,0 +1,181 @@
+package org.cwk.android.library.network.util;
+
+import org.cwk.android.library.network.factory.DurabilityPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import okio.BufferedSource;
+import okio.Okio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link AtomicFileWriter}的写入，替换和失败清理测试
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class AtomicFileWriterTest {
+
+    /**
+     * 字符编码
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * 临时目录
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void write_createsTargetWithoutTempFile() throws Exception {
+        File target = new File(folder.getRoot() , "sub/dir/data.bin");
+        byte[] data = randomBytes(300 * 1024);
+
+        for (int durability : new int[]{DurabilityPolicy.NONE , DurabilityPolicy.SYNC_AT_END ,
+                DurabilityPolicy.PERIODIC}) {
+            // 周期同步间隔小于数据长度，覆盖多次同步
+            AtomicFileWriter.write(new ByteArrayInputStream(data) , target , durability , 64 *
+                    1024);
+
+            assertArrayEquals(data , read(target));
+            assertFalse(tempOf(target).exists());
+        }
+    }
+
+    @Test
+    public void write_replacesExistingTarget() throws Exception {
+        File target = folder.newFile("data.txt");
+        AtomicFileWriter.write(stream("old content") , target , DurabilityPolicy.NONE , 0);
+
+        AtomicFileWriter.write(stream("new") , target , DurabilityPolicy.NONE , 0);
+
+        assertEquals("new" , new String(read(target) , UTF_8));
+    }
+
+    @Test
+    public void write_failureKeepsOldTarget() throws Exception {
+        File target = folder.newFile("data.txt");
+        AtomicFileWriter.write(stream("old content") , target , DurabilityPolicy.NONE , 0);
+
+        InputStream broken = new InputStream() {
+            /**
+             * 已读取的字节数
+             */
+            private int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ > 100) {
+                    throw new IOException("broken source");
+                }
+
+                return 'x';
+            }
+        };
+
+        try {
+            AtomicFileWriter.write(broken , target , DurabilityPolicy.SYNC_AT_END , 0);
+            fail("write should fail");
+        } catch (IOException e) {
+            assertEquals("broken source" , e.getMessage());
+        }
+
+        assertEquals("old content" , new String(read(target) , UTF_8));
+        assertFalse(tempOf(target).exists());
+    }
+
+    @Test
+    public void replace_overwritesTarget() throws Exception {
+        File source = folder.newFile("source.txt");
+        File target = folder.newFile("target.txt");
+        AtomicFileWriter.write(stream("source") , source , DurabilityPolicy.NONE , 0);
+        AtomicFileWriter.write(stream("target") , target , DurabilityPolicy.NONE , 0);
+
+        AtomicFileWriter.replace(source , target);
+
+        assertFalse(source.exists());
+        assertTrue(target.exists());
+        assertEquals("source" , new String(read(target) , UTF_8));
+    }
+
+    @Test
+    public void replace_failureKeepsTarget() throws Exception {
+        File source = new File(folder.getRoot() , "missing.txt");
+        File target = folder.newFile("target.txt");
+        AtomicFileWriter.write(stream("target") , target , DurabilityPolicy.NONE , 0);
+
+        try {
+            AtomicFileWriter.replace(source , target , true);
+            fail("rename missing file should fail");
+        } catch (IOException e) {
+            // 重命名失败时不能删除目标文件
+        }
+
+        assertEquals("target" , new String(read(target) , UTF_8));
+    }
+
+    /**
+     * 创建字符串输入流
+     *
+     * @param content 内容
+     *
+     * @return 输入流
+     */
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(UTF_8));
+    }
+
+    /**
+     * 生成随机数据
+     *
+     * @param size 字节数
+     *
+     * @return 数据
+     */
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    /**
+     * 读取文件内容
+     *
+     * @param file 文件
+     *
+     * @return 内容
+     *
+     * @throws IOException 读取异常
+     */
+    private static byte[] read(File file) throws IOException {
+        try (BufferedSource source = Okio.buffer(Okio.source(file))) {
+            return source.readByteArray();
+        }
+    }
+
+    /**
+     * 获取临时文件
+     *
+     * @param target 目标文件
+     *
+     * @return 临时文件
+     */
+    private static File tempOf(File target) {
+        return new File(target.getPath() + AtomicFileWriter.TEMP_SUFFIX);
+    }
+}
@@ -0,0 +1,171 @@
+package org.cwk.android.library.network.util;
+
+import org.cwk.android.library.network.factory.ChecksumAlgorithm;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import okio.BufferedSink;
+import okio.ByteString;
+import okio.Okio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link Checksum}的期望摘要解析和比较测试
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class ChecksumTest {
+
+    /**
+     * 测试数据的MD5摘要
+     */
+    private static final ByteString DIGEST = ByteString.encodeUtf8("hello world").md5();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void hex_matches() throws Exception {
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , DIGEST.hex() , null);
+
+        checksum.onFinish(DIGEST);
+
+        assertEquals(DIGEST.hex() , checksum.getDigest());
+    }
+
+    @Test
+    public void upperCaseHex_matches() throws Exception {
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , " " + DIGEST.hex().toUpperCase()
+                + " " , null);
+
+        checksum.onFinish(DIGEST);
+    }
+
+    @Test
+    public void base64_matches() throws Exception {
+        // 如Content-MD5
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , DIGEST.base64() , null);
+
+        checksum.onFinish(DIGEST);
+    }
+
+    @Test
+    public void mismatch_throws() throws Exception {
+        String other = ByteString.encodeUtf8("other").md5().hex();
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , other , null);
+
+        try {
+            checksum.onFinish(DIGEST);
+            fail("checksum should mismatch");
+        } catch (ChecksumException e) {
+            assertEquals(other , e.getExpected());
+            assertEquals(DIGEST.hex() , e.getActual());
+        }
+
+        // 不一致时依然记录计算结果
+        assertEquals(DIGEST.hex() , checksum.getDigest());
+    }
+
+    @Test
+    public void verify_incompleteThrows() throws Exception {
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , DIGEST.hex() , null);
+
+        try {
+            // 数据流没有读取到末尾
+            checksum.verify();
+            fail("incomplete checksum should not pass");
+        } catch (ChecksumException e) {
+            assertEquals(DIGEST.hex() , e.getExpected());
+            assertNull(e.getActual());
+        }
+
+        checksum.onFinish(DIGEST);
+        checksum.verify();
+    }
+
+    @Test
+    public void verify_noExpectedPasses() throws Exception {
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , null , null);
+
+        checksum.verify();
+    }
+
+    @Test
+    public void verifyFile_matchesAndMismatches() throws Exception {
+        File file = folder.newFile("download");
+
+        try (BufferedSink sink = Okio.buffer(Okio.sink(file))) {
+            sink.writeUtf8("hello world");
+        }
+
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , DIGEST.base64() , null);
+        checksum.verify(file);
+        assertEquals(DIGEST.hex() , checksum.getDigest());
+
+        String other = ByteString.encodeUtf8("other").md5().hex();
+
+        try {
+            new Checksum(ChecksumAlgorithm.MD5 , other , null).verify(file);
+            fail("file checksum should mismatch");
+        } catch (ChecksumException e) {
+            assertEquals(DIGEST.hex() , e.getActual());
+        }
+    }
+
+    @Test
+    public void invalidHex_throws() throws Exception {
+        // 长度符合十六进制但包含非法字符
+        StringBuilder invalid = new StringBuilder();
+        for (int i = 0 ; i < DIGEST.size() * 2 ; i++) {
+            invalid.append('z');
+        }
+
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , invalid.toString() , null);
+
+        try {
+            checksum.onFinish(DIGEST);
+            fail("invalid checksum should not match");
+        } catch (ChecksumException e) {
+            assertEquals(invalid.toString() , e.getExpected());
+        }
+    }
+
+    @Test
+    public void noExpected_onlyRecordsDigest() throws Exception {
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , null , "Content-MD5");
+
+        assertNull(checksum.getDigest());
+
+        checksum.onFinish(DIGEST);
+
+        assertEquals(DIGEST.hex() , checksum.getDigest());
+    }
+
+    @Test
+    public void header_usedWhenNoExpected() throws Exception {
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , null , "Content-MD5");
+
+        checksum.onHeader(DIGEST.base64());
+
+        assertEquals(DIGEST.base64() , checksum.getExpected());
+        checksum.onFinish(DIGEST);
+    }
+
+    @Test
+    public void header_doesNotOverrideExpected() throws Exception {
+        Checksum checksum = new Checksum(ChecksumAlgorithm.MD5 , DIGEST.hex() , "Content-MD5");
+
+        checksum.onHeader("ignored");
+
+        assertEquals(DIGEST.hex() , checksum.getExpected());
+        checksum.onFinish(DIGEST);
+    }
+}
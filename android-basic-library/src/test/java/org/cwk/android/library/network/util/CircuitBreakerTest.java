@@ -0,0 +1,287 @@
+package org.cwk.android.library.network.util;
+
+import org.cwk.android.library.network.factory.NetworkErrorCode;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link CircuitBreaker}的状态转换测试，
+ * 打开时长为0时下一个请求即进入半开状态
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class CircuitBreakerTest {
+
+    /**
+     * 测试主机，格式与熔断器的主机键一致
+     */
+    private static final String HOST = "example.com:80";
+
+    /**
+     * 共享的请求工具，仅用于创建请求对象
+     */
+    private static final OkHttpClient CLIENT = new OkHttpClient();
+
+    @Test
+    public void consecutiveFailures_openCircuit() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().failureThreshold(3).build();
+
+        failRequest(breaker);
+        failRequest(breaker);
+        assertEquals(CircuitBreaker.CLOSED , breaker.getState(HOST));
+
+        failRequest(breaker);
+        assertEquals(CircuitBreaker.OPEN , breaker.getState(HOST));
+    }
+
+    @Test
+    public void success_resetsConsecutiveFailures() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().failureThreshold(3).build();
+
+        failRequest(breaker);
+        failRequest(breaker);
+        succeed(breaker);
+        failRequest(breaker);
+        failRequest(breaker);
+
+        assertEquals(CircuitBreaker.CLOSED , breaker.getState(HOST));
+    }
+
+    @Test
+    public void failureRate_openCircuit() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().failureThreshold(100).failureRate
+                (0.5f , 4 , 4).build();
+
+        succeed(breaker);
+        intercept(breaker , 500 , null);
+        succeed(breaker);
+        assertEquals(CircuitBreaker.CLOSED , breaker.getState(HOST));
+
+        intercept(breaker , 503 , null);
+        assertEquals(CircuitBreaker.OPEN , breaker.getState(HOST));
+    }
+
+    @Test
+    public void open_rejectsWithFastFail() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().failureThreshold(1).build();
+
+        failRequest(breaker);
+
+        try {
+            succeed(breaker);
+            fail("request passed an open circuit");
+        } catch (FastFailException e) {
+            assertEquals(NetworkErrorCode.CIRCUIT_OPEN , e.getCode());
+        }
+
+        assertEquals(CircuitBreaker.OPEN , breaker.getState(HOST));
+    }
+
+    @Test
+    public void halfOpen_successCloses() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().failureThreshold(1).openDuration
+                (0).build();
+
+        failRequest(breaker);
+        assertEquals(CircuitBreaker.OPEN , breaker.getState(HOST));
+
+        intercept(breaker , 200 , () -> assertEquals(CircuitBreaker.HALF_OPEN , breaker
+                .getState(HOST)));
+        assertEquals(CircuitBreaker.CLOSED , breaker.getState(HOST));
+    }
+
+    @Test
+    public void halfOpen_failureReopens() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().failureThreshold(1).openDuration
+                (0).build();
+
+        failRequest(breaker);
+        failRequest(breaker);
+
+        assertEquals(CircuitBreaker.OPEN , breaker.getState(HOST));
+    }
+
+    @Test
+    public void halfOpen_limitsProbes() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().failureThreshold(1).openDuration
+                (0).halfOpenProbes(1).build();
+
+        failRequest(breaker);
+
+        final boolean[] rejected = {false};
+
+        intercept(breaker , 200 , () -> {
+            try {
+                succeed(breaker);
+            } catch (FastFailException e) {
+                rejected[0] = true;
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+
+        assertTrue(rejected[0]);
+        assertEquals(CircuitBreaker.CLOSED , breaker.getState(HOST));
+    }
+
+    @Test
+    public void reset_closesAllCircuits() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker.Builder().failureThreshold(1).build();
+
+        failRequest(breaker);
+        breaker.reset();
+
+        assertEquals(CircuitBreaker.CLOSED , breaker.getState(HOST));
+    }
+
+    /**
+     * 发出一个成功的请求
+     *
+     * @param breaker 熔断器
+     *
+     * @throws IOException 熔断打开
+     */
+    private static void succeed(CircuitBreaker breaker) throws IOException {
+        intercept(breaker , 200 , null);
+    }
+
+    /**
+     * 发出一个网络异常的请求，忽略异常
+     *
+     * @param breaker 熔断器
+     */
+    private static void failRequest(CircuitBreaker breaker) {
+        try {
+            intercept(breaker , -1 , null);
+        } catch (IOException ignored) {
+            // 预期的网络异常或熔断拒绝
+        }
+    }
+
+    /**
+     * 经过熔断器发出请求
+     *
+     * @param breaker 熔断器
+     * @param code    响应码，小于0表示网络异常
+     * @param during  请求执行期间的操作，可以为null
+     *
+     * @throws IOException 网络异常或熔断打开
+     */
+    private static void intercept(CircuitBreaker breaker , int code , Runnable during) throws
+            IOException {
+        breaker.intercept(new FakeChain(code , during));
+    }
+
+    /**
+     * 直接返回指定结果的拦截器链
+     */
+    private static final class FakeChain implements Interceptor.Chain {
+
+        /**
+         * 请求
+         */
+        private final Request request = new Request.Builder().url("http://example.com/")
+                .build();
+
+        /**
+         * 请求对象
+         */
+        private final Call call = CLIENT.newCall(request);
+
+        /**
+         * 响应码，小于0表示网络异常
+         */
+        private final int code;
+
+        /**
+         * 请求执行期间的操作
+         */
+        private final Runnable during;
+
+        /**
+         * 构造函数
+         *
+         * @param code   响应码，小于0表示网络异常
+         * @param during 请求执行期间的操作，可以为null
+         */
+        FakeChain(int code , Runnable during) {
+            this.code = code;
+            this.during = during;
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response proceed(Request request) throws IOException {
+            if (during != null) {
+                during.run();
+            }
+
+            if (code < 0) {
+                throw new IOException("network error");
+            }
+
+            return new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code
+                    (code).message("").build();
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+
+        @Override
+        public Call call() {
+            return call;
+        }
+
+        @Override
+        public int connectTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withConnectTimeout(int timeout , TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int readTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withReadTimeout(int timeout , TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int writeTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withWriteTimeout(int timeout , TimeUnit unit) {
+            return this;
+        }
+    }
+}
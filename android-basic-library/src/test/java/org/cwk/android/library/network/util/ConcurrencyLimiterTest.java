@@ -0,0 +1,131 @@
+package org.cwk.android.library.network.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ConcurrencyLimiter}的加性增加和乘性减小测试
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class ConcurrencyLimiterTest {
+
+    /**
+     * 测试主机
+     */
+    private static final String HOST = "example.com";
+
+    @Test
+    public void unknownHost_usesInitialLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(6 , 1 , 32).build();
+
+        assertEquals(6 , limiter.getLimit(HOST));
+        assertTrue(limiter.getLimits().isEmpty());
+    }
+
+    @Test
+    public void initialLimit_clampedToRange() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(100 , 1 , 8).build();
+
+        assertEquals(8 , limiter.getLimit(HOST));
+    }
+
+    @Test
+    public void stableLatency_increasesLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(4 , 1 , 32).build();
+
+        for (int i = 0 ; i < 20 ; i++) {
+            limiter.onSample(HOST , 100 , false , limiter.getLimit(HOST));
+        }
+
+        assertTrue(limiter.getLimit(HOST) > 4);
+    }
+
+    @Test
+    public void idleHost_keepsLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(4 , 1 , 32).build();
+
+        for (int i = 0 ; i < 20 ; i++) {
+            limiter.onSample(HOST , 100 , false , 1);
+        }
+
+        assertEquals(4 , limiter.getLimit(HOST));
+    }
+
+    @Test
+    public void increase_cappedByMaxLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(4 , 1 , 5).build();
+
+        for (int i = 0 ; i < 200 ; i++) {
+            limiter.onSample(HOST , 100 , false , limiter.getLimit(HOST));
+        }
+
+        assertEquals(5 , limiter.getLimit(HOST));
+    }
+
+    @Test
+    public void dropped_decreasesOncePerRoundTrip() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(8 , 1 , 32)
+                .backoffRatio(0.5).build();
+
+        // 较长的往返时间保证两个过载信号落在同一周期内
+        limiter.onSample(HOST , 100000 , false , 1);
+        assertEquals(8 , limiter.getLimit(HOST));
+
+        limiter.onSample(HOST , 100 , true , 8);
+        assertEquals(4 , limiter.getLimit(HOST));
+
+        // 同一批请求的过载信号不重复减小
+        limiter.onSample(HOST , 100 , true , 8);
+        assertEquals(4 , limiter.getLimit(HOST));
+    }
+
+    @Test
+    public void queueingLatency_decreasesLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(8 , 1 , 32)
+                .tolerance(2.0).backoffRatio(0.5).build();
+
+        limiter.onSample(HOST , 100 , false , 1);
+        assertEquals(8 , limiter.getLimit(HOST));
+
+        limiter.onSample(HOST , 300 , false , 8);
+        assertEquals(4 , limiter.getLimit(HOST));
+    }
+
+    @Test
+    public void decrease_cappedByMinLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(8 , 3 , 32)
+                .backoffRatio(0.1).build();
+
+        limiter.onSample(HOST , 100 , true , 8);
+
+        assertEquals(3 , limiter.getLimit(HOST));
+    }
+
+    @Test
+    public void hosts_areIndependent() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(8 , 1 , 32)
+                .backoffRatio(0.5).build();
+
+        limiter.onSample(HOST , 100 , true , 8);
+
+        assertEquals(4 , limiter.getLimit(HOST));
+        assertEquals(8 , limiter.getLimit("other.example.com"));
+    }
+
+    @Test
+    public void reset_restoresInitialLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter.Builder().limit(8 , 1 , 32)
+                .backoffRatio(0.5).build();
+
+        limiter.onSample(HOST , 100 , true , 8);
+        limiter.reset();
+
+        assertEquals(8 , limiter.getLimit(HOST));
+        assertTrue(limiter.getLimits().isEmpty());
+    }
+}
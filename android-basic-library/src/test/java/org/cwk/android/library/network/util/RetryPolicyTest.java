@@ -0,0 +1,127 @@
+package org.cwk.android.library.network.util;
+
+import org.junit.Test;
+
+import okhttp3.Request;
+import okhttp3.RequestBody;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link RetryPolicy}的退避间隔和可重试判断测试
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class RetryPolicyTest {
+
+    /**
+     * 每次检查的抽样次数
+     */
+    private static final int SAMPLES = 1000;
+
+    @Test
+    public void backoff_withinExponentialCeiling() throws Exception {
+        RetryPolicy policy = new RetryPolicy.Builder().baseDelay(100).maxDelay(10000).build();
+
+        for (int i = 0 ; i < SAMPLES ; i++) {
+            assertInRange(policy.backoff(1) , 100);
+            assertInRange(policy.backoff(2) , 200);
+            assertInRange(policy.backoff(4) , 800);
+        }
+    }
+
+    @Test
+    public void backoff_cappedByMaxDelay() throws Exception {
+        RetryPolicy policy = new RetryPolicy.Builder().baseDelay(100).maxDelay(1000).build();
+
+        for (int i = 0 ; i < SAMPLES ; i++) {
+            assertInRange(policy.backoff(10) , 1000);
+            // 移位溢出时依然使用最大间隔
+            assertInRange(policy.backoff(100) , 1000);
+        }
+    }
+
+    @Test
+    public void backoff_zeroBaseDelay() throws Exception {
+        RetryPolicy policy = new RetryPolicy.Builder().baseDelay(0).build();
+
+        assertEquals(0 , policy.backoff(1));
+        assertEquals(0 , policy.backoff(5));
+    }
+
+    @Test
+    public void isRetryable_idempotentOnly() throws Exception {
+        RetryPolicy policy = new RetryPolicy.Builder().maxRetries(3).build();
+
+        assertTrue(policy.isRetryable(get()));
+        assertTrue(policy.isRetryable(new Request.Builder().url("http://example.com/").put
+                (emptyBody()).build()));
+        assertFalse(policy.isRetryable(post()));
+    }
+
+    @Test
+    public void isRetryable_nonIdempotentAllowed() throws Exception {
+        RetryPolicy policy = new RetryPolicy.Builder().retryNonIdempotent(true).build();
+
+        assertTrue(policy.isRetryable(post()));
+    }
+
+    @Test
+    public void isRetryableCode_defaults() throws Exception {
+        RetryPolicy policy = new RetryPolicy.Builder().build();
+
+        assertTrue(policy.isRetryableCode(503));
+        assertTrue(policy.isRetryableCode(429));
+        assertFalse(policy.isRetryableCode(404));
+        assertFalse(policy.isRetryableCode(200));
+    }
+
+    @Test
+    public void isRetryableCode_custom() throws Exception {
+        RetryPolicy policy = new RetryPolicy.Builder().retryableCodes(409).build();
+
+        assertTrue(policy.isRetryableCode(409));
+        assertFalse(policy.isRetryableCode(503));
+    }
+
+    /**
+     * 检查间隔在[0 , ceiling)内
+     *
+     * @param delay   间隔
+     * @param ceiling 上限
+     */
+    private static void assertInRange(long delay , long ceiling) {
+        assertTrue("delay " + delay + " ceiling " + ceiling , delay >= 0 && delay < ceiling);
+    }
+
+    /**
+     * 创建get请求
+     *
+     * @return 请求
+     */
+    private static Request get() {
+        return new Request.Builder().url("http://example.com/").build();
+    }
+
+    /**
+     * 创建post请求
+     *
+     * @return 请求
+     */
+    private static Request post() {
+        return new Request.Builder().url("http://example.com/").post(emptyBody()).build();
+    }
+
+    /**
+     * 创建空请求体
+     *
+     * @return 请求体
+     */
+    private static RequestBody emptyBody() {
+        return RequestBody.create(null , new byte[0]);
+    }
+}
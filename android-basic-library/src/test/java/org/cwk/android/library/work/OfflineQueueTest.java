@@ -0,0 +1,223 @@
+package org.cwk.android.library.work;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link OfflineQueue}读取队列文件和压缩的测试，
+ * 测试直接按队列文件的记录格式写入数据
+ *
+ * @author 超悟空
+ * @version 1.0 2026/10/18
+ * @since 1.0
+ */
+public class OfflineQueueTest {
+
+    /**
+     * 记录类型，加入请求
+     */
+    private static final int RECORD_ADD = 1;
+
+    /**
+     * 记录类型，移除请求
+     */
+    private static final int RECORD_REMOVE = 2;
+
+    /**
+     * 字符编码
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * 临时目录
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void load_missingFile() throws Exception {
+        File file = new File(folder.getRoot() , "offline.queue");
+
+        OfflineQueue queue = OfflineQueue.open(file , 1);
+
+        assertEquals(0 , queue.size());
+        assertTrue(file.exists());
+    }
+
+    @Test
+    public void load_appliesRemoveRecords() throws Exception {
+        File file = folder.newFile("offline.queue");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        writeAdd(output , 1 , "a" , "http://example.com/a");
+        writeAdd(output , 2 , "b" , "http://example.com/b");
+        writeRemove(output , 1);
+        writeAdd(output , 3 , "c" , "http://example.com/c");
+        write(file , bytes.toByteArray());
+
+        OfflineQueue queue = OfflineQueue.open(file , 1);
+
+        List<OfflineQueue.Entry> entries = queue.getEntries();
+        assertEquals(2 , entries.size());
+        assertEquals("b" , entries.get(0).getKey());
+        assertEquals("c" , entries.get(1).getKey());
+    }
+
+    @Test
+    public void load_dropsTruncatedTail() throws Exception {
+        File file = folder.newFile("offline.queue");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        writeAdd(output , 1 , "a" , "http://example.com/a");
+        int complete = bytes.size();
+        writeAdd(output , 2 , "b" , "http://example.com/b");
+
+        // 模拟写入第二条记录时进程被杀
+        byte[] data = bytes.toByteArray();
+        byte[] truncated = new byte[complete + (data.length - complete) / 2];
+        System.arraycopy(data , 0 , truncated , 0 , truncated.length);
+        write(file , truncated);
+
+        OfflineQueue queue = OfflineQueue.open(file , 1);
+
+        List<OfflineQueue.Entry> entries = queue.getEntries();
+        assertEquals(1 , entries.size());
+        assertEquals("a" , entries.get(0).getKey());
+        assertEquals("GET" , entries.get(0).getMethod());
+        assertEquals("http://example.com/a" , entries.get(0).getUrl());
+        assertEquals("1" , entries.get(0).getParams().get("id"));
+    }
+
+    @Test
+    public void load_compactsFile() throws Exception {
+        File file = folder.newFile("offline.queue");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        writeAdd(output , 1 , "a" , "http://example.com/a");
+        writeRemove(output , 1);
+        writeAdd(output , 2 , "b" , "http://example.com/b");
+        int live = bytes.size();
+        // 不完整的记录类型和编号
+        output.write(RECORD_ADD);
+        output.writeInt(3);
+        write(file , bytes.toByteArray());
+
+        OfflineQueue.open(file , 1);
+
+        // 压缩后只剩一条加入记录，不完整的记录已被丢弃
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        writeAdd(new DataOutputStream(expected) , 2 , "b" , "http://example.com/b");
+        assertEquals(expected.size() , file.length());
+        assertTrue(live > file.length());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+
+        // 重新读取压缩后的文件结果一致
+        List<OfflineQueue.Entry> entries = OfflineQueue.open(file , 1).getEntries();
+        assertEquals(1 , entries.size());
+        assertEquals("b" , entries.get(0).getKey());
+    }
+
+    @Test
+    public void clear_compactsToEmptyFile() throws Exception {
+        File file = folder.newFile("offline.queue");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeAdd(new DataOutputStream(bytes) , 1 , "a" , "http://example.com/a");
+        write(file , bytes.toByteArray());
+
+        OfflineQueue queue = OfflineQueue.open(file , 1);
+        queue.clear();
+
+        assertEquals(0 , queue.size());
+        assertEquals(0 , file.length());
+        assertEquals(0 , OfflineQueue.open(file , 1).size());
+    }
+
+    /**
+     * 写入一条加入记录，格式与队列文件一致
+     *
+     * @param output 输出流
+     * @param id     请求编号
+     * @param key    合并key
+     * @param url    请求地址
+     *
+     * @throws IOException 写入异常
+     */
+    private static void writeAdd(DataOutputStream output , long id , String key , String url)
+            throws IOException {
+        output.write(RECORD_ADD);
+        output.writeLong(id);
+        writeString(output , key);
+        writeString(output , "TestWork");
+        writeString(output , "GET");
+        writeString(output , url);
+        writeString(output , "UTF-8");
+        output.writeLong(System.currentTimeMillis());
+
+        // 没有请求头
+        output.writeInt(0);
+
+        output.writeInt(1);
+        writeString(output , "id");
+        writeString(output , String.valueOf(id));
+        output.flush();
+    }
+
+    /**
+     * 写入一条移除记录
+     *
+     * @param output 输出流
+     * @param id     请求编号
+     *
+     * @throws IOException 写入异常
+     */
+    private static void writeRemove(DataOutputStream output , long id) throws IOException {
+        output.write(RECORD_REMOVE);
+        output.writeLong(id);
+        output.flush();
+    }
+
+    /**
+     * 写入字符串
+     *
+     * @param output 输出流
+     * @param value  字符串
+     *
+     * @throws IOException 写入异常
+     */
+    private static void writeString(DataOutputStream output , String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * 写入队列文件
+     *
+     * @param file 队列文件
+     * @param data 数据
+     *
+     * @throws IOException 写入异常
+     */
+    private static void write(File file , byte[] data) throws IOException {
+        try (FileOutputStream output = new FileOutputStream(file)) {
+            output.write(data);
+        }
+    }
+}